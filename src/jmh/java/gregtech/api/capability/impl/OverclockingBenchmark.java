@@ -0,0 +1,95 @@
+package gregtech.api.capability.impl;
+
+import gregtech.api.GTValues;
+import gregtech.api.metatileentity.MetaTileEntity;
+import gregtech.api.metatileentity.MetaTileEntityHolder;
+import gregtech.api.metatileentity.SimpleMachineMetaTileEntity;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.RecipeMaps;
+import gregtech.api.util.GTUtility;
+import gregtech.api.util.world.DummyWorld;
+import gregtech.benchmark.BenchmarkRecipes;
+import gregtech.common.metatileentities.MetaTileEntities;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AbstractRecipeLogic#performOverclocking(Recipe)}, which ends in
+ * {@link AbstractRecipeLogic#runOverclockingLogic}, for every chemical reactor recipe at a given machine tier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverclockingBenchmark {
+
+    @Param({"1", "5", "8"})
+    public int machineTier;
+
+    private BenchmarkRecipeLogic recipeLogic;
+    private List<Recipe> recipes;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkRecipes.load();
+        RecipeMap<?> recipeMap = RecipeMaps.CHEMICAL_RECIPES;
+
+        MetaTileEntity metaTileEntity = MetaTileEntities.registerMetaTileEntity(32000 + machineTier,
+                new SimpleMachineMetaTileEntity(GTUtility.gregtechId("benchmark_reactor." + machineTier),
+                        recipeMap, null, machineTier, false));
+        MetaTileEntity holderMetaTileEntity = new MetaTileEntityHolder().setMetaTileEntity(metaTileEntity);
+        ((MetaTileEntityHolder) holderMetaTileEntity.getHolder()).setWorld(DummyWorld.INSTANCE);
+
+        this.recipeLogic = new BenchmarkRecipeLogic(holderMetaTileEntity, recipeMap, GTValues.V[machineTier]);
+        this.recipes = new ArrayList<>(recipeMap.getRecipeList());
+    }
+
+    @Benchmark
+    public void performOverclocking(Blackhole blackhole) {
+        this.index = (this.index + 1) % recipes.size();
+        blackhole.consume(recipeLogic.performOverclocking(recipes.get(index)));
+    }
+
+    private static class BenchmarkRecipeLogic extends AbstractRecipeLogic {
+
+        private final long maxVoltage;
+
+        public BenchmarkRecipeLogic(MetaTileEntity tileEntity, RecipeMap<?> recipeMap, long maxVoltage) {
+            super(tileEntity, recipeMap);
+            this.maxVoltage = maxVoltage;
+        }
+
+        @Override
+        protected long getEnergyInputPerSecond() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        protected long getEnergyStored() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        protected long getEnergyCapacity() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        protected boolean drawEnergy(int recipeEUt, boolean simulate) {
+            return true;
+        }
+
+        @Override
+        protected long getMaxVoltage() {
+            return maxVoltage;
+        }
+    }
+}
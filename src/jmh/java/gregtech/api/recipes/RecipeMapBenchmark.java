@@ -0,0 +1,101 @@
+package gregtech.api.recipes;
+
+import gregtech.api.GTValues;
+import gregtech.api.capability.IMultipleTankHandler;
+import gregtech.api.capability.impl.FluidTankList;
+import gregtech.benchmark.BenchmarkRecipes;
+import gregtech.benchmark.BenchmarkRecipes.MachineInputs;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.fluids.IFluidTank;
+import net.minecraftforge.items.IItemHandlerModifiable;
+import net.minecraftforge.items.ItemStackHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RecipeMap#findRecipe(long, List, List)} against the real recipe maps,
+ * both for inventories holding a valid recipe and for inventories full of junk.
+ * The {@code Inventory} variants search a machine's item and fluid handlers directly, like recipe logic does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeMapBenchmark {
+
+    private static final int INVENTORIES = 256;
+
+    @Param({"chemical_reactor", "large_chemical_reactor", "assembler"})
+    public String recipeMapName;
+
+    private RecipeMap<?> recipeMap;
+    private List<MachineInputs> matching;
+    private List<MachineInputs> junk;
+    private final List<IItemHandlerModifiable> matchingItems = new ObjectArrayList<>(INVENTORIES);
+    private final List<IMultipleTankHandler> matchingFluids = new ObjectArrayList<>(INVENTORIES);
+    private final List<IItemHandlerModifiable> junkItems = new ObjectArrayList<>(INVENTORIES);
+    private final List<IMultipleTankHandler> junkFluids = new ObjectArrayList<>(INVENTORIES);
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkRecipes.load();
+        this.recipeMap = RecipeMap.getByName(recipeMapName);
+        this.matching = BenchmarkRecipes.sampleInputs(recipeMap, INVENTORIES, true);
+        this.junk = BenchmarkRecipes.sampleInputs(recipeMap, INVENTORIES, false);
+        toHandlers(matching, matchingItems, matchingFluids);
+        toHandlers(junk, junkItems, junkFluids);
+    }
+
+    @Benchmark
+    public void findMatching(Blackhole blackhole) {
+        MachineInputs inputs = matching.get(next());
+        blackhole.consume(recipeMap.findRecipe(GTValues.V[GTValues.UV], inputs.items, inputs.fluids));
+    }
+
+    @Benchmark
+    public void findJunk(Blackhole blackhole) {
+        MachineInputs inputs = junk.get(next());
+        blackhole.consume(recipeMap.findRecipe(GTValues.V[GTValues.UV], inputs.items, inputs.fluids));
+    }
+
+    @Benchmark
+    public void findMatchingInventory(Blackhole blackhole) {
+        int i = next();
+        blackhole.consume(recipeMap.findRecipe(GTValues.V[GTValues.UV], matchingItems.get(i), matchingFluids.get(i)));
+    }
+
+    @Benchmark
+    public void findJunkInventory(Blackhole blackhole) {
+        int i = next();
+        blackhole.consume(recipeMap.findRecipe(GTValues.V[GTValues.UV], junkItems.get(i), junkFluids.get(i)));
+    }
+
+    private static void toHandlers(List<MachineInputs> inputs, List<IItemHandlerModifiable> items, List<IMultipleTankHandler> fluids) {
+        for (MachineInputs input : inputs) {
+            ItemStackHandler itemHandler = new ItemStackHandler(input.items.size());
+            for (int i = 0; i < input.items.size(); i++) {
+                itemHandler.setStackInSlot(i, input.items.get(i));
+            }
+            IFluidTank[] tanks = new IFluidTank[input.fluids.size()];
+            for (int i = 0; i < tanks.length; i++) {
+                FluidStack stack = input.fluids.get(i);
+                tanks[i] = new FluidTank(stack, Math.max(stack.amount, 64000));
+            }
+            items.add(itemHandler);
+            fluids.add(new FluidTankList(false, tanks));
+        }
+    }
+
+    private int next() {
+        this.index = (this.index + 1) % INVENTORIES;
+        return this.index;
+    }
+}
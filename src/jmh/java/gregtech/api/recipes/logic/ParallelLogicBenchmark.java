@@ -0,0 +1,114 @@
+package gregtech.api.recipes.logic;
+
+import gregtech.api.GTValues;
+import gregtech.api.capability.IMultipleTankHandler;
+import gregtech.api.capability.impl.FluidTankList;
+import gregtech.api.metatileentity.IVoidable;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.recipes.RecipeMap;
+import gregtech.benchmark.BenchmarkRecipes;
+import gregtech.benchmark.BenchmarkRecipes.MachineInputs;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.fluids.IFluidTank;
+import net.minecraftforge.items.IItemHandlerModifiable;
+import net.minecraftforge.items.ItemStackHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ParallelLogic#doParallelRecipes} the way a Processing Array or Large Chemical Reactor
+ * starts a parallel batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelLogicBenchmark {
+
+    private static final int MACHINES = 64;
+    private static final int SLOTS = 16;
+    private static final int TANKS = 4;
+
+    private static final IVoidable NO_VOIDING = new IVoidable() {
+
+        @Override
+        public boolean canVoidRecipeItemOutputs() {
+            return false;
+        }
+
+        @Override
+        public boolean canVoidRecipeFluidOutputs() {
+            return false;
+        }
+    };
+
+    @Param({"large_chemical_reactor", "assembler"})
+    public String recipeMapName;
+
+    @Param({"16", "256"})
+    public int parallelLimit;
+
+    private RecipeMap<?> recipeMap;
+    private final List<Recipe> recipes = new ObjectArrayList<>(MACHINES);
+    private final List<IItemHandlerModifiable> importItems = new ObjectArrayList<>(MACHINES);
+    private final List<IMultipleTankHandler> importFluids = new ObjectArrayList<>(MACHINES);
+    private IItemHandlerModifiable exportItems;
+    private IMultipleTankHandler exportFluids;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkRecipes.load();
+        this.recipeMap = RecipeMap.getByName(recipeMapName);
+        this.exportItems = new ItemStackHandler(SLOTS);
+        this.exportFluids = createTanks();
+
+        for (MachineInputs inputs : BenchmarkRecipes.sampleInputs(recipeMap, MACHINES * 4, true)) {
+            if (recipes.size() == MACHINES) break;
+            Recipe recipe = recipeMap.findRecipe(GTValues.V[GTValues.MAX], inputs.items, inputs.fluids);
+            if (recipe == null) continue;
+
+            ItemStackHandler items = new ItemStackHandler(SLOTS);
+            for (int i = 0; i < inputs.items.size() && i < SLOTS; i++) {
+                ItemStack stack = inputs.items.get(i).copy();
+                stack.setCount(stack.getMaxStackSize());
+                items.setStackInSlot(i, stack);
+            }
+
+            IMultipleTankHandler fluids = createTanks();
+            for (FluidStack stack : inputs.fluids) {
+                FluidStack copy = stack.copy();
+                copy.amount = 64000;
+                fluids.fill(copy, true);
+            }
+
+            recipes.add(recipe);
+            importItems.add(items);
+            importFluids.add(fluids);
+        }
+    }
+
+    @Benchmark
+    public void doParallelRecipes(Blackhole blackhole) {
+        this.index = (this.index + 1) % recipes.size();
+        blackhole.consume(ParallelLogic.doParallelRecipes(recipes.get(index), recipeMap,
+                importItems.get(index), importFluids.get(index), exportItems, exportFluids,
+                parallelLimit, GTValues.V[GTValues.MAX], NO_VOIDING));
+    }
+
+    private static IMultipleTankHandler createTanks() {
+        IFluidTank[] tanks = new IFluidTank[TANKS];
+        for (int i = 0; i < TANKS; i++) {
+            tanks[i] = new FluidTank(64000);
+        }
+        return new FluidTankList(false, tanks);
+    }
+}
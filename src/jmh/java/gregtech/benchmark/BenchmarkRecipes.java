@@ -0,0 +1,125 @@
+package gregtech.benchmark;
+
+import gregtech.Bootstrap;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.ingredients.GTRecipeInput;
+import gregtech.loaders.recipe.CircuitRecipes;
+import gregtech.loaders.recipe.ComponentRecipes;
+import gregtech.loaders.recipe.chemistry.ReactorRecipes;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidRegistry;
+import net.minecraftforge.fluids.FluidStack;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shared setup for the JMH benchmarks.
+ * <p>
+ * Loads the real recipes of the chemical reactor, large chemical reactor and assembler,
+ * and builds machine input inventories out of them.
+ */
+public final class BenchmarkRecipes {
+
+    /**
+     * Fixed seed, so every run replays the same inventories
+     */
+    private static final long SEED = 0x4754_4345_5553L;
+
+    private static boolean loaded = false;
+
+    private BenchmarkRecipes() {/**/}
+
+    public static void load() {
+        if (loaded) return;
+        Bootstrap.perform();
+
+        // chemical reactor recipes are copied into the large chemical reactor on registration
+        ReactorRecipes.init();
+        CircuitRecipes.init();
+        ComponentRecipes.register();
+        loaded = true;
+    }
+
+    /**
+     * Picks recipes from a RecipeMap and builds the inventory a machine running them would hold.
+     *
+     * @param recipeMap the map to sample
+     * @param count     the amount of inventories to create
+     * @param matching  if the inventories should contain a valid recipe, or be full of junk
+     * @return the created inventories
+     */
+    @Nonnull
+    public static List<MachineInputs> sampleInputs(@Nonnull RecipeMap<?> recipeMap, int count, boolean matching) {
+        List<Recipe> recipes = new ArrayList<>(recipeMap.getRecipeList());
+        if (recipes.isEmpty()) {
+            throw new IllegalStateException("RecipeMap " + recipeMap.getUnlocalizedName() + " has no recipes to sample");
+        }
+
+        Random random = new Random(SEED);
+        List<MachineInputs> inputs = new ObjectArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Recipe recipe = recipes.get(random.nextInt(recipes.size()));
+            inputs.add(matching ? fromRecipe(recipe, random) : junk(recipe, random));
+        }
+        return inputs;
+    }
+
+    /**
+     * @return inventories holding the recipe's inputs several times over, like a machine fed by a pipe
+     */
+    @Nonnull
+    private static MachineInputs fromRecipe(@Nonnull Recipe recipe, @Nonnull Random random) {
+        int multiplier = 1 + random.nextInt(16);
+        List<ItemStack> items = new ObjectArrayList<>();
+        for (GTRecipeInput input : recipe.getInputs()) {
+            ItemStack[] stacks = input.getInputStacks();
+            if (stacks.length == 0) continue;
+            ItemStack stack = stacks[random.nextInt(stacks.length)].copy();
+            stack.setCount(Math.min(stack.getMaxStackSize(), Math.max(1, input.getAmount() * multiplier)));
+            items.add(stack);
+        }
+
+        List<FluidStack> fluids = new ObjectArrayList<>();
+        for (GTRecipeInput input : recipe.getFluidInputs()) {
+            FluidStack stack = input.getInputFluidStack().copy();
+            stack.amount = Math.max(1, input.getAmount() * multiplier);
+            fluids.add(stack);
+        }
+        return new MachineInputs(items, fluids);
+    }
+
+    /**
+     * @return inventories with one of the recipe's inputs swapped for something no recipe uses
+     */
+    @Nonnull
+    private static MachineInputs junk(@Nonnull Recipe recipe, @Nonnull Random random) {
+        MachineInputs inputs = fromRecipe(recipe, random);
+        if (!inputs.items.isEmpty()) {
+            inputs.items.set(random.nextInt(inputs.items.size()), new ItemStack(Blocks.DIRT, 64));
+        } else {
+            inputs.items.add(new ItemStack(Items.ROTTEN_FLESH, 64));
+        }
+        if (!inputs.fluids.isEmpty()) {
+            inputs.fluids.set(random.nextInt(inputs.fluids.size()), new FluidStack(FluidRegistry.LAVA, 16000));
+        }
+        return inputs;
+    }
+
+    public static final class MachineInputs {
+
+        public final List<ItemStack> items;
+        public final List<FluidStack> fluids;
+
+        public MachineInputs(@Nonnull List<ItemStack> items, @Nonnull List<FluidStack> fluids) {
+            this.items = items;
+            this.fluids = fluids;
+        }
+    }
+}
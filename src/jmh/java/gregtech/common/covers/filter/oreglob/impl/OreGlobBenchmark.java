@@ -0,0 +1,76 @@
+package gregtech.common.covers.filter.oreglob.impl;
+
+import gregtech.Bootstrap;
+import gregtech.api.GregTechAPI;
+import gregtech.api.unification.material.Material;
+import gregtech.api.unification.ore.OrePrefix;
+import gregtech.api.unification.stack.UnificationEntry;
+import gregtech.api.util.oreglob.OreGlobCompileResult;
+import net.minecraftforge.oredict.OreDictionary;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures matching an ore dictionary filter expression against every ore dictionary name,
+ * once with the compiled matcher of {@link NodeOreGlob} and once by interpreting its node tree.
+ * <p>
+ * The names are those of every item generated for every material, together with every name already registered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OreGlobBenchmark {
+
+    @Param({"ingotIron", "dust*Gold | (plate* & !*Double*)", "!(ore* | dust*) & !(*Iron ^ *Gold)", "*i*r*o*n*"})
+    public String expression;
+
+    private NodeOreGlob glob;
+    private String[] names;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Bootstrap.perform();
+
+        OreGlobCompileResult result = new OreGlobParser(expression).compile();
+        if (result.hasError() || !(result.getInstance() instanceof NodeOreGlob)) {
+            throw new IllegalStateException("Expression '" + expression + "' does not compile to a NodeOreGlob");
+        }
+        this.glob = (NodeOreGlob) result.getInstance();
+
+        Set<String> names = new LinkedHashSet<>();
+        for (Material material : GregTechAPI.materialManager.getRegisteredMaterials()) {
+            for (OrePrefix prefix : OrePrefix.values()) {
+                if (prefix.doGenerateItem(material)) {
+                    names.add(new UnificationEntry(prefix, material).toString());
+                }
+            }
+        }
+        Collections.addAll(names, OreDictionary.getOreNames());
+        this.names = names.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public int matchCompiled() {
+        int matches = 0;
+        for (String name : names) {
+            if (glob.matches(name)) matches++;
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int matchInterpreted() {
+        int matches = 0;
+        for (String name : names) {
+            if (glob.matchesInterpreted(name)) matches++;
+        }
+        return matches;
+    }
+}
@@ -11,6 +11,7 @@ import gregtech.api.metatileentity.multiblock.ParallelLogicType;
 import gregtech.api.recipes.Recipe;
 import gregtech.api.recipes.RecipeMap;
 import gregtech.api.recipes.logic.IParallelableRecipeLogic;
+import gregtech.api.recipes.logic.InputCountCache;
 import gregtech.api.recipes.recipeproperties.CleanroomProperty;
 import gregtech.api.recipes.recipeproperties.IRecipePropertyStorage;
 import gregtech.api.util.GTTransferUtils;
@@ -66,6 +67,8 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
 
     protected boolean hasPerfectOC = false;
 
+    protected final InputCountCache inputCountCache = new InputCountCache();
+
     /**
      * DO NOT use the parallelLimit field directly, EVER
      * use {@link AbstractRecipeLogic#setParallelLimit(int)} instead
@@ -197,6 +200,17 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
         }
     }
 
+    /**
+     * Idle while no recipe runs and none can start, because working is disabled, or the inputs or outputs
+     * did not change since they were found invalid or full. Changes to them notify the MetaTileEntity, which wakes it up.
+     */
+    @Override
+    public boolean isIdle() {
+        if (progressTime > 0 || wasActiveAndNeedsUpdate) return false;
+        return !workingEnabled || (invalidInputsForRecipes && !hasNotifiedInputs()) ||
+                (isOutputsFull && !hasNotifiedOutputs());
+    }
+
     /**
      * DO NOT use the recipeMap field directly, EVER
      * <p>
@@ -269,11 +283,20 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
         //and if the previous recipe produced fluids and the new recipe doesn't, then outputs are not full.
         this.isOutputsFull = false;
         this.invalidInputsForRecipes = false;
+        if (hasNotifiedInputs()) {
+            this.inputCountCache.invalidate();
+        }
         this.metaTileEntity.getNotifiedItemInputList().clear();
         this.metaTileEntity.getNotifiedFluidInputList().clear();
         return true;
     }
 
+    @Nullable
+    @Override
+    public InputCountCache getInputCountCache() {
+        return inputCountCache;
+    }
+
     /**
      * Invalidate the current state of input inventory contents
      */
@@ -568,6 +591,8 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
         }
 
         this.isOutputsFull = false;
+        // the inputs either change now, or were counted wrong for the parallel recipe
+        this.inputCountCache.invalidate();
         if (recipe.matches(true, importInventory, importFluids)) {
             this.metaTileEntity.addNotifiedInput(importInventory);
             return true;
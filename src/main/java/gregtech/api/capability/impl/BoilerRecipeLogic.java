@@ -52,6 +52,11 @@ public class BoilerRecipeLogic extends AbstractRecipeLogic {
         super.update();
     }
 
+    @Override
+    public boolean isIdle() {
+        return currentHeat == 0 && super.isIdle();
+    }
+
     @Override
     protected boolean canProgressRecipe() {
         return super.canProgressRecipe() && !(metaTileEntity instanceof IMultiblockController && ((IMultiblockController) metaTileEntity).isStructureObstructed());
@@ -121,6 +121,11 @@ public class EnergyContainerBatteryBuffer extends EnergyContainerHandler {
         }
     }
 
+    @Override
+    public boolean isIdle() {
+        return false;
+    }
+
     private long getInternalStorage() {
         return energyStored;
     }
@@ -82,6 +82,11 @@ public class EnergyContainerBatteryCharger extends EnergyContainerHandler {
         }
     }
 
+    @Override
+    public boolean isIdle() {
+        return false;
+    }
+
     private long getInternalStorage() {
         return energyStored;
     }
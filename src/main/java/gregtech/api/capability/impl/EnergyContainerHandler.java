@@ -214,6 +214,15 @@ public class EnergyContainerHandler extends MTETrait implements IEnergyContainer
         }
     }
 
+    /**
+     * Idle while it has no energy to emit, and did not accept energy since its last update.
+     * Accepting energy changes the stored energy, which wakes up the MetaTileEntity.
+     */
+    @Override
+    public boolean isIdle() {
+        return amps == 0 && (getOutputVoltage() <= 0 || getOutputAmperage() <= 0 || getEnergyStored() < getOutputVoltage());
+    }
+
     @Override
     public long acceptEnergyFromNetwork(EnumFacing side, long voltage, long amperage) {
         if (amps >= getInputAmperage()) return 0;
@@ -112,6 +112,9 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
             RecipeMapMultiblockController distinctController = (RecipeMapMultiblockController) controller;
 
             if (distinctController.canBeDistinct() && distinctController.isDistinct() && getInputInventory().getSlots() > 0) {
+                if (hasNotifiedInputs()) {
+                    this.inputCountCache.invalidate();
+                }
                 boolean canWork = false;
                 if (invalidatedInputList.isEmpty()) {
                     return true;
@@ -173,6 +173,11 @@ public class RecipeLogicSteam extends AbstractRecipeLogic implements IVentable {
         super.update();
     }
 
+    @Override
+    public boolean isIdle() {
+        return !this.needsVenting && super.isIdle();
+    }
+
     @Override
     public boolean checkRecipe(@Nonnull Recipe recipe) {
         return super.checkRecipe(recipe) && !this.needsVenting;
@@ -0,0 +1,51 @@
+package gregtech.api.capability.impl.miner;
+
+import gregtech.api.unification.OreDictUnifier;
+import gregtech.api.util.GTUtility;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+
+import javax.annotation.Nonnull;
+import java.util.BitSet;
+
+/**
+ * Remembers which block states are ores a miner may mine, by their state id.
+ * <p>
+ * Checking a state otherwise builds an ItemStack and looks up its ore dictionary prefix, which is too slow
+ * for every block of the mining area. The results are dropped when the ore dictionary changes.
+ * Only to be used from the server thread.
+ */
+final class MinableOreStates {
+
+    private static final BitSet KNOWN = new BitSet();
+    private static final BitSet MINABLE = new BitSet();
+    private static int oreDictGeneration = OreDictUnifier.getOreDictGeneration();
+
+    private MinableOreStates() {/**/}
+
+    /**
+     * @param state the state to check
+     * @return if the state is an ore which can be broken
+     */
+    static boolean isMinable(@Nonnull IBlockState state) {
+        int generation = OreDictUnifier.getOreDictGeneration();
+        if (oreDictGeneration != generation) {
+            KNOWN.clear();
+            MINABLE.clear();
+            oreDictGeneration = generation;
+        }
+
+        int id = Block.BLOCK_STATE_IDS.get(state);
+        // states without an id are never stored in chunks, so they are not worth remembering
+        if (id < 0) return compute(state);
+        if (!KNOWN.get(id)) {
+            KNOWN.set(id);
+            if (compute(state)) MINABLE.set(id);
+        }
+        return MINABLE.get(id);
+    }
+
+    private static boolean compute(@Nonnull IBlockState state) {
+        return state.getBlock().blockHardness >= 0 && GTUtility.isOre(GTUtility.toItem(state));
+    }
+}
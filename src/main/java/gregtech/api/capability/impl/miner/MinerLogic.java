@@ -16,6 +16,7 @@ import gregtech.api.util.GTUtility;
 import gregtech.client.renderer.ICubeRenderer;
 import gregtech.client.renderer.texture.Textures;
 import gregtech.common.ConfigHolder;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
@@ -28,22 +29,17 @@ import net.minecraft.util.NonNullList;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class MinerLogic {
 
-    private static final short MAX_SPEED = Short.MAX_VALUE;
-    private static final byte POWER = 5;
-    private static final byte TICK_TOLERANCE = 20;
-    private static final double DIVIDEND = MAX_SPEED * Math.pow(TICK_TOLERANCE, POWER);
-
     protected final MetaTileEntity metaTileEntity;
     protected final IMiner miner;
 
@@ -53,7 +49,9 @@ public class MinerLogic {
 
     private final ICubeRenderer PIPE_TEXTURE;
 
-    private final LinkedList<BlockPos> blocksToMine = new LinkedList<>();
+    // the packed positions of the ores to mine, in scanning order
+    private final LongArrayFIFOQueue blocksToMine = new LongArrayFIFOQueue();
+    private final BlockPos.MutableBlockPos scanPos = new BlockPos.MutableBlockPos();
 
     private final AtomicInteger x = new AtomicInteger(Integer.MAX_VALUE);
     private final AtomicInteger y = new AtomicInteger(Integer.MAX_VALUE);
@@ -162,39 +160,32 @@ public class MinerLogic {
         // if there are blocks to mine and the correct amount of time has passed, do the mining
         if (metaTileEntity.getOffsetTimer() % this.speed == 0 && !blocksToMine.isEmpty()) {
             NonNullList<ItemStack> blockDrops = NonNullList.create();
-            IBlockState blockState = metaTileEntity.getWorld().getBlockState(blocksToMine.getFirst());
+            BlockPos blockToMine = BlockPos.fromLong(blocksToMine.firstLong());
+            IBlockState blockState = world.getBlockState(blockToMine);
 
             // check to make sure the ore is still there,
-            while (!GTUtility.isOre(GTUtility.toItem(blockState))) {
-                blocksToMine.removeFirst();
+            while (!MinableOreStates.isMinable(blockState)) {
+                blocksToMine.dequeueLong();
                 if (blocksToMine.isEmpty()) break;
-                blockState = metaTileEntity.getWorld().getBlockState(blocksToMine.getFirst());
+                blockToMine = BlockPos.fromLong(blocksToMine.firstLong());
+                blockState = world.getBlockState(blockToMine);
             }
             // When we are here we have an ore to mine! I'm glad we aren't threaded
-            if (!blocksToMine.isEmpty() & GTUtility.isOre(GTUtility.toItem(blockState))) {
+            if (!blocksToMine.isEmpty()) {
                 // get the small ore drops, if a small ore
-                getSmallOreBlockDrops(blockDrops, world, blocksToMine.getFirst(), blockState);
+                getSmallOreBlockDrops(blockDrops, world, blockToMine, blockState);
                 // get the block's drops.
-                getRegularBlockDrops(blockDrops, world, blocksToMine.getFirst(), blockState);
+                getRegularBlockDrops(blockDrops, world, blockToMine, blockState);
                 // try to insert them
-                mineAndInsertItems(blockDrops, world);
+                mineAndInsertItems(blockDrops, world, blockToMine);
             }
-
         }
 
-        if (blocksToMine.isEmpty()) {
-            // there were no blocks to mine, so the current position is the previous position
-            x.set(mineX.get());
-            y.set(mineY.get());
-            z.set(mineZ.get());
-
-            // attempt to get more blocks to mine, if there are none, the miner is done mining
-            blocksToMine.addAll(getBlocksToMine());
-            if (blocksToMine.isEmpty()) {
-                this.isDone = true;
-                this.wasActiveAndNeedsUpdate = true;
-                this.setActive(false);
-            }
+        // if the whole area was scanned and every ore was mined, the miner is done mining
+        if (blocksToMine.isEmpty() && isScanFinished()) {
+            this.isDone = true;
+            this.wasActiveAndNeedsUpdate = true;
+            this.setActive(false);
         }
     }
 
@@ -266,20 +257,21 @@ public class MinerLogic {
      * called in order to insert the mined items into the inventory and actually remove the block in world
      * marks the inventory as full if the items cannot fit, and not full if it previously was full and items could fit
      *
-     * @param blockDrops the List of items to insert
-     * @param world      the {@link WorldServer} the miner is in
+     * @param blockDrops  the List of items to insert
+     * @param world       the {@link WorldServer} the miner is in
+     * @param blockToMine the {@link BlockPos} of the block being mined, the first in the mining queue
      */
-    private void mineAndInsertItems(NonNullList<ItemStack> blockDrops, WorldServer world) {
+    private void mineAndInsertItems(NonNullList<ItemStack> blockDrops, WorldServer world, BlockPos blockToMine) {
         // If the block's drops can fit in the inventory, move the previously mined position to the block
         // replace the ore block with cobblestone instead of breaking it to prevent mob spawning
         // remove the ore block's position from the mining queue
         if (GTTransferUtils.addItemsToItemHandler(metaTileEntity.getExportItems(), true, blockDrops)) {
             GTTransferUtils.addItemsToItemHandler(metaTileEntity.getExportItems(), false, blockDrops);
-            world.setBlockState(blocksToMine.getFirst(), oreReplacementBlock);
-            mineX.set(blocksToMine.getFirst().getX());
-            mineZ.set(blocksToMine.getFirst().getZ());
-            mineY.set(blocksToMine.getFirst().getY());
-            blocksToMine.removeFirst();
+            world.setBlockState(blockToMine, oreReplacementBlock);
+            mineX.set(blockToMine.getX());
+            mineZ.set(blockToMine.getZ());
+            mineY.set(blockToMine.getY());
+            blocksToMine.dequeueLong();
             onMineOperation();
 
             // if the inventory was previously considered full, mark it as not since an item was able to fit
@@ -326,8 +318,8 @@ public class MinerLogic {
      * Checks whether there are any more blocks to mine, if there are currently none queued
      */
     public void checkBlocksToMine() {
-        if (blocksToMine.isEmpty())
-            blocksToMine.addAll(getBlocksToMine());
+        if (blocksToMine.isEmpty() && !isScanFinished())
+            scanBlocksToMine();
     }
 
     /**
@@ -343,83 +335,68 @@ public class MinerLogic {
     }
 
     /**
-     * Gets the blocks to mine
-     *
-     * @return a {@link LinkedList} of {@link BlockPos} for each ore to mine
-     */
-    private LinkedList<BlockPos> getBlocksToMine() {
-        LinkedList<BlockPos> blocks = new LinkedList<>();
-
-        // determine how many blocks to retrieve this time
-        double quotient = getQuotient(getMeanTickTime(metaTileEntity.getWorld()));
-        int calcAmount = quotient < 1 ? 1 : (int) (Math.min(quotient, Short.MAX_VALUE));
-        int calculated = 0;
-
-        // keep getting blocks until the target amount is reached
-        while (calculated < calcAmount) {
-            // moving down the y-axis
-            if (y.get() > 0) {
-                // moving across the z-axis
-                if (z.get() <= startZ.get() + currentRadius * 2) {
-                    // check every block along the x-axis
-                    if (x.get() <= startX.get() + currentRadius * 2) {
-                        BlockPos blockPos = new BlockPos(x.get(), y.get(), z.get());
-                        IBlockState state = metaTileEntity.getWorld().getBlockState(blockPos);
-                        if (state.getBlock().blockHardness >= 0 && metaTileEntity.getWorld().getTileEntity(blockPos) == null && GTUtility.isOre(GTUtility.toItem(state))) {
-                            blocks.addLast(blockPos);
-                        }
-                        // move to the next x position
-                        x.incrementAndGet();
-                    } else {
-                        // reset x and move to the next z layer
-                        x.set(startX.get());
-                        z.incrementAndGet();
-                    }
-                } else {
-                    // reset z and move to the next y layer
-                    z.set(startZ.get());
-                    y.decrementAndGet();
-                }
-            } else
-                return blocks;
-
-            // only count iterations where blocks were found
-            if (!blocks.isEmpty())
-                calculated++;
-        }
-        return blocks;
+     * @return true if the whole mining area was scanned for ores
+     */
+    private boolean isScanFinished() {
+        return y.get() <= 0;
     }
 
     /**
-     * @param values to find the mean of
-     * @return the mean value
+     * Scans the mining area for ores from the current position on, and queues them to be mined.
+     * <p>
+     * At most {@link ConfigHolder.MachineOptions#minerScanBudget} blocks are scanned per call, so large areas are
+     * scanned over several ticks. The blocks are read directly from the chunk sections along each row, and
+     * rows through empty sections are skipped as a whole.
      */
-    private static long mean(@Nonnull long[] values) {
-        if (values.length == 0L)
-            return 0L;
+    private void scanBlocksToMine() {
+        World world = metaTileEntity.getWorld();
+        int budget = ConfigHolder.machines.minerScanBudget;
+        int x = this.x.get();
+        int y = this.y.get();
+        int z = this.z.get();
+        int startX = this.startX.get();
+        int startZ = this.startZ.get();
+        int endX = startX + currentRadius * 2;
+        int endZ = startZ + currentRadius * 2;
 
-        long sum = 0L;
-        for (long v : values)
-            sum += v;
-        return sum / values.length;
-    }
+        // moving down the y-axis, across the z-axis, along the x-axis
+        while (budget > 0 && y > 0) {
+            if (x > endX) {
+                // reset x and move to the next z layer
+                x = startX;
+                z++;
+                continue;
+            }
+            if (z > endZ) {
+                // reset z and move to the next y layer
+                z = startZ;
+                y--;
+                continue;
+            }
 
-    /**
-     * @param world the {@link World} to get the average tick time of
-     * @return the mean tick time
-     */
-    private static double getMeanTickTime(@Nonnull World world) {
-        return mean(Objects.requireNonNull(world.getMinecraftServer()).tickTimeArray) * 1.0E-6D;
-    }
+            // scan the part of the row within the current chunk section
+            int sectionEndX = Math.min(endX, x | 15);
+            Chunk chunk = world.getChunk(x >> 4, z >> 4);
+            ExtendedBlockStorage storage = chunk.getBlockStorageArray()[y >> 4];
+            budget--;
+            if (storage == Chunk.NULL_BLOCK_STORAGE || storage.isEmpty()) {
+                x = sectionEndX + 1;
+                continue;
+            }
+            for (; x <= sectionEndX && budget > 0; x++, budget--) {
+                IBlockState state = storage.get(x & 15, y & 15, z & 15);
+                if (MinableOreStates.isMinable(state)) {
+                    scanPos.setPos(x, y, z);
+                    if (chunk.getTileEntity(scanPos, Chunk.EnumCreateEntityType.CHECK) == null) {
+                        blocksToMine.enqueue(scanPos.toLong());
+                    }
+                }
+            }
+        }
 
-    /**
-     * gets the quotient for determining the amount of blocks to mine
-     *
-     * @param base is a value used for calculation, intended to be the mean tick time of the world the miner is in
-     * @return the quotient
-     */
-    private static double getQuotient(double base) {
-        return DIVIDEND / Math.pow(base, POWER);
+        this.x.set(x);
+        this.y.set(y);
+        this.z.set(z);
     }
 
     /**
@@ -482,9 +459,17 @@ public class MinerLogic {
      * This MUST be called and returned in the MetaTileEntity's {@link MetaTileEntity#writeToNBT(NBTTagCompound)} method
      */
     public NBTTagCompound writeToNBT(@Nonnull NBTTagCompound data) {
-        data.setTag("xPos", new NBTTagInt(x.get()));
-        data.setTag("yPos", new NBTTagInt(y.get()));
-        data.setTag("zPos", new NBTTagInt(z.get()));
+        if (blocksToMine.isEmpty()) {
+            data.setTag("xPos", new NBTTagInt(x.get()));
+            data.setTag("yPos", new NBTTagInt(y.get()));
+            data.setTag("zPos", new NBTTagInt(z.get()));
+        } else {
+            // the queue is not saved, so scanning continues from the first queued ore after loading
+            BlockPos firstToMine = BlockPos.fromLong(blocksToMine.firstLong());
+            data.setTag("xPos", new NBTTagInt(firstToMine.getX()));
+            data.setTag("yPos", new NBTTagInt(firstToMine.getY()));
+            data.setTag("zPos", new NBTTagInt(firstToMine.getZ()));
+        }
         data.setTag("mxPos", new NBTTagInt(mineX.get()));
         data.setTag("myPos", new NBTTagInt(mineY.get()));
         data.setTag("mzPos", new NBTTagInt(mineZ.get()));
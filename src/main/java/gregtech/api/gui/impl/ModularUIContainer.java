@@ -8,8 +8,10 @@ import gregtech.api.gui.widgets.SlotWidget;
 import gregtech.api.gui.widgets.WidgetUIAccess;
 import gregtech.api.util.GTUtility;
 import gregtech.api.util.PerTickIntCounter;
+import gregtech.core.network.NetworkUtils;
 import gregtech.core.network.packets.PacketUIClientAction;
 import gregtech.core.network.packets.PacketUIWidgetUpdate;
+import gregtech.core.network.packets.PacketUIWidgetUpdates;
 import io.netty.buffer.Unpooled;
 import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraft.entity.player.EntityPlayer;
@@ -32,6 +34,11 @@ public class ModularUIContainer extends Container implements WidgetUIAccess {
     public boolean accumulateWidgetUpdateData = false;
     public final List<PacketUIWidgetUpdate> accumulatedUpdates = new ArrayList<>();
 
+    // the widget updates written since the last ones were sent, and the buffer each update is written to first
+    private final PacketBuffer pendingUpdates = new PacketBuffer(Unpooled.buffer());
+    private final PacketBuffer updateBuffer = new PacketBuffer(Unpooled.buffer());
+    private int pendingUpdateCount;
+
     public ModularUIContainer(ModularUI modularUI) {
         this.modularUI = modularUI;
         modularUI.guiWidgets.values().forEach(widget -> widget.setUiAccess(this));
@@ -110,6 +117,7 @@ public class ModularUIContainer extends Container implements WidgetUIAccess {
     public void addListener(@Nonnull IContainerListener listener) {
         super.addListener(listener);
         modularUI.guiWidgets.values().forEach(Widget::detectAndSendChanges);
+        sendWidgetUpdates();
     }
 
     @Override
@@ -136,6 +144,17 @@ public class ModularUIContainer extends Container implements WidgetUIAccess {
         if (listeners.size() > 0) {
             modularUI.guiWidgets.values().forEach(Widget::detectAndSendChanges);
         }
+        // also sends the updates written while handling client actions
+        sendWidgetUpdates();
+    }
+
+    private void sendWidgetUpdates() {
+        if (pendingUpdateCount == 0) return;
+        // the packet is encoded when sent, so the buffer can be reused right after
+        GregTechAPI.networkHandler.sendTo(new PacketUIWidgetUpdates(windowId, pendingUpdateCount, pendingUpdates),
+                (EntityPlayerMP) modularUI.entityPlayer);
+        pendingUpdates.clear();
+        this.pendingUpdateCount = 0;
     }
 
     @Nonnull
@@ -252,17 +271,21 @@ public class ModularUIContainer extends Container implements WidgetUIAccess {
 
     @Override
     public void writeUpdateInfo(Widget widget, int updateId, Consumer<PacketBuffer> payloadWriter) {
+        if (!(modularUI.entityPlayer instanceof EntityPlayerMP)) return;
         int widgetId = modularUI.guiWidgets.inverse().get(widget);
-        PacketBuffer packetBuffer = new PacketBuffer(Unpooled.buffer());
-        packetBuffer.writeVarInt(updateId);
-        payloadWriter.accept(packetBuffer);
-        if (modularUI.entityPlayer instanceof EntityPlayerMP) {
-            PacketUIWidgetUpdate widgetUpdate = new PacketUIWidgetUpdate(windowId, widgetId, packetBuffer);
-            if (!accumulateWidgetUpdateData) {
-                GregTechAPI.networkHandler.sendTo(widgetUpdate, (EntityPlayerMP) modularUI.entityPlayer);
-            } else {
-                accumulatedUpdates.add(widgetUpdate);
-            }
+        if (accumulateWidgetUpdateData) {
+            PacketBuffer packetBuffer = new PacketBuffer(Unpooled.buffer());
+            packetBuffer.writeVarInt(updateId);
+            payloadWriter.accept(packetBuffer);
+            accumulatedUpdates.add(new PacketUIWidgetUpdate(windowId, widgetId, packetBuffer));
+        } else {
+            // collected into one packet, sent at the end of the tick
+            updateBuffer.clear();
+            updateBuffer.writeVarInt(updateId);
+            payloadWriter.accept(updateBuffer);
+            pendingUpdates.writeVarInt(widgetId);
+            NetworkUtils.writePacketBuffer(pendingUpdates, updateBuffer);
+            this.pendingUpdateCount++;
         }
     }
 
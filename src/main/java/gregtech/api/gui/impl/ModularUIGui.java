@@ -13,6 +13,7 @@ import net.minecraft.client.renderer.RenderHelper;
 import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.inventory.Slot;
 import net.minecraft.item.ItemStack;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.math.MathHelper;
 import net.minecraftforge.client.event.GuiContainerEvent;
 import net.minecraftforge.common.MinecraftForge;
@@ -74,6 +75,20 @@ public class ModularUIGui extends GuiContainer implements IRenderContext {
         }
     }
 
+    public void handleWidgetUpdates(int windowId, int updateCount, PacketBuffer updateData) {
+        if (windowId == inventorySlots.windowId) {
+            for (int i = 0; i < updateCount; i++) {
+                Widget widget = modularUI.guiWidgets.get(updateData.readVarInt());
+                // a widget reading too little or too much of its update must not shift the following updates
+                PacketBuffer widgetData = new PacketBuffer(updateData.readSlice(updateData.readVarInt()));
+                int updateId = widgetData.readVarInt();
+                if (widget != null) {
+                    widget.readUpdateInfo(updateId, widgetData);
+                }
+            }
+        }
+    }
+
     @Override
     public void drawScreen(int mouseX, int mouseY, float partialTicks) {
         lastUpdate += partialTicks;
@@ -4,6 +4,9 @@ import gregtech.api.gui.IRenderContext;
 import gregtech.api.gui.Widget;
 import gregtech.api.util.Position;
 import gregtech.api.util.Size;
+import gregtech.common.ConfigHolder;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.FontRenderer;
 import net.minecraft.client.gui.GuiScreen;
@@ -11,6 +14,7 @@ import net.minecraft.client.gui.GuiUtilRenderComponents;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.Style;
+import net.minecraft.util.text.TextComponentString;
 import net.minecraft.util.text.TextComponentTranslation;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.util.text.event.ClickEvent;
@@ -41,7 +45,10 @@ public class AdvancedTextWidget extends Widget {
     protected final Consumer<List<ITextComponent>> textSupplier;
     protected BiConsumer<String, ClickData> clickHandler;
     private List<ITextComponent> displayText = new ArrayList<>();
+    // the unwrapped lines received from the server
+    private final List<ITextComponent> syncedText = new ArrayList<>();
     private final int color;
+    private int ticksUntilUpdate;
 
     public AdvancedTextWidget(int xPosition, int yPosition, Consumer<List<ITextComponent>> text, int color) {
         super(new Position(xPosition, yPosition), Size.ZERO);
@@ -112,14 +119,27 @@ public class AdvancedTextWidget extends Widget {
 
     @Override
     public void detectAndSendChanges() {
+        if (ticksUntilUpdate-- > 0) return;
+        this.ticksUntilUpdate = ConfigHolder.misc.guiUpdateInterval - 1;
         ArrayList<ITextComponent> textBuffer = new ArrayList<>();
         textSupplier.accept(textBuffer);
         if (!displayText.equals(textBuffer)) {
+            List<ITextComponent> lastText = this.displayText;
             this.displayText = textBuffer;
+            // only the changed lines are sent
+            IntList changedLines = new IntArrayList();
+            for (int i = 0; i < textBuffer.size(); i++) {
+                if (i >= lastText.size() || !textBuffer.get(i).equals(lastText.get(i))) {
+                    changedLines.add(i);
+                }
+            }
             writeUpdateInfo(1, buffer -> {
-                buffer.writeVarInt(displayText.size());
-                for (ITextComponent textComponent : displayText) {
-                    buffer.writeString(ITextComponent.Serializer.componentToJson(textComponent));
+                buffer.writeVarInt(textBuffer.size());
+                buffer.writeVarInt(changedLines.size());
+                for (int i = 0; i < changedLines.size(); i++) {
+                    int line = changedLines.getInt(i);
+                    buffer.writeVarInt(line);
+                    buffer.writeString(ITextComponent.Serializer.componentToJson(textBuffer.get(line)));
                 }
             });
         }
@@ -171,12 +191,20 @@ public class AdvancedTextWidget extends Widget {
     @Override
     public void readUpdateInfo(int id, PacketBuffer buffer) {
         if (id == 1) {
-            this.displayText.clear();
             int count = buffer.readVarInt();
-            for (int i = 0; i < count; i++) {
+            if (syncedText.size() > count) {
+                syncedText.subList(count, syncedText.size()).clear();
+            }
+            while (syncedText.size() < count) {
+                syncedText.add(new TextComponentString(""));
+            }
+            int changedLines = buffer.readVarInt();
+            for (int i = 0; i < changedLines; i++) {
+                int line = buffer.readVarInt();
                 String jsonText = buffer.readString(32767);
-                this.displayText.add(ITextComponent.Serializer.jsonToComponent(jsonText));
+                syncedText.set(line, ITextComponent.Serializer.jsonToComponent(jsonText));
             }
+            this.displayText = new ArrayList<>(syncedText);
             formatDisplayText();
             updateComponentTextSize();
         }
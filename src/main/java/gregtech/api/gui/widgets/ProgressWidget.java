@@ -31,6 +31,7 @@ public class ProgressWidget extends Widget {
     private TextureArea[] filledBarArea;
 
     private double lastProgressValue;
+    private int ticksUntilUpdate;
 
     // TODO Clean up these constructors when Steam Machine UIs are cleaned up
     public ProgressWidget(DoubleSupplier progressSupplier, int x, int y, int width, int height) {
@@ -212,6 +213,8 @@ public class ProgressWidget extends Widget {
 
     @Override
     public void detectAndSendChanges() {
+        if (ticksUntilUpdate-- > 0) return;
+        this.ticksUntilUpdate = ConfigHolder.misc.guiUpdateInterval - 1;
         double actualValue = progressSupplier.getAsDouble();
         if (Math.abs(actualValue - lastProgressValue) > 0.005) {
             this.lastProgressValue = actualValue;
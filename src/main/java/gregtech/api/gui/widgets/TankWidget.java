@@ -236,8 +236,12 @@ public class TankWidget extends Widget implements IIngredientSlot {
         } else if (fluidStack != null) {
             if (!fluidStack.isFluidEqual(lastFluidInTank)) {
                 this.lastFluidInTank = fluidStack.copy();
-                NBTTagCompound fluidStackTag = fluidStack.writeToNBT(new NBTTagCompound());
-                writeUpdateInfo(2, buffer -> buffer.writeCompoundTag(fluidStackTag));
+                // the fluid name and amount, and the tag only if there is one, instead of the whole stack as NBT
+                writeUpdateInfo(2, buffer -> {
+                    buffer.writeString(FluidRegistry.getFluidName(lastFluidInTank));
+                    buffer.writeVarInt(lastFluidInTank.amount);
+                    buffer.writeCompoundTag(lastFluidInTank.tag);
+                });
             } else if (fluidStack.amount != lastFluidInTank.amount) {
                 this.lastFluidInTank.amount = fluidStack.amount;
                 writeUpdateInfo(3, buffer -> buffer.writeVarInt(lastFluidInTank.amount));
@@ -252,13 +256,18 @@ public class TankWidget extends Widget implements IIngredientSlot {
         } else if (id == 1) {
             this.lastFluidInTank = null;
         } else if (id == 2) {
-            NBTTagCompound fluidStackTag;
+            String fluidName = buffer.readString(32767);
+            int amount = buffer.readVarInt();
+            NBTTagCompound fluidTag;
             try {
-                fluidStackTag = buffer.readCompoundTag();
+                fluidTag = buffer.readCompoundTag();
             } catch (IOException ignored) {
                 return;
             }
-            this.lastFluidInTank = FluidStack.loadFluidStackFromNBT(fluidStackTag);
+            this.lastFluidInTank = FluidRegistry.getFluidStack(fluidName, amount);
+            if (lastFluidInTank != null) {
+                lastFluidInTank.tag = fluidTag;
+            }
         } else if (id == 3 && lastFluidInTank != null) {
             this.lastFluidInTank.amount = buffer.readVarInt();
         }
@@ -68,6 +68,14 @@ public abstract class MTETrait {
     public void update() {
     }
 
+    /**
+     * @return if the update of this trait does nothing until something changes which wakes up its MetaTileEntity
+     * @see MetaTileEntity#isIdle()
+     */
+    public boolean isIdle() {
+        return false;
+    }
+
     @Nonnull
     public NBTTagCompound serializeNBT() {
         return new NBTTagCompound();
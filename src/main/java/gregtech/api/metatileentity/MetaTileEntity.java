@@ -162,6 +162,7 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
     public void markDirty() {
         if (holder != null) {
             holder.markAsDirty();
+            wakeUp();
         }
     }
 
@@ -337,6 +338,7 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
     }
 
     public <T> void addNotifiedInput(T input) {
+        wakeUp();
         if (input instanceof IItemHandlerModifiable) {
             if (!notifiedItemInputList.contains(input)) {
                 this.notifiedItemInputList.add((IItemHandlerModifiable) input);
@@ -349,6 +351,7 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
     }
 
     public <T> void addNotifiedOutput(T output) {
+        wakeUp();
         if (output instanceof IItemHandlerModifiable) {
             if (!notifiedItemOutputList.contains(output)) {
                 this.notifiedItemOutputList.add((IItemHandlerModifiable) output);
@@ -766,15 +769,29 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
     }
 
     public void update() {
+        boolean profiling = MetaTileEntityTickProfiler.isSampling() && !getWorld().isRemote;
         for (MTETrait mteTrait : this.mteTraits.values()) {
             if (shouldUpdate(mteTrait)) {
-                mteTrait.update();
+                if (profiling) {
+                    long startTime = System.nanoTime();
+                    mteTrait.update();
+                    MetaTileEntityTickProfiler.recordPart(mteTrait.getName(), System.nanoTime() - startTime);
+                } else {
+                    mteTrait.update();
+                }
             }
         }
         if (!getWorld().isRemote) {
             for (CoverBehavior coverBehavior : coverBehaviors) {
                 if (coverBehavior instanceof ITickable) {
-                    ((ITickable) coverBehavior).update();
+                    if (profiling) {
+                        long startTime = System.nanoTime();
+                        ((ITickable) coverBehavior).update();
+                        MetaTileEntityTickProfiler.recordPart("cover:" + coverBehavior.getCoverDefinition().getCoverId(),
+                                System.nanoTime() - startTime);
+                    } else {
+                        ((ITickable) coverBehavior).update();
+                    }
                 }
             }
             if (getOffsetTimer() % 5 == 0L) {
@@ -792,6 +809,54 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
         return true;
     }
 
+    /**
+     * Whether this MetaTileEntity has nothing to do in its update until something changes, like its inventories,
+     * covers or neighbours, or it is marked dirty. Idle MetaTileEntities stop ticking until such a change wakes them up,
+     * for at most {@link ConfigHolder.MachineOptions#machineSleepTicks} ticks.
+     * <p>
+     * MetaTileEntities opt in by overriding this. Only checked on the server, after an update.
+     *
+     * @return if the update of this MetaTileEntity may be skipped until it is woken up
+     * @see MTETrait#isIdle()
+     * @see #wakeUp()
+     */
+    protected boolean isIdle() {
+        return false;
+    }
+
+    /**
+     * @return if this MetaTileEntity and all its traits are idle, and it has no ticking covers
+     */
+    final boolean canSleep() {
+        if (ConfigHolder.machines.machineSleepTicks <= 0 || !isIdle()) return false;
+        for (MTETrait mteTrait : this.mteTraits.values()) {
+            if (!mteTrait.isIdle()) return false;
+        }
+        for (CoverBehavior coverBehavior : coverBehaviors) {
+            // ticking covers work on their own, so they keep the MetaTileEntity awake
+            if (coverBehavior instanceof ITickable) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Lets this MetaTileEntity tick again if it stopped ticking because it was idle.
+     * Call this when something changes which may let it work again and is not covered by {@link #markDirty()}.
+     */
+    public void wakeUp() {
+        if (holder instanceof MetaTileEntityHolder metaTileEntityHolder && getWorld() != null && !getWorld().isRemote) {
+            MetaTileEntitySleepScheduler.wakeUp(metaTileEntityHolder);
+        }
+    }
+
+    /**
+     * @return if this MetaTileEntity stopped ticking because it was idle
+     */
+    public boolean isSleeping() {
+        return holder instanceof MetaTileEntityHolder metaTileEntityHolder && getWorld() != null && !getWorld().isRemote &&
+                MetaTileEntitySleepScheduler.isSleeping(metaTileEntityHolder);
+    }
+
     @SideOnly(Side.CLIENT)
     private void updateSound() {
         if (!ConfigHolder.machines.machineSounds || isMuffled()) {
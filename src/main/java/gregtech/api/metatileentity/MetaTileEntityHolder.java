@@ -15,6 +15,7 @@ import gregtech.api.capability.GregtechDataCodes;
 import gregtech.api.cover.CoverBehavior;
 import gregtech.api.gui.IUIHolder;
 import gregtech.api.metatileentity.interfaces.IGregTechTileEntity;
+import gregtech.api.metatileentity.multiblock.MultiblockStructureIndex;
 import gregtech.api.util.GTLog;
 import gregtech.api.util.TextFormattingUtil;
 import gregtech.client.particle.GTNameTagParticle;
@@ -152,12 +153,20 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
         return compound;
     }
 
+    @Override
+    public void validate() {
+        super.validate();
+        // the tile entity may be replaced without a block update, like when the block state stays the same
+        MultiblockStructureIndex.onTileEntityChanged(world, pos);
+    }
+
     @Override
     public void invalidate() {
         if (metaTileEntity != null) {
             metaTileEntity.invalidate();
         }
         super.invalidate();
+        MultiblockStructureIndex.onTileEntityChanged(world, pos);
         if (Loader.isModLoaded(GTValues.MODID_APPENG)) {
             invalidateAE();
         }
@@ -179,6 +188,10 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
     @Override
     public void update() {
         long tickTime = System.nanoTime();
+        boolean profiling = MetaTileEntityTickProfiler.isSampling() && !world.isRemote && metaTileEntity != null;
+        if (profiling) {
+            MetaTileEntityTickProfiler.beginUpdate(this);
+        }
         if (metaTileEntity != null) {
             metaTileEntity.update();
         } else if (world.isRemote) { // recover the mte
@@ -194,6 +207,10 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
             this.needToUpdateLightning = false;
         }
 
+        if (profiling) {
+            MetaTileEntityTickProfiler.endUpdate(System.nanoTime() - tickTime);
+        }
+
         if (!world.isRemote && metaTileEntity != null && getMetaTileEntity().isValid()) {
             tickTime = System.nanoTime() - tickTime;
             if (timeStatistics.length > 0) {
@@ -204,6 +221,10 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
                 GTLog.logger.warn("WARNING: Possible Lag Source at [" + getPos().getX() + ", " + getPos().getY() + ", " + getPos().getZ() + "] in Dimension " + world.provider.getDimension() + " with " + tickTime + "ns caused by an instance of " + getMetaTileEntity().getClass());
         }
 
+        if (!world.isRemote && metaTileEntity != null && metaTileEntity.isValid() && metaTileEntity.canSleep()) {
+            MetaTileEntitySleepScheduler.sleep(this);
+        }
+
         //increment only after current tick, so meta tile entities will get first tick as timer == 0
         //and update their settings which depend on getTimer() % N properly
         super.update();
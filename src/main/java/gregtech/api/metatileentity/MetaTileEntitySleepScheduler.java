@@ -0,0 +1,144 @@
+package gregtech.api.metatileentity;
+
+import gregtech.api.GTValues;
+import gregtech.common.ConfigHolder;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Takes the holders of idle MetaTileEntities out of the ticking tile entities of a server world, until they are woken up.
+ * <p>
+ * Sleeping holders are kept in a timer wheel by the tick they wake up at, so each tick only the holders due in that tick
+ * are visited. Holders are only removed from and added back to the world's ticking tile entities at the end of the world tick,
+ * in one batch, and a wake up requested before a holder was removed cancels its removal.
+ *
+ * @see MetaTileEntity#wakeUp()
+ */
+@EventBusSubscriber(modid = GTValues.MODID)
+public class MetaTileEntitySleepScheduler {
+
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private static final Map<World, MetaTileEntitySleepScheduler> schedulerPerWorld = new HashMap<>();
+
+    private final World world;
+    // the tick each sleeping holder wakes up at
+    private final Reference2LongMap<MetaTileEntityHolder> sleeping = new Reference2LongOpenHashMap<>();
+    @SuppressWarnings("unchecked")
+    private final List<MetaTileEntityHolder>[] wheel = new List[WHEEL_SIZE];
+    private final Set<MetaTileEntityHolder> pendingSleep = new ReferenceOpenHashSet<>();
+    private final Set<MetaTileEntityHolder> pendingWake = new ReferenceOpenHashSet<>();
+
+    private MetaTileEntitySleepScheduler(@Nonnull World world) {
+        this.world = world;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.wheel[i] = new ObjectArrayList<>();
+        }
+    }
+
+    /**
+     * Stops ticking a holder at the end of this tick, until it is woken up or the sleep time passed
+     *
+     * @param holder the holder to stop ticking
+     */
+    static void sleep(@Nonnull MetaTileEntityHolder holder) {
+        World world = holder.getWorld();
+        if (world == null || world.isRemote) return;
+        schedulerPerWorld.computeIfAbsent(world, MetaTileEntitySleepScheduler::new).pendingSleep.add(holder);
+    }
+
+    /**
+     * Ticks a sleeping holder again from the next tick on, or keeps it ticking if it was about to sleep
+     *
+     * @param holder the holder to wake up
+     */
+    static void wakeUp(@Nonnull MetaTileEntityHolder holder) {
+        MetaTileEntitySleepScheduler scheduler = schedulerPerWorld.get(holder.getWorld());
+        if (scheduler == null) return;
+        if (!scheduler.pendingSleep.remove(holder) && scheduler.sleeping.containsKey(holder)) {
+            scheduler.pendingWake.add(holder);
+        }
+    }
+
+    /**
+     * @param holder the holder to check
+     * @return if the holder is not ticked at the moment
+     */
+    static boolean isSleeping(@Nonnull MetaTileEntityHolder holder) {
+        MetaTileEntitySleepScheduler scheduler = schedulerPerWorld.get(holder.getWorld());
+        return scheduler != null && scheduler.sleeping.containsKey(holder) && !scheduler.pendingWake.contains(holder);
+    }
+
+    private void update() {
+        long time = world.getTotalWorldTime();
+
+        // holders may be present more than once when they were woken up early, so only wake up the ones due now
+        List<MetaTileEntityHolder> slot = wheel[(int) (time & WHEEL_MASK)];
+        int kept = 0;
+        for (int i = 0; i < slot.size(); i++) {
+            MetaTileEntityHolder holder = slot.get(i);
+            if (!sleeping.containsKey(holder)) continue;
+            long wakeTick = sleeping.getLong(holder);
+            if (wakeTick <= time) {
+                pendingWake.add(holder);
+            } else if ((wakeTick & WHEEL_MASK) == (time & WHEEL_MASK)) {
+                // sleeps for more than one turn of the wheel
+                slot.set(kept++, holder);
+            }
+        }
+        slot.subList(kept, slot.size()).clear();
+
+        if (!pendingWake.isEmpty()) {
+            for (MetaTileEntityHolder holder : pendingWake) {
+                sleeping.removeLong(holder);
+                // the holder may have been removed from the world, or replaced when its chunk was reloaded
+                if (!holder.isInvalid() && world.isBlockLoaded(holder.getPos(), false) && world.getTileEntity(holder.getPos()) == holder) {
+                    world.tickableTileEntities.add(holder);
+                }
+            }
+            pendingWake.clear();
+        }
+
+        if (!pendingSleep.isEmpty()) {
+            long sleepTicks = ConfigHolder.machines.machineSleepTicks;
+            for (MetaTileEntityHolder holder : pendingSleep) {
+                long wakeTick = time + sleepTicks;
+                sleeping.put(holder, wakeTick);
+                wheel[(int) (wakeTick & WHEEL_MASK)].add(holder);
+            }
+            world.tickableTileEntities.removeAll(pendingSleep);
+            pendingSleep.clear();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldTick(TickEvent.WorldTickEvent event) {
+        // the ticking tile entities must not be changed while the world iterates over them
+        if (event.world.isRemote || event.phase != TickEvent.Phase.END) return;
+        MetaTileEntitySleepScheduler scheduler = schedulerPerWorld.get(event.world);
+        if (scheduler != null) {
+            scheduler.update();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        if (!event.getWorld().isRemote) {
+            schedulerPerWorld.remove(event.getWorld());
+        }
+    }
+}
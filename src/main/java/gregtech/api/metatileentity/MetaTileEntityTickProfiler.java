@@ -0,0 +1,181 @@
+package gregtech.api.metatileentity;
+
+import gregtech.api.GTValues;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import javax.annotation.Nonnull;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Opt-in profiler recording the server tick times of every MetaTileEntity, split by its traits and covers.
+ * <p>
+ * Only every n-th server tick is sampled, and nothing is measured on the other ticks, so the profiler may be left running
+ * on a live server. The times are recorded per MetaTileEntity, and grouped by MetaTileEntity id or chunk when reported.
+ * Only to be used from the server thread.
+ */
+@EventBusSubscriber(modid = GTValues.MODID)
+public final class MetaTileEntityTickProfiler {
+
+    private static final Int2ObjectMap<Long2ObjectMap<MetaTileEntityTickStats>> statsPerDimension = new Int2ObjectOpenHashMap<>();
+
+    private static boolean enabled;
+    private static int sampleInterval = 1;
+    private static long ticks;
+    private static long sampledTicks;
+    private static boolean sampling;
+    // the stats of the MetaTileEntity being updated
+    private static MetaTileEntityTickStats current;
+
+    private MetaTileEntityTickProfiler() {/**/}
+
+    /**
+     * Discards the recorded times, and starts recording
+     *
+     * @param interval the amount of ticks between sampled ticks, 1 to sample every tick
+     */
+    public static void start(int interval) {
+        statsPerDimension.clear();
+        sampleInterval = Math.max(1, interval);
+        ticks = 0;
+        sampledTicks = 0;
+        enabled = true;
+    }
+
+    /**
+     * Stops recording, keeping the recorded times for reports
+     */
+    public static void stop() {
+        enabled = false;
+        sampling = false;
+        current = null;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return if the current server tick is measured
+     */
+    public static boolean isSampling() {
+        return sampling;
+    }
+
+    /**
+     * @return the amount of ticks measured since the profiler was started
+     */
+    public static long getSampledTicks() {
+        return sampledTicks;
+    }
+
+    static void beginUpdate(@Nonnull MetaTileEntityHolder holder) {
+        MetaTileEntity metaTileEntity = holder.getMetaTileEntity();
+        Long2ObjectMap<MetaTileEntityTickStats> stats = statsPerDimension.get(holder.getWorld().provider.getDimension());
+        if (stats == null) {
+            stats = new Long2ObjectOpenHashMap<>();
+            statsPerDimension.put(holder.getWorld().provider.getDimension(), stats);
+        }
+        long pos = holder.getPos().toLong();
+        MetaTileEntityTickStats machineStats = stats.get(pos);
+        if (machineStats == null) {
+            machineStats = new MetaTileEntityTickStats(metaTileEntity.metaTileEntityId.toString());
+            stats.put(pos, machineStats);
+        }
+        current = machineStats;
+    }
+
+    static void endUpdate(long nanos) {
+        if (current != null) {
+            current.addUpdate(nanos);
+            current = null;
+        }
+    }
+
+    /**
+     * Records the time of a part of the update of the MetaTileEntity being updated, if this tick is sampled
+     *
+     * @param part  the name of the part, like the name of a trait
+     * @param nanos the time the part took, in nanoseconds
+     */
+    public static void recordPart(@Nonnull String part, long nanos) {
+        if (current != null) {
+            current.addPart(part, nanos);
+        }
+    }
+
+    /**
+     * @param grouping how to group the recorded MetaTileEntities
+     * @return the recorded stats in the grouping, slowest first
+     */
+    @Nonnull
+    public static List<MetaTileEntityTickStats> getStats(@Nonnull Grouping grouping) {
+        Map<String, MetaTileEntityTickStats> grouped = new Object2ObjectOpenHashMap<>();
+        for (Int2ObjectMap.Entry<Long2ObjectMap<MetaTileEntityTickStats>> dimension : statsPerDimension.int2ObjectEntrySet()) {
+            for (Long2ObjectMap.Entry<MetaTileEntityTickStats> entry : dimension.getValue().long2ObjectEntrySet()) {
+                BlockPos pos = BlockPos.fromLong(entry.getLongKey());
+                String name = switch (grouping) {
+                    case MACHINE -> String.format("%s at %d, %d, %d in dimension %d", entry.getValue().getName(),
+                            pos.getX(), pos.getY(), pos.getZ(), dimension.getIntKey());
+                    case TYPE -> entry.getValue().getName();
+                    case CHUNK -> String.format("chunk %d, %d in dimension %d", pos.getX() >> 4, pos.getZ() >> 4, dimension.getIntKey());
+                };
+                grouped.computeIfAbsent(name, MetaTileEntityTickStats::new).merge(entry.getValue());
+            }
+        }
+        List<MetaTileEntityTickStats> list = new ArrayList<>(grouped.values());
+        list.sort(Comparator.comparingLong(MetaTileEntityTickStats::getTotalNanos).reversed());
+        return list;
+    }
+
+    /**
+     * Writes the recorded stats of every MetaTileEntity as CSV, with one row per MetaTileEntity
+     *
+     * @param writer the writer to write to
+     */
+    public static void writeCsv(@Nonnull PrintWriter writer) {
+        writer.println("dimension,x,y,z,chunk_x,chunk_z,id,ms_per_tick,total_ns,max_ns,updates,parts");
+        for (Int2ObjectMap.Entry<Long2ObjectMap<MetaTileEntityTickStats>> dimension : statsPerDimension.int2ObjectEntrySet()) {
+            for (Long2ObjectMap.Entry<MetaTileEntityTickStats> entry : dimension.getValue().long2ObjectEntrySet()) {
+                BlockPos pos = BlockPos.fromLong(entry.getLongKey());
+                MetaTileEntityTickStats stats = entry.getValue();
+                StringBuilder parts = new StringBuilder();
+                for (Object2LongMap.Entry<String> part : stats.getPartNanos().object2LongEntrySet()) {
+                    if (parts.length() > 0) parts.append(';');
+                    parts.append(part.getKey()).append('=').append(part.getLongValue());
+                }
+                writer.printf(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%s,%.6f,%d,%d,%d,%s%n", dimension.getIntKey(),
+                        pos.getX(), pos.getY(), pos.getZ(), pos.getX() >> 4, pos.getZ() >> 4, stats.getName(),
+                        stats.getMillisPerTick(sampledTicks), stats.getTotalNanos(), stats.getMaxNanos(), stats.getUpdates(), parts);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (!enabled || event.phase != TickEvent.Phase.START) return;
+        sampling = ticks++ % sampleInterval == 0;
+        if (sampling) {
+            sampledTicks++;
+        }
+    }
+
+    public enum Grouping {
+        MACHINE,
+        TYPE,
+        CHUNK
+    }
+}
@@ -0,0 +1,94 @@
+package gregtech.api.metatileentity;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Tick times recorded by the {@link MetaTileEntityTickProfiler}, for a single MetaTileEntity or a group of them.
+ * The time of an update is further split into the parts measured during it, like traits and covers.
+ */
+public class MetaTileEntityTickStats {
+
+    private final String name;
+    private long totalNanos;
+    private long maxNanos;
+    private int updates;
+    private final Object2LongMap<String> partNanos = new Object2LongOpenHashMap<>();
+
+    public MetaTileEntityTickStats(@Nonnull String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return what the stats were recorded for, like a MetaTileEntity id or a position
+     */
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    void addUpdate(long nanos) {
+        this.totalNanos += nanos;
+        this.updates++;
+        if (nanos > this.maxNanos) {
+            this.maxNanos = nanos;
+        }
+    }
+
+    void addPart(@Nonnull String part, long nanos) {
+        this.partNanos.put(part, this.partNanos.getLong(part) + nanos);
+    }
+
+    /**
+     * Adds the stats of another MetaTileEntity to these stats
+     *
+     * @param other the stats to add
+     */
+    public void merge(@Nonnull MetaTileEntityTickStats other) {
+        this.totalNanos += other.totalNanos;
+        this.updates += other.updates;
+        this.maxNanos = Math.max(this.maxNanos, other.maxNanos);
+        for (Object2LongMap.Entry<String> entry : other.partNanos.object2LongEntrySet()) {
+            addPart(entry.getKey(), entry.getLongValue());
+        }
+    }
+
+    /**
+     * @return the total time of all recorded updates, in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return the time of the slowest recorded update of a single MetaTileEntity, in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * @return the amount of recorded updates
+     */
+    public int getUpdates() {
+        return updates;
+    }
+
+    /**
+     * @return the total time of each measured part of the updates, in nanoseconds
+     */
+    @Nonnull
+    public Object2LongMap<String> getPartNanos() {
+        return partNanos;
+    }
+
+    /**
+     * @param sampledTicks the amount of ticks the stats were recorded over
+     * @return the average time spent per tick, in milliseconds
+     */
+    public double getMillisPerTick(long sampledTicks) {
+        return sampledTicks == 0 ? 0 : totalNanos / 1_000_000.0 / sampledTicks;
+    }
+}
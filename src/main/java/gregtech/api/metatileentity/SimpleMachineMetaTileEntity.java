@@ -22,6 +22,7 @@ import gregtech.api.util.GTUtility;
 import gregtech.client.renderer.ICubeRenderer;
 import gregtech.client.renderer.texture.Textures;
 import gregtech.client.utils.RenderUtil;
+import gregtech.common.ConfigHolder;
 import net.minecraft.client.resources.I18n;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
@@ -81,7 +82,12 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity im
                                        Function<Integer, Integer> tankScalingFunction) {
         super(metaTileEntityId, recipeMap, renderer, tier, tankScalingFunction);
         this.hasFrontFacing = hasFrontFacing;
-        this.chargerInventory = new ItemStackHandler(1);
+        this.chargerInventory = new ItemStackHandler(1) {
+            @Override
+            protected void onContentsChanged(int slot) {
+                markDirty();
+            }
+        };
     }
 
     @Override
@@ -184,6 +190,29 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity im
         }
     }
 
+    @Override
+    protected boolean isIdle() {
+        if (!chargerInventory.getStackInSlot(0).isEmpty()) return false;
+        if (ConfigHolder.machines.doTerrainExplosion && !getIsWeatherOrTerrainResistant() && energyContainer.getEnergyStored() != 0) {
+            return false;
+        }
+        return !(isAutoOutputItems() && hasItemsToOutput()) && !(isAutoOutputFluids() && hasFluidsToOutput());
+    }
+
+    private boolean hasItemsToOutput() {
+        for (int i = 0; i < exportItems.getSlots(); i++) {
+            if (!exportItems.getStackInSlot(i).isEmpty()) return true;
+        }
+        return false;
+    }
+
+    private boolean hasFluidsToOutput() {
+        for (int i = 0; i < exportFluids.getTanks(); i++) {
+            if (exportFluids.getTankAt(i).getFluidAmount() > 0) return true;
+        }
+        return false;
+    }
+
     @Override
     public boolean onScrewdriverClick(EntityPlayer playerIn, EnumHand hand, EnumFacing facing, CuboidRayTraceResult hitResult) {
         if (!getWorld().isRemote) {
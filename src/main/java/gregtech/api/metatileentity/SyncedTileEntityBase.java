@@ -1,18 +1,16 @@
 package gregtech.api.metatileentity;
 
 import gregtech.api.block.BlockStateTileEntity;
+import gregtech.core.network.CustomDataBatcher;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import net.minecraft.block.state.IBlockState;
-import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.nbt.NBTTagList;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.network.play.server.SPacketUpdateTileEntity;
-import net.minecraftforge.common.util.Constants;
 
 import javax.annotation.Nonnull;
 import java.util.Arrays;
@@ -26,16 +24,81 @@ public abstract class SyncedTileEntityBase extends BlockStateTileEntity {
 
     public abstract void receiveCustomData(int discriminator, PacketBuffer buf);
 
+    private static final ThreadLocal<ByteBuf> UPDATE_BUFFER = ThreadLocal.withInitial(Unpooled::buffer);
+
     protected final Int2ObjectMap<byte[]> updates = new Int2ObjectArrayMap<>(5);
 
     public void writeCustomData(int discriminator, Consumer<PacketBuffer> dataWriter) {
-        ByteBuf backedBuffer = Unpooled.buffer();
-        dataWriter.accept(new PacketBuffer(backedBuffer));
-        byte[] updateData = Arrays.copyOfRange(backedBuffer.array(), 0, backedBuffer.writerIndex());
+        ByteBuf backedBuffer = UPDATE_BUFFER.get();
+        if (backedBuffer.writerIndex() != 0) {
+            // the buffer is in use by an enclosing call
+            backedBuffer = Unpooled.buffer();
+        }
+        byte[] updateData;
+        try {
+            dataWriter.accept(new PacketBuffer(backedBuffer));
+            updateData = Arrays.copyOfRange(backedBuffer.array(), 0, backedBuffer.writerIndex());
+        } finally {
+            backedBuffer.clear();
+        }
         updates.put(discriminator, updateData);
-        @SuppressWarnings("deprecation")
-        IBlockState blockState = getBlockType().getStateFromMeta(getBlockMetadata());
-        world.notifyBlockUpdate(getPos(), blockState, blockState, 0);
+        if (world.isRemote) {
+            @SuppressWarnings("deprecation")
+            IBlockState blockState = getBlockType().getStateFromMeta(getBlockMetadata());
+            world.notifyBlockUpdate(getPos(), blockState, blockState, 0);
+        } else {
+            CustomDataBatcher.queue(world, getPos());
+        }
+    }
+
+    /**
+     * @return if there is custom data which was not sent yet
+     */
+    public boolean hasCustomDataUpdates() {
+        return !updates.isEmpty();
+    }
+
+    /**
+     * Drops all custom data which was not sent yet
+     */
+    public void clearCustomDataUpdates() {
+        this.updates.clear();
+    }
+
+    /**
+     * Writes all custom data which was not sent yet, and clears it.
+     * Each entry is written as its discriminator and length as varints, followed by its data.
+     */
+    public void writeCustomDataUpdates(PacketBuffer buf) {
+        buf.writeVarInt(updates.size());
+        for (Int2ObjectMap.Entry<byte[]> entry : updates.int2ObjectEntrySet()) {
+            buf.writeVarInt(entry.getIntKey());
+            buf.writeByteArray(entry.getValue());
+        }
+        this.updates.clear();
+    }
+
+    /**
+     * Reads the custom data written by {@link #writeCustomDataUpdates(PacketBuffer)}
+     */
+    public void receiveCustomDataUpdates(PacketBuffer buf) {
+        int amount = buf.readVarInt();
+        for (int i = 0; i < amount; i++) {
+            int discriminator = buf.readVarInt();
+            ByteBuf entryBuffer = buf.readSlice(buf.readVarInt());
+            receiveCustomData(discriminator, new PacketBuffer(entryBuffer));
+        }
+    }
+
+    /**
+     * Skips the custom data written by {@link #writeCustomDataUpdates(PacketBuffer)}
+     */
+    public static void skipCustomDataUpdates(PacketBuffer buf) {
+        int amount = buf.readVarInt();
+        for (int i = 0; i < amount; i++) {
+            buf.readVarInt();
+            buf.skipBytes(buf.readVarInt());
+        }
     }
 
     @Override
@@ -43,29 +106,18 @@ public abstract class SyncedTileEntityBase extends BlockStateTileEntity {
         if (this.updates.isEmpty()) {
             return null;
         }
+        // requested by vanilla together with a block change, before the batched custom data is sent
+        PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        writeCustomDataUpdates(buf);
         NBTTagCompound updateTag = new NBTTagCompound();
-        NBTTagList listTag = new NBTTagList();
-        for (Int2ObjectMap.Entry<byte[]> entry : updates.int2ObjectEntrySet()) {
-            NBTTagCompound entryTag = new NBTTagCompound();
-            entryTag.setByteArray(Integer.toString(entry.getIntKey()), entry.getValue());
-            listTag.appendTag(entryTag);
-        }
-        updateTag.setTag("d", listTag);
-        this.updates.clear();
+        updateTag.setByteArray("d", Arrays.copyOfRange(buf.array(), 0, buf.writerIndex()));
         return new SPacketUpdateTileEntity(getPos(), 0, updateTag);
     }
 
     @Override
     public void onDataPacket(@Nonnull NetworkManager net, SPacketUpdateTileEntity pkt) {
-        NBTTagCompound updateTag = pkt.getNbtCompound();
-        NBTTagList listTag = updateTag.getTagList("d", Constants.NBT.TAG_COMPOUND);
-        for (NBTBase entryBase : listTag) {
-            NBTTagCompound entryTag = (NBTTagCompound) entryBase;
-            for (String discriminatorKey : entryTag.getKeySet()) {
-                ByteBuf backedBuffer = Unpooled.copiedBuffer(entryTag.getByteArray(discriminatorKey));
-                receiveCustomData(Integer.parseInt(discriminatorKey), new PacketBuffer(backedBuffer));
-            }
-        }
+        byte[] updateData = pkt.getNbtCompound().getByteArray("d");
+        receiveCustomDataUpdates(new PacketBuffer(Unpooled.wrappedBuffer(updateData)));
     }
 
     @Nonnull
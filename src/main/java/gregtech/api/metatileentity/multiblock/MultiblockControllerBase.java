@@ -60,6 +60,9 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
     private final Map<MultiblockAbility<Object>, List<Object>> multiblockAbilities = new HashMap<>();
     private final List<IMultiblockPart> multiblockParts = new ArrayList<>();
     private boolean structureFormed;
+    // if a block of the formed structure may have changed since it was last checked
+    private boolean structureDirty = true;
+    private boolean structureIndexed;
 
     public MultiblockControllerBase(ResourceLocation metaTileEntityId) {
         super(metaTileEntityId);
@@ -80,7 +83,12 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
         super.update();
         if (!getWorld().isRemote) {
             if (getOffsetTimer() % 20 == 0 || isFirstTick()) {
-                checkStructurePattern();
+                // formed and indexed structures are only checked again when one of their blocks changed,
+                // or after a while, for changes which notify nothing
+                if (!structureFormed || structureDirty || !structureIndexed ||
+                        getOffsetTimer() % MultiblockStructureIndex.FULL_CHECK_INTERVAL == 0) {
+                    checkStructurePattern();
+                }
             }
             // DummyWorld is the world for the JEI preview. We do not want to update the Multi in this world,
             // besides initially forming it in checkStructurePattern
@@ -236,8 +244,16 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
         return BlockPos::hashCode;
     }
 
+    /**
+     * Marks the structure to be checked again on the next structure check, as one of its blocks changed
+     */
+    public void markStructureDirty() {
+        this.structureDirty = true;
+    }
+
     public void checkStructurePattern() {
         if (structurePattern == null) return;
+        this.structureDirty = false;
         PatternMatchContext context = structurePattern.checkPatternFastAt(getWorld(), getPos(), getFrontFacing().getOpposite());
         if (context != null && !structureFormed) {
             Set<IMultiblockPart> rawPartsSet = context.getOrCreate("MultiblockParts", HashSet::new);
@@ -265,8 +281,30 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
             this.structureFormed = true;
             writeCustomData(STRUCTURE_FORMED, buf -> buf.writeBoolean(true));
             formStructure(context);
+            indexStructure();
         } else if (context == null && structureFormed) {
             invalidateStructure();
+        } else if (context != null) {
+            // the blocks of the structure may have been checked again
+            indexStructure();
+        }
+    }
+
+    private void indexStructure() {
+        MultiblockStructureIndex index = MultiblockStructureIndex.get(getWorld());
+        if (index != null && structurePattern != null) {
+            index.index(this, structurePattern.cache.keySet());
+            this.structureIndexed = true;
+        }
+    }
+
+    private void removeStructureIndex() {
+        if (structureIndexed) {
+            MultiblockStructureIndex index = MultiblockStructureIndex.get(getWorld());
+            if (index != null) {
+                index.remove(this);
+            }
+            this.structureIndexed = false;
         }
     }
 
@@ -274,6 +312,7 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
     }
 
     public void invalidateStructure() {
+        removeStructureIndex();
         this.multiblockParts.forEach(part -> part.removeFromMultiBlock(this));
         this.multiblockAbilities.clear();
         this.multiblockParts.clear();
@@ -289,6 +328,14 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
         }
     }
 
+    @Override
+    public void onUnload() {
+        super.onUnload();
+        if (!getWorld().isRemote) {
+            removeStructureIndex();
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public <T> List<T> getAbilities(MultiblockAbility<T> ability) {
         List<T> rawList = (List<T>) multiblockAbilities.getOrDefault(ability, Collections.emptyList());
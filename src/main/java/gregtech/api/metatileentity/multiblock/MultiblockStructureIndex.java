@@ -0,0 +1,222 @@
+package gregtech.api.metatileentity.multiblock;
+
+import gregtech.api.GTValues;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the block positions of formed multiblock structures to their controllers, for a server world.
+ * <p>
+ * A block change at an indexed position, a GregTech tile entity there being replaced, or a chunk containing one
+ * being loaded or unloaded, marks the controllers including it as dirty, so formed structures are only checked again
+ * when they may have changed. Changes which notify nothing, like block states set without notifying clients or
+ * tile entities of other mods being replaced, are caught by the full check every
+ * {@link #FULL_CHECK_INTERVAL} ticks.
+ */
+@EventBusSubscriber(modid = GTValues.MODID)
+public class MultiblockStructureIndex implements IWorldEventListener {
+
+    /**
+     * The interval in ticks formed structures are checked at even if none of their blocks reported a change
+     */
+    public static final int FULL_CHECK_INTERVAL = 600;
+
+    private static final Map<World, MultiblockStructureIndex> indexPerWorld = new HashMap<>();
+
+    private final Long2ObjectMap<List<MultiblockControllerBase>> controllersByPos = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<List<MultiblockControllerBase>> controllersByChunk = new Long2ObjectOpenHashMap<>();
+    private final Map<MultiblockControllerBase, long[]> positionsByController = new IdentityHashMap<>();
+    private final Map<MultiblockControllerBase, long[]> chunksByController = new IdentityHashMap<>();
+
+    /**
+     * @return the index of the world, or null if the world has no index, like client worlds
+     */
+    @Nullable
+    public static MultiblockStructureIndex get(World world) {
+        return indexPerWorld.get(world);
+    }
+
+    /**
+     * Indexes the positions of a formed structure, replacing the positions indexed for the controller before
+     *
+     * @param controller the controller of the structure
+     * @param positions  the positions of the structure's blocks, as returned by {@link BlockPos#toLong()}
+     */
+    public void index(MultiblockControllerBase controller, LongCollection positions) {
+        remove(controller);
+        LongArrayList chunks = new LongArrayList();
+        for (LongIterator iterator = positions.iterator(); iterator.hasNext(); ) {
+            long pos = iterator.nextLong();
+            add(controllersByPos, pos, controller);
+            long chunk = ChunkPos.asLong(BlockPos.fromLong(pos).getX() >> 4, BlockPos.fromLong(pos).getZ() >> 4);
+            if (!chunks.contains(chunk)) {
+                chunks.add(chunk);
+                add(controllersByChunk, chunk, controller);
+            }
+        }
+        positionsByController.put(controller, positions.toLongArray());
+        chunksByController.put(controller, chunks.toLongArray());
+    }
+
+    /**
+     * Removes all positions indexed for a controller
+     */
+    public void remove(MultiblockControllerBase controller) {
+        long[] positions = positionsByController.remove(controller);
+        if (positions == null) return;
+        for (long pos : positions) {
+            removeFrom(controllersByPos, pos, controller);
+        }
+        for (long chunk : chunksByController.remove(controller)) {
+            removeFrom(controllersByChunk, chunk, controller);
+        }
+    }
+
+    private static void add(Long2ObjectMap<List<MultiblockControllerBase>> map, long key, MultiblockControllerBase controller) {
+        List<MultiblockControllerBase> controllers = map.get(key);
+        if (controllers == null) {
+            controllers = new ObjectArrayList<>(1);
+            map.put(key, controllers);
+        }
+        controllers.add(controller);
+    }
+
+    private static void removeFrom(Long2ObjectMap<List<MultiblockControllerBase>> map, long key, MultiblockControllerBase controller) {
+        List<MultiblockControllerBase> controllers = map.get(key);
+        if (controllers == null) return;
+        controllers.remove(controller);
+        if (controllers.isEmpty()) {
+            map.remove(key);
+        }
+    }
+
+    private static void markDirty(Long2ObjectMap<List<MultiblockControllerBase>> map, long key) {
+        List<MultiblockControllerBase> controllers = map.get(key);
+        if (controllers == null) return;
+        for (int i = 0; i < controllers.size(); i++) {
+            controllers.get(i).markStructureDirty();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldLoad(WorldEvent.Load event) {
+        World world = event.getWorld();
+        if (!world.isRemote) {
+            MultiblockStructureIndex index = new MultiblockStructureIndex();
+            indexPerWorld.put(world, index);
+            world.addEventListener(index);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        MultiblockStructureIndex index = indexPerWorld.remove(event.getWorld());
+        if (index != null) {
+            event.getWorld().removeEventListener(index);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        onChunkChanged(event.getWorld(), event.getChunk().x, event.getChunk().z);
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        onChunkChanged(event.getWorld(), event.getChunk().x, event.getChunk().z);
+    }
+
+    /**
+     * Marks the controllers including a position as dirty, as the tile entity there was added or removed
+     */
+    public static void onTileEntityChanged(@Nullable World world, BlockPos pos) {
+        if (world == null || world.isRemote) return;
+        MultiblockStructureIndex index = get(world);
+        if (index != null) {
+            markDirty(index.controllersByPos, pos.toLong());
+        }
+    }
+
+    private static void onChunkChanged(World world, int chunkX, int chunkZ) {
+        // the tile entities of the chunk are replaced or gone
+        MultiblockStructureIndex index = get(world);
+        if (index != null) {
+            markDirty(index.controllersByChunk, ChunkPos.asLong(chunkX, chunkZ));
+        }
+    }
+
+    @Override
+    public void notifyBlockUpdate(@Nonnull World worldIn, @Nonnull BlockPos pos, @Nonnull IBlockState oldState, @Nonnull IBlockState newState, int flags) {
+        if (oldState != newState) {
+            markDirty(controllersByPos, pos.toLong());
+        }
+    }
+
+    @Override
+    public void notifyLightSet(@Nonnull BlockPos pos) {
+    }
+
+    @Override
+    public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+    }
+
+    @Override
+    public void playSoundToAllNearExcept(@Nullable EntityPlayer player, @Nonnull SoundEvent soundIn, @Nonnull SoundCategory category, double x, double y, double z, float volume, float pitch) {
+    }
+
+    @Override
+    public void playRecord(@Nonnull SoundEvent soundIn, @Nonnull BlockPos pos) {
+    }
+
+    @Override
+    public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord, double xSpeed, double ySpeed, double zSpeed, @Nonnull int... parameters) {
+    }
+
+    @Override
+    public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, @Nonnull int... parameters) {
+    }
+
+    @Override
+    public void onEntityAdded(@Nonnull Entity entityIn) {
+    }
+
+    @Override
+    public void onEntityRemoved(@Nonnull Entity entityIn) {
+    }
+
+    @Override
+    public void broadcastSound(int soundID, @Nonnull BlockPos pos, int data) {
+    }
+
+    @Override
+    public void playEvent(@Nullable EntityPlayer player, int type, @Nonnull BlockPos blockPosIn, int data) {
+    }
+
+    @Override
+    public void sendBlockBreakProgress(int breakerId, @Nonnull BlockPos pos, int progress) {
+    }
+}
@@ -13,6 +13,7 @@ import gregtech.api.capability.impl.FluidTankList;
 import gregtech.api.capability.impl.ItemHandlerList;
 import gregtech.api.capability.impl.MultiblockRecipeLogic;
 import gregtech.api.metatileentity.IDataInfoProvider;
+import gregtech.api.metatileentity.MetaTileEntityTickProfiler;
 import gregtech.api.pattern.PatternMatchContext;
 import gregtech.api.pattern.TraceabilityPredicate;
 import gregtech.api.recipes.Recipe;
@@ -106,7 +107,13 @@ public abstract class RecipeMapMultiblockController extends MultiblockWithDispla
     @Override
     protected void updateFormedValid() {
         if (!hasMufflerMechanics() || isMufflerFaceFree()){
-            this.recipeMapWorkable.updateWorkable();
+            if (MetaTileEntityTickProfiler.isSampling() && !getWorld().isRemote) {
+                long startTime = System.nanoTime();
+                this.recipeMapWorkable.updateWorkable();
+                MetaTileEntityTickProfiler.recordPart(recipeMapWorkable.getName(), System.nanoTime() - startTime);
+            } else {
+                this.recipeMapWorkable.updateWorkable();
+            }
         }
     }
 
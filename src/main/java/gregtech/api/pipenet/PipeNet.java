@@ -2,13 +2,18 @@ package gregtech.api.pipenet;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.BlockPos.MutableBlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.Constants.NBT;
@@ -20,9 +25,11 @@ import java.util.Map.Entry;
 public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCompound> {
 
     protected final WorldPipeNet<NodeDataType, PipeNet<NodeDataType>> worldData;
-    private final Map<BlockPos, Node<NodeDataType>> nodeByBlockPos = new HashMap<>();
-    private final Map<BlockPos, Node<NodeDataType>> unmodifiableNodeByBlockPos = Collections.unmodifiableMap(nodeByBlockPos);
-    private final Map<ChunkPos, Integer> ownedChunks = new HashMap<>();
+    // the nodes by BlockPos#toLong(), so the net can be searched without creating and hashing BlockPos instances
+    private final Long2ObjectMap<Node<NodeDataType>> nodeByLongPos = new Long2ObjectOpenHashMap<>();
+    private final Map<BlockPos, Node<NodeDataType>> nodeByBlockPos = new NodeMapView();
+    // the amount of nodes in each chunk, by ChunkPos#asLong(int, int)
+    private final Long2IntMap ownedChunks = new Long2IntOpenHashMap();
     private long lastUpdate;
     boolean isValid = false;
 
@@ -31,8 +38,15 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         this.worldData = (WorldPipeNet<NodeDataType, PipeNet<NodeDataType>>) world;
     }
 
+    /**
+     * @return a copy of the chunks containing nodes of this net
+     */
     public Set<ChunkPos> getContainedChunks() {
-        return Collections.unmodifiableSet(ownedChunks.keySet());
+        Set<ChunkPos> chunks = new ObjectOpenHashSet<>(ownedChunks.size());
+        for (long chunk : ownedChunks.keySet()) {
+            chunks.add(new ChunkPos((int) chunk, (int) (chunk >>> 32)));
+        }
+        return chunks;
     }
 
     public World getWorldData() {
@@ -60,23 +74,38 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
     public void onPipeConnectionsUpdate() {
     }
 
+    /**
+     * Is called when a single connection of a pipe in the net changes.
+     * Defaults to {@link #onPipeConnectionsUpdate()}, override to only update what the connection affects.
+     *
+     * @param nodePos   the position of the pipe
+     * @param side      the side of the changed connection
+     * @param connected if the side is connected now
+     */
+    public void onPipeConnectionsUpdate(BlockPos nodePos, EnumFacing side, boolean connected) {
+        onPipeConnectionsUpdate();
+    }
+
     public void onNeighbourUpdate(BlockPos fromPos) {
     }
 
+    /**
+     * @return an unmodifiable view of the nodes of this net, creating the BlockPos keys while iterating
+     */
     public Map<BlockPos, Node<NodeDataType>> getAllNodes() {
-        return unmodifiableNodeByBlockPos;
+        return nodeByBlockPos;
     }
 
     public Node<NodeDataType> getNodeAt(BlockPos blockPos) {
-        return nodeByBlockPos.get(blockPos);
+        return nodeByLongPos.get(blockPos.toLong());
     }
 
     public boolean containsNode(BlockPos blockPos) {
-        return nodeByBlockPos.containsKey(blockPos);
+        return nodeByLongPos.containsKey(blockPos.toLong());
     }
 
     protected void addNodeSilently(BlockPos nodePos, Node<NodeDataType> node) {
-        this.nodeByBlockPos.put(nodePos, node);
+        this.nodeByLongPos.put(nodePos.toLong(), node);
         checkAddedInChunk(nodePos);
     }
 
@@ -87,35 +116,38 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
     }
 
     protected Node<NodeDataType> removeNodeWithoutRebuilding(BlockPos nodePos) {
-        Node<NodeDataType> removedNode = this.nodeByBlockPos.remove(nodePos);
+        Node<NodeDataType> removedNode = this.nodeByLongPos.remove(nodePos.toLong());
         ensureRemovedFromChunk(nodePos);
         worldData.markDirty();
         return removedNode;
     }
 
     protected void removeNode(BlockPos nodePos) {
-        if (nodeByBlockPos.containsKey(nodePos)) {
+        if (containsNode(nodePos)) {
             Node<NodeDataType> selfNode = removeNodeWithoutRebuilding(nodePos);
             rebuildNetworkOnNodeRemoval(nodePos, selfNode);
         }
     }
 
     protected void checkAddedInChunk(BlockPos nodePos) {
-        ChunkPos chunkPos = new ChunkPos(nodePos);
-        int newValue = this.ownedChunks.compute(chunkPos, (pos, old) -> (old == null ? 0 : old) + 1);
+        long chunk = ChunkPos.asLong(nodePos.getX() >> 4, nodePos.getZ() >> 4);
+        int newValue = this.ownedChunks.get(chunk) + 1;
+        this.ownedChunks.put(chunk, newValue);
         if (newValue == 1 && isValid()) {
-            this.worldData.addPipeNetToChunk(chunkPos, this);
+            this.worldData.addPipeNetToChunk(new ChunkPos(nodePos), this);
         }
     }
 
     protected void ensureRemovedFromChunk(BlockPos nodePos) {
-        ChunkPos chunkPos = new ChunkPos(nodePos);
-        int newValue = this.ownedChunks.compute(chunkPos, (pos, old) -> old == null ? 0 : old - 1);
-        if (newValue == 0) {
-            this.ownedChunks.remove(chunkPos);
+        long chunk = ChunkPos.asLong(nodePos.getX() >> 4, nodePos.getZ() >> 4);
+        int newValue = this.ownedChunks.get(chunk) - 1;
+        if (newValue <= 0) {
+            this.ownedChunks.remove(chunk);
             if (isValid()) {
-                this.worldData.removePipeNetFromChunk(chunkPos, this);
+                this.worldData.removePipeNetFromChunk(new ChunkPos(nodePos), this);
             }
+        } else {
+            this.ownedChunks.put(chunk, newValue);
         }
     }
 
@@ -144,17 +176,9 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
                 //need to unblock node before doing canNodesConnectCheck
                 setBlocked(selfNode, facing, false);
                 if (canNodesConnect(selfNode, facing, getNodeAt(offsetPos), this)) {
-                    //now block again to call findAllConnectedBlocks
+                    //now block again, and split network into 2 if the nodes are no longer connected in another way
                     setBlocked(selfNode, facing, true);
-                    HashMap<BlockPos, Node<NodeDataType>> thisENet = findAllConnectedBlocks(nodePos);
-                    if (!getAllNodes().equals(thisENet)) {
-                        //node visibility has changed, split network into 2
-                        //node that code below is similar to removeNodeInternal, but only for 2 networks, and without node removal
-                        PipeNet<NodeDataType> newPipeNet = worldData.createNetInstance();
-                        thisENet.keySet().forEach(this::removeNodeWithoutRebuilding);
-                        newPipeNet.transferNodeData(thisENet, this);
-                        worldData.addPipeNet(newPipeNet);
-                    }
+                    splitDisconnectedParts(new long[]{nodePos.toLong(), offsetPos.toLong()}, 2);
                 }
             }
             //there is another network on that side
@@ -178,10 +202,13 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         if (!containsNode(nodePos)) {
             return;
         }
-        HashMap<BlockPos, Node<NodeDataType>> selfConnectedBlocks = null;
         Node<NodeDataType> selfNode = getNodeAt(nodePos);
         int oldMark = selfNode.mark;
         selfNode.mark = newMark;
+        //the node and its neighbours in this network it can't connect to anymore
+        long[] disconnectedPositions = new long[EnumFacing.VALUES.length + 1];
+        disconnectedPositions[0] = nodePos.toLong();
+        int disconnectedCount = 1;
         for (EnumFacing facing : EnumFacing.VALUES) {
             BlockPos offsetPos = nodePos.offset(facing);
             PipeNet<NodeDataType> otherPipeNet = worldData.getNetFromPos(offsetPos);
@@ -201,26 +228,11 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
                 }
                 //marks are incompatible now, and this net is connected with it
             } else if (otherPipeNet == this) {
-                //search connected nodes from newly marked node
-                //populate self connected blocks lazily only once
-                if (selfConnectedBlocks == null) {
-                    selfConnectedBlocks = findAllConnectedBlocks(nodePos);
-                }
-                if (getAllNodes().equals(selfConnectedBlocks)) {
-                    continue; //if this node is still connected to this network, just continue
-                }
-                //otherwise, it is not connected
-                HashMap<BlockPos, Node<NodeDataType>> offsetConnectedBlocks = findAllConnectedBlocks(offsetPos);
-                //if in the result of remarking offset node has separated from main network,
-                //and it is also separated from current cable too, form new network for it
-                if (!offsetConnectedBlocks.equals(selfConnectedBlocks)) {
-                    offsetConnectedBlocks.keySet().forEach(this::removeNodeWithoutRebuilding);
-                    PipeNet<NodeDataType> offsetPipeNet = worldData.createNetInstance();
-                    offsetPipeNet.transferNodeData(offsetConnectedBlocks, this);
-                    worldData.addPipeNet(offsetPipeNet);
-                }
+                disconnectedPositions[disconnectedCount++] = offsetPos.toLong();
             }
         }
+        //form new networks for the nodes which were only connected through the remarked node
+        splitDisconnectedParts(disconnectedPositions, disconnectedCount);
         onNodeConnectionsUpdate();
         worldData.markDirty();
     }
@@ -272,65 +284,32 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
     //we need to search only this network
     protected HashMap<BlockPos, Node<NodeDataType>> findAllConnectedBlocks(BlockPos startPos) {
         HashMap<BlockPos, Node<NodeDataType>> observedSet = new HashMap<>();
-        observedSet.put(startPos, getNodeAt(startPos));
-        Node<NodeDataType> firstNode = getNodeAt(startPos);
-        MutableBlockPos currentPos = new MutableBlockPos(startPos);
-        Deque<EnumFacing> moveStack = new ArrayDeque<>();
-        main:
-        while (true) {
-            for (EnumFacing facing : EnumFacing.VALUES) {
-                currentPos.move(facing);
-                Node<NodeDataType> secondNode = getNodeAt(currentPos);
-                //if there is node, and it can connect with previous node, add it to list, and set previous node as current
-                if (secondNode != null && canNodesConnect(firstNode, facing, secondNode, this) && !observedSet.containsKey(currentPos)) {
-                    observedSet.put(currentPos.toImmutable(), getNodeAt(currentPos));
-                    firstNode = secondNode;
-                    moveStack.push(facing.getOpposite());
-                    continue main;
-                } else currentPos.move(facing.getOpposite());
-            }
-            if (!moveStack.isEmpty()) {
-                currentPos.move(moveStack.pop());
-                firstNode = getNodeAt(currentPos);
-            } else break;
+        Long2IntMap labels = new Long2IntOpenHashMap();
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        labels.put(startPos.toLong(), 0);
+        queue.enqueue(startPos.toLong());
+        while (!queue.isEmpty()) {
+            long pos = queue.dequeueLong();
+            observedSet.put(BlockPos.fromLong(pos), nodeByLongPos.get(pos));
+            visitConnectedNodes(pos, 0, labels, queue, null);
         }
         return observedSet;
     }
 
     //called when node is removed to rebuild network
     protected void rebuildNetworkOnNodeRemoval(BlockPos nodePos, Node<NodeDataType> selfNode) {
-        int amountOfConnectedSides = 0;
-        for (EnumFacing facing : EnumFacing.values()) {
+        long[] connectedPositions = new long[EnumFacing.VALUES.length];
+        int connectedCount = 0;
+        for (EnumFacing facing : EnumFacing.VALUES) {
             BlockPos offsetPos = nodePos.offset(facing);
-            if (containsNode(offsetPos))
-                amountOfConnectedSides++;
-        }
-        //if we are connected only on one side or not connected at all, we don't need to find connected blocks
-        //because they are only on on side or doesn't exist at all
-        //this saves a lot of performance in big networks, which are quite big to depth-first them fastly
-        if (amountOfConnectedSides >= 2) {
-            for (EnumFacing facing : EnumFacing.VALUES) {
-                BlockPos offsetPos = nodePos.offset(facing);
-                Node<NodeDataType> secondNode = getNodeAt(offsetPos);
-                if (secondNode == null || !canNodesConnect(selfNode, facing, secondNode, this)) {
-                    //if there isn't any neighbour node, or it wasn't connected with us, just skip it
-                    continue;
-                }
-                HashMap<BlockPos, Node<NodeDataType>> thisENet = findAllConnectedBlocks(offsetPos);
-                if (getAllNodes().equals(thisENet)) {
-                    //if cable on some direction contains all nodes of this network
-                    //the network didn't change so keep it as is
-                    break;
-                } else {
-                    //and use them to create new network with caching active nodes set
-                    PipeNet<NodeDataType> energyNet = worldData.createNetInstance();
-                    //remove blocks that aren't connected with this network
-                    thisENet.keySet().forEach(this::removeNodeWithoutRebuilding);
-                    energyNet.transferNodeData(thisENet, this);
-                    worldData.addPipeNet(energyNet);
-                }
+            Node<NodeDataType> secondNode = getNodeAt(offsetPos);
+            //if there isn't any neighbour node, or it wasn't connected with us, just skip it
+            if (secondNode != null && canNodesConnect(selfNode, facing, secondNode, this)) {
+                connectedPositions[connectedCount++] = offsetPos.toLong();
             }
         }
+        //if we were connected only on one side or not connected at all, the network can't have split
+        splitDisconnectedParts(connectedPositions, connectedCount);
         if (getAllNodes().isEmpty()) {
             //if this energy net is empty now, remove it
             worldData.removePipeNet(this);
@@ -339,6 +318,151 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         worldData.markDirty();
     }
 
+    /**
+     * Moves the parts of this network which are no longer connected to each other into new networks,
+     * after connections between the given nodes were removed.
+     * <p>
+     * The parts are searched from all given nodes at once, one node per part at a time, and parts meeting each other are joined.
+     * The search ends when at most one part can still grow, so it only visits the parts which are split off,
+     * and about as many nodes of the part staying in this network, instead of the whole network for every given node.
+     *
+     * @param positions the positions of the nodes which may no longer be connected, as returned by {@link BlockPos#toLong()}
+     * @param count     the amount of positions
+     */
+    private void splitDisconnectedParts(long[] positions, int count) {
+        if (count < 2) return;
+        Long2IntMap labels = new Long2IntOpenHashMap();
+        labels.defaultReturnValue(-1);
+        LongArrayFIFOQueue[] queues = new LongArrayFIFOQueue[count];
+        //union-find of the searches which met each other
+        int[] parents = new int[count];
+        for (int i = 0; i < count; i++) {
+            parents[i] = i;
+            queues[i] = new LongArrayFIFOQueue();
+            int label = labels.get(positions[i]);
+            if (label == -1) {
+                labels.put(positions[i], i);
+                queues[i].enqueue(positions[i]);
+            } else {
+                parents[i] = findRoot(parents, label);
+            }
+        }
+
+        while (countGrowingParts(queues, parents) > 1) {
+            for (int i = 0; i < count; i++) {
+                if (!queues[i].isEmpty()) {
+                    visitConnectedNodes(queues[i].dequeueLong(), i, labels, queues[i], parents);
+                }
+            }
+        }
+
+        //the parts which were searched completely, by the root of their searches
+        Int2ObjectMap<HashMap<BlockPos, Node<NodeDataType>>> parts = new Int2ObjectOpenHashMap<>();
+        int keptPart = -1;
+        for (int i = 0; i < count; i++) {
+            int root = findRoot(parents, i);
+            if (root != i) continue;
+            boolean growing = false;
+            for (int j = 0; j < count; j++) {
+                if (!queues[j].isEmpty() && findRoot(parents, j) == root) {
+                    growing = true;
+                    break;
+                }
+            }
+            if (growing) {
+                //the part still growing may be the rest of this whole network, it stays in this one
+                keptPart = root;
+            } else {
+                parts.put(root, new HashMap<>());
+            }
+        }
+        if (parts.size() + (keptPart == -1 ? 0 : 1) < 2) {
+            //all nodes are still connected
+            return;
+        }
+        for (Long2IntMap.Entry entry : labels.long2IntEntrySet()) {
+            HashMap<BlockPos, Node<NodeDataType>> part = parts.get(findRoot(parents, entry.getIntValue()));
+            if (part != null) {
+                part.put(BlockPos.fromLong(entry.getLongKey()), nodeByLongPos.get(entry.getLongKey()));
+            }
+        }
+        if (keptPart == -1) {
+            //every part was searched completely, keep the biggest one in this network
+            for (Int2ObjectMap.Entry<HashMap<BlockPos, Node<NodeDataType>>> entry : parts.int2ObjectEntrySet()) {
+                if (keptPart == -1 || entry.getValue().size() > parts.get(keptPart).size()) {
+                    keptPart = entry.getIntKey();
+                }
+            }
+            parts.remove(keptPart);
+        }
+        for (HashMap<BlockPos, Node<NodeDataType>> part : parts.values()) {
+            //remove blocks that aren't connected with this network, and use them to create new network
+            PipeNet<NodeDataType> newPipeNet = worldData.createNetInstance();
+            part.keySet().forEach(this::removeNodeWithoutRebuilding);
+            newPipeNet.transferNodeData(part, this);
+            worldData.addPipeNet(newPipeNet);
+        }
+    }
+
+    /**
+     * Labels the unlabeled nodes connected to a node, and queues them to be visited
+     *
+     * @param pos     the position of the node
+     * @param label   the label of the node
+     * @param labels  the labels of the nodes found so far
+     * @param queue   the queue of the nodes to visit
+     * @param parents the union-find of the labels, to join labels when nodes of another label are found, or null
+     */
+    private void visitConnectedNodes(long pos, int label, Long2IntMap labels, LongArrayFIFOQueue queue, int[] parents) {
+        Node<NodeDataType> node = nodeByLongPos.get(pos);
+        if (node == null) return;
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            if (node.isBlocked(facing)) continue;
+            long offsetPos = offset(pos, facing);
+            Node<NodeDataType> secondNode = nodeByLongPos.get(offsetPos);
+            if (secondNode == null || !canNodesConnect(node, facing, secondNode, this)) continue;
+            if (!labels.containsKey(offsetPos)) {
+                labels.put(offsetPos, label);
+                queue.enqueue(offsetPos);
+            } else if (parents != null) {
+                int root = findRoot(parents, label);
+                int secondRoot = findRoot(parents, labels.get(offsetPos));
+                if (root != secondRoot) {
+                    parents[secondRoot] = root;
+                }
+            }
+        }
+    }
+
+    private static int countGrowingParts(LongArrayFIFOQueue[] queues, int[] parents) {
+        //there are at most 7 searches, so a bitmask of the roots is enough
+        int growingRoots = 0;
+        for (int i = 0; i < queues.length; i++) {
+            if (!queues[i].isEmpty()) {
+                growingRoots |= 1 << findRoot(parents, i);
+            }
+        }
+        return Integer.bitCount(growingRoots);
+    }
+
+    private static int findRoot(int[] parents, int i) {
+        while (parents[i] != i) {
+            parents[i] = parents[parents[i]];
+            i = parents[i];
+        }
+        return i;
+    }
+
+    /**
+     * Offsets a position in the format of {@link BlockPos#toLong()} without creating BlockPos instances
+     */
+    private static long offset(long pos, EnumFacing facing) {
+        int x = (int) (pos >> 38) + facing.getXOffset();
+        int y = (int) (pos << 26 >> 52) + facing.getYOffset();
+        int z = (int) (pos << 38 >> 38) + facing.getZOffset();
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) y & 0xFFFL) << 26 | (long) z & 0x3FFFFFFL;
+    }
+
     protected boolean areNodesCustomContactable(NodeDataType first, NodeDataType second, PipeNet<NodeDataType> secondNodePipeNet) {
         return true;
     }
@@ -381,7 +505,7 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
 
     @Override
     public void deserializeNBT(NBTTagCompound nbt) {
-        this.nodeByBlockPos.clear();
+        this.nodeByLongPos.clear();
         this.ownedChunks.clear();
         deserializeAllNodeList(nbt.getCompoundTag("Nodes"));
     }
@@ -459,4 +583,58 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         return compound;
     }
 
+    /**
+     * An unmodifiable map view of {@link #nodeByLongPos} by BlockPos
+     */
+    private final class NodeMapView extends AbstractMap<BlockPos, Node<NodeDataType>> {
+
+        private final Set<Entry<BlockPos, Node<NodeDataType>>> entrySet = new AbstractSet<Entry<BlockPos, Node<NodeDataType>>>() {
+            @Override
+            public Iterator<Entry<BlockPos, Node<NodeDataType>>> iterator() {
+                Iterator<Long2ObjectMap.Entry<Node<NodeDataType>>> iterator = nodeByLongPos.long2ObjectEntrySet().iterator();
+                return new Iterator<Entry<BlockPos, Node<NodeDataType>>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<BlockPos, Node<NodeDataType>> next() {
+                        Long2ObjectMap.Entry<Node<NodeDataType>> entry = iterator.next();
+                        return new SimpleImmutableEntry<>(BlockPos.fromLong(entry.getLongKey()), entry.getValue());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return nodeByLongPos.size();
+            }
+        };
+
+        @Override
+        public Set<Entry<BlockPos, Node<NodeDataType>>> entrySet() {
+            return entrySet;
+        }
+
+        @Override
+        public int size() {
+            return nodeByLongPos.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return nodeByLongPos.isEmpty();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof BlockPos && nodeByLongPos.containsKey(((BlockPos) key).toLong());
+        }
+
+        @Override
+        public Node<NodeDataType> get(Object key) {
+            return key instanceof BlockPos ? nodeByLongPos.get(((BlockPos) key).toLong()) : null;
+        }
+    }
 }
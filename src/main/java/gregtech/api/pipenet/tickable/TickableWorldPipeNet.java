@@ -15,13 +15,16 @@ public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeD
 
     private final Map<T, List<ChunkPos>> loadedChunksByPipeNet = new HashMap<>();
     private final Set<T> tickingPipeNets = new HashSet<>();
+    // changes to the ticking nets are deferred while they are ticked, as ticking a net may split or remove nets
     private final Set<T> removeLater = new HashSet<>();
+    private final Set<T> addLater = new HashSet<>();
+    private boolean isTicking;
 
     public TickableWorldPipeNet(String name) {
         super(name);
     }
 
-    private boolean isChunkLoaded(ChunkPos chunkPos) {
+    protected boolean isChunkLoaded(ChunkPos chunkPos) {
         WorldServer worldServer = (WorldServer) getWorld();
         if (worldServer == null) return false;
         return worldServer.getChunkProvider().chunkExists(chunkPos.x, chunkPos.z);
@@ -31,12 +34,41 @@ public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeD
 
     public void update() {
         if (getWorld().getTotalWorldTime() % getUpdateRate() == 0L) {
+            tickPipeNets();
+        }
+        applyTickingChanges();
+    }
+
+    /**
+     * Ticks every ticking net. Nets added or removed meanwhile are only added or removed afterwards.
+     */
+    protected void tickPipeNets() {
+        this.isTicking = true;
+        try {
             tickingPipeNets.forEach(ITickable::update);
+        } finally {
+            this.isTicking = false;
         }
-        if(removeLater.size() > 0) {
-            removeLater.forEach(tickingPipeNets::remove);
+    }
+
+    protected void applyTickingChanges() {
+        if (!removeLater.isEmpty()) {
+            tickingPipeNets.removeAll(removeLater);
             removeLater.clear();
         }
+        if (!addLater.isEmpty()) {
+            tickingPipeNets.addAll(addLater);
+            addLater.clear();
+        }
+    }
+
+    private void addToTicking(T pipeNet) {
+        this.removeLater.remove(pipeNet);
+        if (isTicking) {
+            this.addLater.add(pipeNet);
+        } else {
+            this.tickingPipeNets.add(pipeNet);
+        }
     }
 
     public void onChunkLoaded(Chunk chunk) {
@@ -46,7 +78,7 @@ public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeD
         for (T pipeNet : pipeNetsInThisChunk) {
             List<ChunkPos> loadedChunks = getOrCreateChunkListForPipeNet(pipeNet);
             if (loadedChunks.isEmpty()) {
-                this.tickingPipeNets.add(pipeNet);
+                addToTicking(pipeNet);
             }
             loadedChunks.add(chunkPos);
         }
@@ -75,7 +107,7 @@ public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeD
                 .filter(pair -> !pair.getRight().isEmpty())
                 .collect(Collectors.toMap(Pair::getLeft, Pair::getRight));
         if (!pipeNetByLoadedChunks.isEmpty()) {
-            this.tickingPipeNets.addAll(pipeNetByLoadedChunks.keySet());
+            pipeNetByLoadedChunks.keySet().forEach(this::addToTicking);
             this.loadedChunksByPipeNet.putAll(pipeNetByLoadedChunks);
         }
     }
@@ -86,7 +118,7 @@ public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeD
         List<ChunkPos> loadedChunks = getPipeNetLoadedChunks(pipeNet);
         if (!loadedChunks.isEmpty()) {
             this.loadedChunksByPipeNet.put(pipeNet, loadedChunks);
-            this.tickingPipeNets.add(pipeNet);
+            addToTicking(pipeNet);
         }
     }
 
@@ -106,7 +138,12 @@ public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeD
 
     private void removeFromTicking(T pipeNet) {
         this.loadedChunksByPipeNet.remove(pipeNet);
-        this.removeLater.add(pipeNet);
+        this.addLater.remove(pipeNet);
+        if (isTicking) {
+            this.removeLater.add(pipeNet);
+        } else {
+            this.tickingPipeNets.remove(pipeNet);
+        }
     }
 
     private List<ChunkPos> getOrCreateChunkListForPipeNet(T pipeNet) {
@@ -119,7 +156,7 @@ public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeD
         if (isChunkLoaded(chunkPos)) {
             List<ChunkPos> loadedChunks = getOrCreateChunkListForPipeNet(pipeNet);
             if (loadedChunks.isEmpty()) {
-                this.tickingPipeNets.add(pipeNet);
+                addToTicking(pipeNet);
             }
             loadedChunks.add(chunkPos);
         }
@@ -234,7 +234,7 @@ public abstract class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipe
             WorldPipeNet<?, ?> worldPipeNet = getPipeBlock().getWorldPipeNet(getWorld());
             PipeNet<?> net = worldPipeNet.getNetFromPos(pos);
             if (net != null) {
-                net.onPipeConnectionsUpdate();
+                net.onPipeConnectionsUpdate(pos, side, !blocked);
             }
         }
     }
@@ -0,0 +1,30 @@
+package gregtech.api.recipes;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Notified of the changes to the recipes of a {@link RecipeMap}, for indexes built from its recipes.
+ *
+ * @see RecipeMap#addRecipeListener(IRecipeMapListener)
+ */
+public interface IRecipeMapListener {
+
+    /**
+     * Called after a recipe was added to the RecipeMap
+     *
+     * @param recipe the added recipe
+     */
+    void onRecipeAdded(@Nonnull Recipe recipe);
+
+    /**
+     * Called after a recipe was removed from the RecipeMap
+     *
+     * @param recipe the removed recipe
+     */
+    void onRecipeRemoved(@Nonnull Recipe recipe);
+
+    /**
+     * Called after all recipes were removed from the RecipeMap
+     */
+    void onRecipesCleared();
+}
@@ -178,6 +178,7 @@ public final class ModHandler {
      * @param experience the experience of the recipe
      */
     public static void addSmeltingRecipe(@Nonnull ItemStack input, @Nonnull ItemStack output, float experience) {
+        if (ParallelRecipeGeneration.defer(() -> addSmeltingRecipe(input, output, experience))) return;
         if (input.isEmpty() && setErroredInvalidRecipe("Furnace Recipe Input cannot be an empty ItemStack")) {
             return;
         }
@@ -285,6 +286,8 @@ public final class ModHandler {
      * @see ModHandler#addShapedRecipe(String, ItemStack, Object...)
      */
     public static void addShapedRecipe(boolean withUnificationData, @Nonnull String regName, @Nonnull ItemStack result, boolean isNBTClearing, boolean isMirrored, @Nonnull Object... recipe) {
+        // the ore dictionary ingredients are looked up on the main thread
+        if (ParallelRecipeGeneration.defer(() -> addShapedRecipe(withUnificationData, regName, result, isNBTClearing, isMirrored, recipe))) return;
         if (!validateRecipeWithOutput(regName, result, recipe)) return;
 
         addRecipe(regName, result, isNBTClearing, isMirrored, recipe);
@@ -298,6 +301,7 @@ public final class ModHandler {
      * @see ModHandler#addFluidReplaceRecipe(String, ItemStack, Object...)
      */
     public static void addFluidReplaceRecipe(String regName, ItemStack result, boolean isNBTClearing, Object... recipe) {
+        if (ParallelRecipeGeneration.defer(() -> addFluidReplaceRecipe(regName, result, isNBTClearing, recipe))) return;
         if (!validateRecipeWithOutput(regName, result, recipe)) return;
 
         IRecipe shapedOreRecipe = new FluidReplaceRecipe(isNBTClearing, null, result.copy(),
@@ -315,6 +319,7 @@ public final class ModHandler {
      * @see ModHandler#addShapedRecipe(String, ItemStack, Object...)
      */
     public static void addShapedEnergyTransferRecipe(String regName, ItemStack result, Predicate<ItemStack> chargePredicate, boolean overrideCharge, boolean transferMaxCharge, Object... recipe) {
+        if (ParallelRecipeGeneration.defer(() -> addShapedEnergyTransferRecipe(regName, result, chargePredicate, overrideCharge, transferMaxCharge, recipe))) return;
         if (!validateRecipeWithOutput(regName, result, recipe)) return;
 
         IRecipe shapedOreRecipe = new ShapedOreEnergyTransferRecipe(null, result.copy(), chargePredicate, overrideCharge, transferMaxCharge, finalizeShapedRecipeInput(recipe))
@@ -557,6 +562,7 @@ public final class ModHandler {
      * @see ModHandler#addShapelessRecipe(String, ItemStack, Object...)
      */
     public static void addShapelessRecipe(String regName, ItemStack result, boolean isNBTClearing, Object... recipe) {
+        if (ParallelRecipeGeneration.defer(() -> addShapelessRecipe(regName, result, isNBTClearing, recipe))) return;
         if (!validateRecipeWithOutput(regName, result, recipe)) return;
 
         for (byte i = 0; i < recipe.length; i++) {
@@ -0,0 +1,148 @@
+package gregtech.api.recipes;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import gregtech.common.ConfigHolder;
+import org.jetbrains.annotations.ApiStatus;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs recipe generation for many items, like every material of an ore prefix, on worker threads.
+ * <p>
+ * While generating, the methods adding recipes or unification data hand their changes to {@link #defer(Runnable)} instead of
+ * applying them. Once all items are done, the calling thread applies the deferred changes item by item, in the order of the items
+ * and in the order they were made. This adds the same recipes in the same order as generating them one item after another, as long
+ * as the generation of an item doesn't read what the other items of the same batch register.
+ * <p>
+ * Only used while the game is loading, generation after {@link #shutdown()} runs on the calling thread.
+ */
+public final class ParallelRecipeGeneration {
+
+    private static final ThreadLocal<List<Runnable>> deferredChanges = new ThreadLocal<>();
+    private static ExecutorService executor;
+    private static boolean shutdown;
+
+    private ParallelRecipeGeneration() {/**/}
+
+    /**
+     * Defers a change to shared recipe or unification state, if called while generating recipes on a worker thread
+     *
+     * @param change the change to apply
+     * @return if the change was deferred, otherwise the caller must apply it itself
+     */
+    public static boolean defer(@Nonnull Runnable change) {
+        List<Runnable> changes = deferredChanges.get();
+        if (changes == null) return false;
+        changes.add(change);
+        return true;
+    }
+
+    /**
+     * Generates the recipes of all items, in parallel if enabled in the config
+     *
+     * @param items    the items to generate recipes for
+     * @param generate generates the recipes of an item
+     */
+    public static <T> void run(@Nonnull List<T> items, @Nonnull Consumer<T> generate) {
+        run(items, generate, (item, apply) -> apply.run());
+    }
+
+    /**
+     * Generates the recipes of all items, in parallel if enabled in the config
+     *
+     * @param items    the items to generate recipes for
+     * @param generate generates the recipes of an item
+     * @param apply    applies the deferred changes of an item, given as runnable, to set up context like for the item's generation
+     */
+    public static <T> void run(@Nonnull List<T> items, @Nonnull Consumer<T> generate, @Nonnull BiConsumer<T, Runnable> apply) {
+        if (!isParallel(items)) {
+            items.forEach(generate);
+            return;
+        }
+
+        List<List<Runnable>> results = supplyAll(items, item -> generate(item, generate));
+        for (int i = 0; i < items.size(); i++) {
+            List<Runnable> changes = results.get(i);
+            apply.accept(items.get(i), () -> changes.forEach(Runnable::run));
+        }
+    }
+
+    /**
+     * Stops the worker threads once loading finished
+     */
+    @ApiStatus.Internal
+    public static void shutdown() {
+        shutdown = true;
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    private static boolean isParallel(@Nonnull List<?> items) {
+        // nested generation is already deferred by the outer one
+        return !shutdown && ConfigHolder.misc.recipeGenerationThreads > 0 && items.size() >= 2 && deferredChanges.get() == null;
+    }
+
+    /**
+     * @return the results of all items, in the order of the items
+     */
+    @Nonnull
+    private static <T, R> List<R> supplyAll(@Nonnull List<T> items, @Nonnull Function<T, R> supplier) {
+        List<CompletableFuture<R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(CompletableFuture.supplyAsync(() -> supplier.apply(item), getExecutor()));
+        }
+        List<R> results = new ArrayList<>(items.size());
+        for (CompletableFuture<R> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException exception) {
+                Throwables.throwIfUnchecked(exception.getCause());
+                throw exception;
+            }
+        }
+        return results;
+    }
+
+    @Nonnull
+    private static <T> List<Runnable> generate(T item, @Nonnull Consumer<T> generate) {
+        List<Runnable> changes = new ArrayList<>();
+        deferredChanges.set(changes);
+        try {
+            generate.accept(item);
+        } finally {
+            deferredChanges.remove();
+        }
+        return changes;
+    }
+
+    @Nonnull
+    private static ExecutorService getExecutor() {
+        if (executor == null) {
+            // mod classes must be loaded by the same class loader as on the main thread
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                    .setNameFormat("GregTech Recipe Generation #%d")
+                    .setDaemon(true)
+                    .build();
+            executor = Executors.newFixedThreadPool(ConfigHolder.misc.recipeGenerationThreads, runnable -> {
+                Thread thread = threadFactory.newThread(runnable);
+                thread.setContextClassLoader(classLoader);
+                return thread;
+            });
+        }
+        return executor;
+    }
+}
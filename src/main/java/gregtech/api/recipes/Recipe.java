@@ -156,7 +156,12 @@ public class Recipe {
     }
 
     public final boolean matches(boolean consumeIfSuccessful, IItemHandlerModifiable inputs, IMultipleTankHandler fluidInputs) {
-        return matches(consumeIfSuccessful, GTUtility.itemHandlerToList(inputs), GTUtility.fluidHandlerToList(fluidInputs));
+        RecipeInputMatcher matcher = RecipeInputMatcher.acquire();
+        try {
+            return matcher.prepare(inputs, fluidInputs).matches(this, consumeIfSuccessful);
+        } finally {
+            matcher.release();
+        }
     }
 
     /**
@@ -168,112 +173,12 @@ public class Recipe {
      * @return true if the recipe matches the given inputs false otherwise.
      */
     public boolean matches(boolean consumeIfSuccessful, List<ItemStack> inputs, List<FluidStack> fluidInputs) {
-        Pair<Boolean, int[]> fluids = null;
-        Pair<Boolean, int[]> items = null;
-
-        if (fluidInputs.size() >0 ) {
-            fluids = matchesFluid(fluidInputs);
-            if (!fluids.getKey()) {
-                return false;
-            }
+        RecipeInputMatcher matcher = RecipeInputMatcher.acquire();
+        try {
+            return matcher.prepare(inputs, fluidInputs).matches(this, consumeIfSuccessful);
+        } finally {
+            matcher.release();
         }
-
-        if (inputs.size() > 0) {
-            items = matchesItems(inputs);
-            if (!items.getKey()) {
-                return false;
-            }
-        }
-
-        if (consumeIfSuccessful) {
-            if (fluids != null) {
-                int[] fluidAmountInTank = fluids.getValue();
-
-                for (int i = 0; i < fluidAmountInTank.length; i++) {
-                    FluidStack fluidStack = fluidInputs.get(i);
-                    int fluidAmount = fluidAmountInTank[i];
-                    if (fluidStack == null || fluidStack.amount == fluidAmount)
-                        continue;
-                    fluidStack.amount = fluidAmount;
-                    if (fluidStack.amount == 0)
-                        fluidInputs.set(i, null);
-                }
-            }
-            if(items != null) {
-                int[] itemAmountInSlot = items.getValue();
-                for (int i = 0; i < itemAmountInSlot.length; i++) {
-                    ItemStack itemInSlot = inputs.get(i);
-                    int itemAmount = itemAmountInSlot[i];
-                    if (itemInSlot.isEmpty() || itemInSlot.getCount() == itemAmount)
-                        continue;
-                    itemInSlot.setCount(itemAmountInSlot[i]);
-                }
-            }
-        }
-
-        return true;
-    }
-
-    private Pair<Boolean, int[]> matchesItems(List<ItemStack> inputs) {
-        int[] itemAmountInSlot = new int[inputs.size()];
-        int indexed = 0;
-
-        List<GTRecipeInput> gtRecipeInputs = this.inputs;
-        for (GTRecipeInput ingredient : gtRecipeInputs) {
-            int ingredientAmount = ingredient.getAmount();
-            for (int j = 0; j < inputs.size(); j++) {
-                ItemStack inputStack = inputs.get(j);
-
-                if (j == indexed) {
-                    itemAmountInSlot[j] = inputStack.isEmpty() ? 0 : inputStack.getCount();
-                    indexed++;
-                }
-
-                if (inputStack.isEmpty() || !ingredient.acceptsStack(inputStack))
-                    continue;
-                int itemAmountToConsume = Math.min(itemAmountInSlot[j], ingredientAmount);
-                ingredientAmount -= itemAmountToConsume;
-                if (!ingredient.isNonConsumable()) itemAmountInSlot[j] -= itemAmountToConsume;
-                if (ingredientAmount == 0) break;
-            }
-            if (ingredientAmount > 0)
-                return Pair.of(false, itemAmountInSlot);
-        }
-        int[] retItemAmountInSlot = new int[indexed];
-        System.arraycopy(itemAmountInSlot, 0, retItemAmountInSlot, 0, indexed);
-
-        return Pair.of(true, retItemAmountInSlot);
-    }
-
-    private Pair<Boolean, int[]> matchesFluid(List<FluidStack> fluidInputs) {
-        int[] fluidAmountInTank = new int[fluidInputs.size()];
-        int indexed = 0;
-
-        List<GTRecipeInput> gtRecipeInputs = this.fluidInputs;
-        for (GTRecipeInput fluid : gtRecipeInputs) {
-            int fluidAmount = fluid.getAmount();
-            for (int j = 0; j < fluidInputs.size(); j++) {
-                FluidStack tankFluid = fluidInputs.get(j);
-
-                if (j == indexed) {
-                    indexed++;
-                    fluidAmountInTank[j] = tankFluid == null ? 0 : tankFluid.amount;
-                }
-
-                if (tankFluid == null || !fluid.acceptsFluid(tankFluid))
-                    continue;
-                int fluidAmountToConsume = Math.min(fluidAmountInTank[j], fluidAmount);
-                fluidAmount -= fluidAmountToConsume;
-                if (!fluid.isNonConsumable()) fluidAmountInTank[j] -= fluidAmountToConsume;
-                if (fluidAmount == 0) break;
-            }
-            if (fluidAmount > 0)
-                return Pair.of(false, fluidAmountInTank);
-        }
-        int[] retfluidAmountInTank = new int[indexed];
-        System.arraycopy(fluidAmountInTank, 0, retfluidAmountInTank, 0, indexed);
-
-        return Pair.of(true, retfluidAmountInTank);
     }
 
     @Override
@@ -314,15 +219,20 @@ public class Recipe {
         for (GTRecipeInput otherInputs : otherRecipe.inputs) {
             otherStackList.addAll(Arrays.asList(otherInputs.getInputStacks()));
         }
-        if (!this.matchesItems(otherStackList).getLeft()) {
-            return false;
-        }
+        RecipeInputMatcher matcher = RecipeInputMatcher.acquire();
+        try {
+            if (!matcher.prepare(otherStackList, Collections.emptyList()).matchesItems(this)) {
+                return false;
+            }
 
-        List<ItemStack> thisStackList = new ObjectArrayList<>(this.inputs.size());
-        for (GTRecipeInput thisInputs : this.inputs) {
-            thisStackList.addAll(Arrays.asList(thisInputs.getInputStacks()));
+            List<ItemStack> thisStackList = new ObjectArrayList<>(this.inputs.size());
+            for (GTRecipeInput thisInputs : this.inputs) {
+                thisStackList.addAll(Arrays.asList(thisInputs.getInputStacks()));
+            }
+            return matcher.prepare(thisStackList, Collections.emptyList()).matchesItems(otherRecipe);
+        } finally {
+            matcher.release();
         }
-        return otherRecipe.matchesItems(thisStackList).getLeft();
     }
 
     public static int hashFluidList(@Nonnull List<GTRecipeInput> fluids) {
@@ -339,16 +249,21 @@ public class Recipe {
             FluidStack fluidStack = otherInputs.getInputFluidStack();
             otherFluidList.add(fluidStack);
         }
-        if (!this.matchesFluid(otherFluidList).getLeft()) {
-            return false;
-        }
+        RecipeInputMatcher matcher = RecipeInputMatcher.acquire();
+        try {
+            if (!matcher.prepare(Collections.emptyList(), otherFluidList).matchesFluids(this)) {
+                return false;
+            }
 
-        List<FluidStack> thisFluidsList = new ObjectArrayList<>(this.fluidInputs.size());
-        for (GTRecipeInput thisFluidInputs : this.fluidInputs) {
-            FluidStack fluidStack = thisFluidInputs.getInputFluidStack();
-            thisFluidsList.add(fluidStack);
+            List<FluidStack> thisFluidsList = new ObjectArrayList<>(this.fluidInputs.size());
+            for (GTRecipeInput thisFluidInputs : this.fluidInputs) {
+                FluidStack fluidStack = thisFluidInputs.getInputFluidStack();
+                thisFluidsList.add(fluidStack);
+            }
+            return matcher.prepare(Collections.emptyList(), thisFluidsList).matchesFluids(otherRecipe);
+        } finally {
+            matcher.release();
         }
-        return otherRecipe.matchesFluid(thisFluidsList).getLeft();
     }
 
     @Override
@@ -39,7 +39,6 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
 import java.util.function.Consumer;
-import java.util.stream.IntStream;
 
 /**
  * @see Recipe
@@ -606,14 +605,12 @@ public class RecipeBuilder<R extends RecipeBuilder<R>> {
 
     public void chancedOutputsMultiply(Recipe chancedOutputsFrom, int numberOfOperations) {
         for (Recipe.ChanceEntry entry : chancedOutputsFrom.getChancedOutputs()) {
-            int chance = entry.getChance();
-            int boost = entry.getBoostPerTier();
-
             // Add individual chanced outputs per number of parallel operations performed, to mimic regular recipes.
-            // This is done instead of simply batching the chanced outputs by the number of parallel operations performed
-            IntStream.range(0, numberOfOperations).forEach(value -> {
-                this.chancedOutput(entry.getItemStack(), chance, boost);
-            });
+            // This is done instead of simply batching the chanced outputs by the number of parallel operations performed.
+            // Entries are immutable and were validated with their recipe, so the entry is shared instead of copied
+            for (int i = 0; i < numberOfOperations; i++) {
+                this.chancedOutputs.add(entry);
+            }
         }
     }
 
@@ -667,7 +664,7 @@ public class RecipeBuilder<R extends RecipeBuilder<R>> {
             if (ri.isNonConsumable()) {
                 newRecipeInputs.add(ri);
             } else {
-                newRecipeInputs.add(ri.copyWithAmount(ri.getAmount() * numberOfOperations));
+                newRecipeInputs.add(ri.getScaledCopy(ri.getAmount() * numberOfOperations));
             }
         });
 
@@ -675,7 +672,7 @@ public class RecipeBuilder<R extends RecipeBuilder<R>> {
             if (fi.isNonConsumable()) {
                 newFluidInputs.add(fi);
             } else {
-                newFluidInputs.add(fi.copyWithAmount(fi.getAmount() * numberOfOperations));
+                newFluidInputs.add(fi.getScaledCopy(fi.getAmount() * numberOfOperations));
             }
         });
 
@@ -0,0 +1,352 @@
+package gregtech.api.recipes;
+
+import gregtech.api.capability.IMultipleTankHandler;
+import gregtech.api.recipes.ingredients.GTRecipeInput;
+import gregtech.api.recipes.ingredients.GTRecipeItemInput;
+import gregtech.api.recipes.ingredients.GTRecipeOreInput;
+import it.unimi.dsi.fastutil.HashCommon;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.fluids.IFluidTank;
+import net.minecraftforge.items.IItemHandlerModifiable;
+import org.jetbrains.annotations.ApiStatus;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Matches recipes against item and fluid inputs without allocating, using reusable per-thread arrays.
+ * <p>
+ * The item slots are indexed by their item once per {@link #prepare(List, List)}, so the ingredients which
+ * can only accept their own items only visit the slots holding them, instead of testing every slot.
+ * Any other ingredient still tests every slot. Both consume the slots in the same order as a plain scan.
+ */
+@ApiStatus.Internal
+public final class RecipeInputMatcher {
+
+    private static final ThreadLocal<RecipeInputMatcher> MATCHERS = ThreadLocal.withInitial(RecipeInputMatcher::new);
+
+    private List<ItemStack> items = Collections.emptyList();
+    private List<FluidStack> fluids = Collections.emptyList();
+    private boolean inUse;
+    // the views of the inputs of the handlers, reused by every search of this matcher
+    private final ItemHandlerView itemHandlerView = new ItemHandlerView();
+    private final FluidHandlerView fluidHandlerView = new FluidHandlerView();
+
+    // the amounts left in each slot and tank while matching
+    private int[] itemAmounts = new int[16];
+    private int[] fluidAmounts = new int[16];
+
+    // open addressing table of the items in the slots, each pointing to a chain of its slots in ascending order
+    private Item[] tableItems = new Item[32];
+    private int[] tableFirstSlot = new int[32];
+    private int[] tableLastSlot = new int[32];
+    private int[] tableStamps = new int[32];
+    private int collectStamp;
+    private int[] nextSlot = new int[16];
+    private int[] candidates = new int[16];
+
+    private RecipeInputMatcher() {/**/}
+
+    /**
+     * Gets the matcher of the current thread. Must be paired with {@link #release()} in a finally block.
+     * <p>
+     * If the matcher of the thread is already in use, for example when a recipe predicate matches again,
+     * a new, unshared instance is returned instead.
+     *
+     * @return the matcher to match with
+     */
+    @Nonnull
+    public static RecipeInputMatcher acquire() {
+        RecipeInputMatcher matcher = MATCHERS.get();
+        if (matcher.inUse) return new RecipeInputMatcher();
+        matcher.inUse = true;
+        return matcher;
+    }
+
+    /**
+     * Releases the matcher, dropping the references to the inputs
+     */
+    public void release() {
+        Arrays.fill(tableItems, null);
+        itemHandlerView.handler = null;
+        fluidHandlerView.tanks = null;
+        this.items = Collections.emptyList();
+        this.fluids = Collections.emptyList();
+        this.inUse = false;
+    }
+
+    /**
+     * Indexes the inputs to match recipes against. The inputs must not change until they are prepared again,
+     * other than by consuming a recipe through this matcher.
+     *
+     * @param items  the item inputs
+     * @param fluids the fluid inputs, with null for empty tanks
+     * @return this
+     */
+    @Nonnull
+    public RecipeInputMatcher prepare(@Nonnull List<ItemStack> items, @Nonnull List<FluidStack> fluids) {
+        this.items = items;
+        this.fluids = fluids;
+        indexItems();
+        return this;
+    }
+
+    /**
+     * Indexes the inputs of handlers through views reused by this matcher, like {@link #prepare(List, List)}.
+     * Consuming a recipe through this matcher modifies the handlers.
+     *
+     * @param items  the item inputs
+     * @param fluids the fluid inputs
+     * @return this
+     */
+    @Nonnull
+    public RecipeInputMatcher prepare(@Nonnull IItemHandlerModifiable items, @Nonnull IMultipleTankHandler fluids) {
+        itemHandlerView.handler = items;
+        fluidHandlerView.tanks = fluids.getFluidTanks();
+        return prepare(itemHandlerView, fluidHandlerView);
+    }
+
+    /**
+     * Checks if the prepared inputs contain the inputs of a recipe
+     *
+     * @param recipe              the recipe to match
+     * @param consumeIfSuccessful if the inputs of the recipe should be consumed when they are all present
+     * @return if the recipe matched
+     */
+    public boolean matches(@Nonnull Recipe recipe, boolean consumeIfSuccessful) {
+        boolean hasFluids = !fluids.isEmpty();
+        boolean hasItems = !items.isEmpty();
+        if (hasFluids && !matchesFluids(recipe)) return false;
+        if (hasItems && !matchesItems(recipe)) return false;
+
+        if (consumeIfSuccessful) {
+            if (hasFluids) {
+                for (int i = 0; i < fluids.size(); i++) {
+                    FluidStack fluidStack = fluids.get(i);
+                    int fluidAmount = fluidAmounts[i];
+                    if (fluidStack == null || fluidStack.amount == fluidAmount) continue;
+                    fluidStack.amount = fluidAmount;
+                    if (fluidStack.amount == 0) {
+                        fluids.set(i, null);
+                    }
+                }
+            }
+            if (hasItems) {
+                for (int i = 0; i < items.size(); i++) {
+                    ItemStack itemInSlot = items.get(i);
+                    int itemAmount = itemAmounts[i];
+                    if (itemInSlot.isEmpty() || itemInSlot.getCount() == itemAmount) continue;
+                    itemInSlot.setCount(itemAmount);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the prepared item inputs contain the item inputs of a recipe, even if there are no item inputs
+     */
+    public boolean matchesItems(@Nonnull Recipe recipe) {
+        List<GTRecipeInput> ingredients = recipe.getInputs();
+        List<ItemStack> items = this.items;
+        int[] itemAmounts = this.itemAmounts;
+        for (int i = 0; i < items.size(); i++) {
+            ItemStack stack = items.get(i);
+            itemAmounts[i] = stack.isEmpty() ? 0 : stack.getCount();
+        }
+
+        for (int i = 0; i < ingredients.size(); i++) {
+            GTRecipeInput ingredient = ingredients.get(i);
+            int ingredientAmount = ingredient.getAmount();
+            if (isIndexable(ingredient)) {
+                int count = collectCandidates(ingredient.getInputStacks());
+                for (int c = 0; c < count && ingredientAmount > 0; c++) {
+                    ingredientAmount = consume(ingredient, candidates[c], ingredientAmount);
+                }
+            } else {
+                for (int j = 0; j < items.size() && ingredientAmount > 0; j++) {
+                    ingredientAmount = consume(ingredient, j, ingredientAmount);
+                }
+            }
+            if (ingredientAmount > 0) return false;
+        }
+        return true;
+    }
+
+    private int consume(GTRecipeInput ingredient, int slot, int ingredientAmount) {
+        ItemStack stack = items.get(slot);
+        if (stack.isEmpty() || !ingredient.acceptsStack(stack)) return ingredientAmount;
+        int amountToConsume = Math.min(itemAmounts[slot], ingredientAmount);
+        if (!ingredient.isNonConsumable()) itemAmounts[slot] -= amountToConsume;
+        return ingredientAmount - amountToConsume;
+    }
+
+    /**
+     * Checks if the prepared fluid inputs contain the fluid inputs of a recipe, even if there are no fluid inputs
+     */
+    public boolean matchesFluids(@Nonnull Recipe recipe) {
+        List<GTRecipeInput> ingredients = recipe.getFluidInputs();
+        List<FluidStack> fluids = this.fluids;
+        int[] fluidAmounts = this.fluidAmounts;
+        for (int i = 0; i < fluids.size(); i++) {
+            FluidStack fluid = fluids.get(i);
+            fluidAmounts[i] = fluid == null ? 0 : fluid.amount;
+        }
+
+        for (int i = 0; i < ingredients.size(); i++) {
+            GTRecipeInput ingredient = ingredients.get(i);
+            int ingredientAmount = ingredient.getAmount();
+            for (int j = 0; j < fluids.size(); j++) {
+                FluidStack tankFluid = fluids.get(j);
+                if (tankFluid == null || !ingredient.acceptsFluid(tankFluid)) continue;
+                int amountToConsume = Math.min(fluidAmounts[j], ingredientAmount);
+                ingredientAmount -= amountToConsume;
+                if (!ingredient.isNonConsumable()) fluidAmounts[j] -= amountToConsume;
+                if (ingredientAmount == 0) break;
+            }
+            if (ingredientAmount > 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return if the ingredient only accepts stacks of the items of its input stacks.
+     * Subclasses may accept other stacks, so only the exact classes qualify.
+     */
+    private static boolean isIndexable(GTRecipeInput ingredient) {
+        Class<?> type = ingredient.getClass();
+        return type == GTRecipeItemInput.class || type == GTRecipeOreInput.class;
+    }
+
+    /**
+     * Collects the slots holding any of the items of the stacks into {@link #candidates}, in ascending order
+     *
+     * @return the amount of candidate slots
+     */
+    private int collectCandidates(ItemStack[] stacks) {
+        int stamp = ++this.collectStamp;
+        int count = 0;
+        int chains = 0;
+        for (ItemStack stack : stacks) {
+            int tableSlot = find(stack.getItem());
+            // each item's slots are only collected once, as the stacks may share items
+            if (tableSlot == -1 || tableStamps[tableSlot] == stamp) continue;
+            tableStamps[tableSlot] = stamp;
+            chains++;
+            for (int slot = tableFirstSlot[tableSlot]; slot != -1; slot = nextSlot[slot]) {
+                candidates[count++] = slot;
+            }
+        }
+        if (chains > 1) {
+            // the chains of several items are merged back into slot order
+            Arrays.sort(candidates, 0, count);
+        }
+        return count;
+    }
+
+    private void indexItems() {
+        int size = Math.max(items.size(), fluids.size());
+        if (itemAmounts.length < size) {
+            int capacity = Math.max(size, itemAmounts.length * 2);
+            this.itemAmounts = new int[capacity];
+            this.fluidAmounts = new int[capacity];
+            this.nextSlot = new int[capacity];
+            this.candidates = new int[capacity];
+        }
+        int tableSize = HashCommon.nextPowerOfTwo(Math.max(items.size() * 2, 2));
+        if (tableItems.length < tableSize) {
+            this.tableItems = new Item[tableSize];
+            this.tableFirstSlot = new int[tableSize];
+            this.tableLastSlot = new int[tableSize];
+            this.tableStamps = new int[tableSize];
+        } else {
+            Arrays.fill(tableItems, null);
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            ItemStack stack = items.get(i);
+            nextSlot[i] = -1;
+            if (stack.isEmpty()) continue;
+            Item item = stack.getItem();
+            int tableSlot = HashCommon.mix(System.identityHashCode(item)) & (tableItems.length - 1);
+            while (tableItems[tableSlot] != null && tableItems[tableSlot] != item) {
+                tableSlot = (tableSlot + 1) & (tableItems.length - 1);
+            }
+            if (tableItems[tableSlot] == null) {
+                tableItems[tableSlot] = item;
+                tableFirstSlot[tableSlot] = i;
+            } else {
+                nextSlot[tableLastSlot[tableSlot]] = i;
+            }
+            tableLastSlot[tableSlot] = i;
+        }
+    }
+
+    private int find(Item item) {
+        int tableSlot = HashCommon.mix(System.identityHashCode(item)) & (tableItems.length - 1);
+        while (tableItems[tableSlot] != null) {
+            if (tableItems[tableSlot] == item) return tableSlot;
+            tableSlot = (tableSlot + 1) & (tableItems.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * A list view of the slots of an item handler, like {@link gregtech.api.util.GTUtility#itemHandlerToList}
+     */
+    private static final class ItemHandlerView extends AbstractList<ItemStack> {
+
+        private IItemHandlerModifiable handler;
+
+        @Override
+        public ItemStack set(int index, ItemStack element) {
+            ItemStack oldStack = handler.getStackInSlot(index);
+            handler.setStackInSlot(index, element == null ? ItemStack.EMPTY : element);
+            return oldStack;
+        }
+
+        @Override
+        public ItemStack get(int index) {
+            return handler.getStackInSlot(index);
+        }
+
+        @Override
+        public int size() {
+            return handler.getSlots();
+        }
+    }
+
+    /**
+     * A list view of the tanks of a fluid handler, like {@link gregtech.api.util.GTUtility#fluidHandlerToList}
+     */
+    private static final class FluidHandlerView extends AbstractList<FluidStack> {
+
+        private List<IMultipleTankHandler.MultiFluidTankEntry> tanks;
+
+        @Override
+        public FluidStack set(int index, FluidStack element) {
+            IFluidTank fluidTank = tanks.get(index).getDelegate();
+            FluidStack oldStack = fluidTank.getFluid();
+            if (fluidTank instanceof FluidTank) {
+                ((FluidTank) fluidTank).setFluid(element);
+            }
+            return oldStack;
+        }
+
+        @Override
+        public FluidStack get(int index) {
+            return tanks.get(index).getFluid();
+        }
+
+        @Override
+        public int size() {
+            return tanks.size();
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package gregtech.api.recipes;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableList;
 import crafttweaker.CraftTweakerAPI;
 import crafttweaker.annotations.ZenRegister;
@@ -21,6 +24,7 @@ import gregtech.api.recipes.category.GTRecipeCategory;
 import gregtech.api.recipes.ingredients.GTRecipeInput;
 import gregtech.api.recipes.ingredients.IntCircuitIngredient;
 import gregtech.api.recipes.map.*;
+import gregtech.api.unification.OreDictUnifier;
 import gregtech.api.unification.material.Material;
 import gregtech.api.unification.ore.OrePrefix;
 import gregtech.api.util.*;
@@ -32,6 +36,7 @@ import gregtech.integration.groovy.GroovyScriptModule;
 import gregtech.integration.groovy.VirtualizedRecipeMap;
 import gregtech.modules.GregTechModules;
 import it.unimi.dsi.fastutil.bytes.Byte2ObjectMap;
+import it.unimi.dsi.fastutil.HashCommon;
 import it.unimi.dsi.fastutil.bytes.Byte2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
@@ -52,6 +57,7 @@ import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.DoubleSupplier;
@@ -101,12 +107,27 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 
     private final VirtualizedRecipeMap virtualizedRecipeMap;
     private final Branch lookup = new Branch();
+    private CompiledRecipeLookup compiledLookup;
+    private final RecipeMissCache missCache = new RecipeMissCache(512);
+    /**
+     * Recipes found by machines, keyed by input fingerprint and voltage. Created on first use, by any thread.
+     */
+    private volatile Cache<Long, SharedSearch> lookupCache;
+    /**
+     * Changed whenever a recipe is added or removed
+     */
+    private volatile int recipeGeneration;
+    /**
+     * If a subclass builds its own search ingredients, so searches must go through its hooks instead of {@link RecipeSearchBuffers}
+     */
+    private final boolean customSearchIngredients = overridesSearchHooks(getClass());
     private boolean hasOreDictedInputs = false;
     private boolean hasNBTMatcherInputs = false;
     private static final WeakHashMap<AbstractMapIngredient, WeakReference<AbstractMapIngredient>> ingredientRoot = new WeakHashMap<>();
     private final WeakHashMap<AbstractMapIngredient, WeakReference<AbstractMapIngredient>> fluidIngredientRoot = new WeakHashMap<>();
 
     private final Map<GTRecipeCategory, List<Recipe>> recipeByCategory = new Object2ObjectOpenHashMap<>();
+    private final List<IRecipeMapListener> recipeListeners = new ArrayList<>();
 
     private Consumer<R> onRecipeBuildAction;
     protected SoundEvent sound;
@@ -277,9 +298,11 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
      * Internal usage <strong>only</strong>, use {@link RecipeBuilder#buildAndRegister()}
      *
      * @param validationResult the validation result from building the recipe
-     * @return if adding the recipe was successful
+     * @return if adding the recipe was successful, or true if it was deferred by {@link ParallelRecipeGeneration}
      */
     public boolean addRecipe(@Nonnull ValidationResult<Recipe> validationResult) {
+        ValidationResult<Recipe> builtRecipe = validationResult;
+        if (ParallelRecipeGeneration.defer(() -> addRecipe(builtRecipe))) return true;
         validationResult = postValidateRecipe(validationResult);
         switch (validationResult.getType()) {
             case SKIP -> {
@@ -300,6 +323,9 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 
     /**
      * Compiles a recipe and adds it to the ingredient tree
+     * <p>
+     * The recipe is added right away instead of in a batch once loading ends, as whether it conflicts depends on the
+     * recipes added before it.
      *
      * @param recipe the recipe to compile
      * @return if the recipe was successfully compiled
@@ -310,11 +336,16 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         }
         List<List<AbstractMapIngredient>> items = fromRecipe(recipe);
         if (recurseIngredientTreeAdd(recipe, items, lookup, 0, 0)) {
+            onRecipesChanged();
+            updateCompiledLookup(items);
             recipeByCategory.compute(recipe.getRecipeCategory(), (k, v) -> {
                 if (v == null) v = new ArrayList<>();
                 v.add(recipe);
                 return v;
             });
+            for (IRecipeMapListener listener : recipeListeners) {
+                listener.onRecipeAdded(recipe);
+            }
             return true;
         }
         return false;
@@ -326,10 +357,16 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
      */
     public boolean removeRecipe(@Nonnull Recipe recipe) {
         List<List<AbstractMapIngredient>> items = fromRecipe(recipe);
-        if (recurseIngredientTreeRemove(recipe, items, lookup, 0) != null) {
+        Recipe removed = recurseIngredientTreeRemove(recipe, items, lookup, 0);
+        if (removed != null) {
+            onRecipesChanged();
+            updateCompiledLookup(items);
             if (GroovyScriptModule.isCurrentlyRunning()) {
                 this.virtualizedRecipeMap.addBackup(recipe);
             }
+            for (IRecipeMapListener listener : recipeListeners) {
+                listener.onRecipeRemoved(removed);
+            }
             return true;
         }
         return false;
@@ -345,6 +382,91 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         this.lookup.getRecipes(false).forEach(this.virtualizedRecipeMap::addBackup);
         this.lookup.getNodes().clear();
         this.lookup.getSpecialNodes().clear();
+        onRecipesChanged();
+        if (this.compiledLookup != null) {
+            this.compiledLookup.compile();
+        }
+        for (IRecipeMapListener listener : recipeListeners) {
+            listener.onRecipesCleared();
+        }
+    }
+
+    /**
+     * Adds a listener notified of every recipe added to or removed from this RecipeMap from now on.
+     * Recipes which are already present must be gathered by the listener itself, using {@link #getRecipeList()}.
+     *
+     * @param listener the listener to add
+     */
+    public void addRecipeListener(@Nonnull IRecipeMapListener listener) {
+        this.recipeListeners.add(listener);
+    }
+
+    /**
+     * Invalidates every cached search result
+     */
+    private void onRecipesChanged() {
+        this.recipeGeneration++;
+        Cache<Long, SharedSearch> cache = this.lookupCache;
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Hits include shared recipes which turned out not to match the inputs, for example because of their amounts.
+     *
+     * @return the hit and miss counts of the search results shared between machines, or null if nothing was cached yet
+     */
+    @Nullable
+    public CacheStats getLookupCacheStats() {
+        Cache<Long, SharedSearch> cache = this.lookupCache;
+        return cache == null ? null : cache.stats();
+    }
+
+    /**
+     * Compiles the lookup of every RecipeMap.
+     *
+     * @see #compileLookup()
+     */
+    @ApiStatus.Internal
+    public static void compileLookups() {
+        for (RecipeMap<?> recipeMap : RECIPE_MAP_REGISTRY.values()) {
+            recipeMap.compileLookup();
+        }
+    }
+
+    /**
+     * Freezes the ingredient tree into a flattened {@link CompiledRecipeLookup}, which is used for recipe searches
+     * from then on. Recipes added or removed afterwards are synchronized into it.
+     * <p>
+     * RecipeMaps with NBT matching inputs cannot be compiled, and keep searching the ingredient tree.
+     *
+     * @return if the lookup was compiled
+     */
+    public boolean compileLookup() {
+        CompiledRecipeLookup compiled = new CompiledRecipeLookup(lookup);
+        if (compiled.compile()) {
+            this.compiledLookup = compiled;
+            if (ConfigHolder.misc.debug) {
+                GTLog.logger.info("Compiled lookup of RecipeMap {}: {} nodes, {} ingredients", this.unlocalizedName,
+                        compiled.getNodeCount(), compiled.getIngredientCount());
+            }
+            return true;
+        }
+        this.compiledLookup = null;
+        return false;
+    }
+
+    /**
+     * Synchronizes the compiled lookup, if present, with the ingredient tree.
+     *
+     * @param ingredients the ingredients of the recipe which was added or removed
+     */
+    private void updateCompiledLookup(@Nonnull List<List<AbstractMapIngredient>> ingredients) {
+        if (this.compiledLookup != null && !this.compiledLookup.update(ingredients)) {
+            // the tree now has ingredients which cannot be compiled
+            this.compiledLookup = null;
+        }
     }
 
     /**
@@ -429,9 +551,96 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         return ValidationResult.newResult(recipeStatus, recipe);
     }
 
+    /**
+     * Finds a Recipe matching the Fluid and/or ItemStack Inputs of a machine.
+     * The inventories are read directly, so searching does not allocate.
+     *
+     * @param voltage     Voltage of the Machine or Long.MAX_VALUE if it has no Voltage
+     * @param inputs      the Item Inputs
+     * @param fluidInputs the Fluid Inputs
+     * @return the Recipe it has found or null for no matching Recipe
+     */
     @Nullable
     public Recipe findRecipe(long voltage, IItemHandlerModifiable inputs, IMultipleTankHandler fluidInputs) {
-        return this.findRecipe(voltage, GTUtility.itemHandlerToList(inputs), GTUtility.fluidHandlerToList(fluidInputs));
+        if (customSearchIngredients) {
+            return findRecipe(voltage, GTUtility.itemHandlerToList(inputs), GTUtility.fluidHandlerToList(fluidInputs));
+        }
+        RecipeSearchBuffers buffers = RecipeSearchBuffers.acquire();
+        RecipeInputMatcher matcher = null;
+        try {
+            List<List<AbstractMapIngredient>> list = buffers.prepare(inputs, fluidInputs, hasOreDictedInputs, hasNBTMatcherInputs);
+            if (list == null) return null;
+            // the inputs are indexed once, and every candidate is matched against the same index
+            RecipeInputMatcher inputMatcher = matcher = RecipeInputMatcher.acquire().prepare(inputs, fluidInputs);
+            Predicate<Recipe> canHandle = recipe -> {
+                if (recipe.getEUt() > voltage) {
+                    // there is not enough voltage to consider the recipe valid
+                    return false;
+                }
+                return inputMatcher.matches(recipe, false);
+            };
+
+            Cache<Long, SharedSearch> cache = getLookupCache();
+            if (cache == null) return find(list, canHandle, buffers);
+
+            // machines with the same input types and voltage usually end up with the same recipe.
+            // The key may collide, and the amounts may differ, so a shared recipe is always checked before use
+            Long key = buffers.getFingerprint() ^ HashCommon.mix(voltage);
+            SharedSearch shared = cache.getIfPresent(key);
+            if (shared != null && shared.oreDictGeneration != OreDictUnifier.getOreDictGeneration()) shared = null;
+            if (shared != null && shared.recipe != null && canHandle.test(shared.recipe)) return shared.recipe;
+
+            Recipe recipe = find(list, canHandle, buffers);
+            if (recipe != null && shared == null) {
+                // if the input types reach more than one recipe, the one found depends on the amounts, and sharing it
+                // would make the result depend on which machine searched first
+                Set<Recipe> reachable = new ObjectOpenHashSet<>();
+                recurseIngredientTreeFindRecipeCollisions(list, lookup, reachable);
+                cache.put(key, new SharedSearch(reachable.size() == 1 ? recipe : null));
+            }
+            return recipe;
+        } finally {
+            buffers.release();
+            if (matcher != null) matcher.release();
+        }
+    }
+
+    @Nullable
+    private Cache<Long, SharedSearch> getLookupCache() {
+        Cache<Long, SharedSearch> cache = this.lookupCache;
+        if (cache == null) {
+            int size = ConfigHolder.misc.recipeLookupCacheSize;
+            if (size <= 0) return null;
+            // the client and server threads search the same RecipeMaps in singleplayer
+            synchronized (this) {
+                cache = this.lookupCache;
+                if (cache == null) {
+                    cache = CacheBuilder.newBuilder()
+                            .maximumSize(size)
+                            .recordStats()
+                            .build();
+                    this.lookupCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * A search result shared between machines
+     */
+    private static final class SharedSearch {
+
+        /**
+         * The only recipe the input types reach, or null if they reach several, so every machine must search itself
+         */
+        @Nullable
+        private final Recipe recipe;
+        private final int oreDictGeneration = OreDictUnifier.getOreDictGeneration();
+
+        private SharedSearch(@Nullable Recipe recipe) {
+            this.recipe = recipe;
+        }
     }
 
     /**
@@ -458,24 +667,32 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
      */
     @Nullable
     public Recipe findRecipe(long voltage, final List<ItemStack> inputs, final List<FluidStack> fluidInputs, boolean exactVoltage) {
-        final List<ItemStack> items = inputs.stream().filter(s -> !s.isEmpty()).collect(Collectors.toList());
-        final List<FluidStack> fluids = fluidInputs.stream().filter(f -> f != null && f.amount != 0).collect(Collectors.toList());
-
-        return find(items, fluids, recipe -> {
-            if (exactVoltage && recipe.getEUt() != voltage) {
-                // if exact voltage is required, the recipe is not considered valid
-                return false;
-            }
-            if (recipe.getEUt() > voltage) {
-                // there is not enough voltage to consider the recipe valid
-                return false;
-            }
-            return recipe.matches(false, inputs, fluidInputs);
-        });
+        RecipeInputMatcher matcher = RecipeInputMatcher.acquire();
+        try {
+            matcher.prepare(inputs, fluidInputs);
+            // empty stacks are skipped while building the search ingredients
+            return find(inputs, fluidInputs, recipe -> {
+                if (exactVoltage && recipe.getEUt() != voltage) {
+                    // if exact voltage is required, the recipe is not considered valid
+                    return false;
+                }
+                if (recipe.getEUt() > voltage) {
+                    // there is not enough voltage to consider the recipe valid
+                    return false;
+                }
+                return matcher.matches(recipe, false);
+            });
+        } finally {
+            matcher.release();
+        }
     }
 
     /**
      * Prepares Items and Fluids for use in recipe search
+     * <p>
+     * Searches only go through this, {@link #buildFromItemStacks(List, ItemStack[])} and
+     * {@link #buildFromFluidStacks(List, Iterable)} if one of them is overridden, as they allocate. Otherwise the
+     * search ingredients are built by {@link RecipeSearchBuffers}.
      *
      * @param items  the items to prepare
      * @param fluids the fluids to prepare
@@ -511,10 +728,96 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
      */
     @Nullable
     public Recipe find(@Nonnull Collection<ItemStack> items, @Nonnull Collection<FluidStack> fluids, @Nonnull Predicate<Recipe> canHandle) {
-        List<List<AbstractMapIngredient>> list = prepareRecipeFind(items, fluids);
+        RecipeSearchBuffers buffers = RecipeSearchBuffers.acquire();
+        try {
+            // the buffers always fingerprint the inputs, even if the overridden hooks build the ingredients
+            List<List<AbstractMapIngredient>> list = buffers.prepare(items, fluids, hasOreDictedInputs, hasNBTMatcherInputs);
+            if (list != null && customSearchIngredients) {
+                list = prepareRecipeFind(nonEmptyItems(items), nonEmptyFluids(fluids));
+            }
+            return find(list, canHandle, buffers);
+        } finally {
+            buffers.release();
+        }
+    }
+
+    /**
+     * Finds a recipe using the Items and Fluids of a machine's inventories, without copying them.
+     *
+     * @param items     the item inventory
+     * @param fluids    the fluid inventory
+     * @param canHandle a predicate for determining if a recipe is valid
+     * @return the recipe found
+     */
+    @Nullable
+    public Recipe find(@Nonnull IItemHandlerModifiable items, @Nonnull IMultipleTankHandler fluids, @Nonnull Predicate<Recipe> canHandle) {
+        if (customSearchIngredients) {
+            return find(GTUtility.itemHandlerToList(items), GTUtility.fluidHandlerToList(fluids), canHandle);
+        }
+        RecipeSearchBuffers buffers = RecipeSearchBuffers.acquire();
+        try {
+            return find(buffers.prepare(items, fluids, hasOreDictedInputs, hasNBTMatcherInputs), canHandle, buffers);
+        } finally {
+            buffers.release();
+        }
+    }
+
+    @Nonnull
+    private static List<ItemStack> nonEmptyItems(@Nonnull Collection<ItemStack> items) {
+        List<ItemStack> list = new ArrayList<>(items.size());
+        for (ItemStack stack : items) {
+            if (!stack.isEmpty()) list.add(stack);
+        }
+        return list;
+    }
+
+    @Nonnull
+    private static List<FluidStack> nonEmptyFluids(@Nonnull Collection<FluidStack> fluids) {
+        List<FluidStack> list = new ArrayList<>(fluids.size());
+        for (FluidStack stack : fluids) {
+            if (stack != null && stack.amount != 0) list.add(stack);
+        }
+        return list;
+    }
+
+    /**
+     * @param type the class of a RecipeMap
+     * @return if the class overrides a hook building search ingredients
+     */
+    private static boolean overridesSearchHooks(@Nonnull Class<?> type) {
+        for (Class<?> c = type; c != RecipeMap.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                switch (method.getName()) {
+                    case "prepareRecipeFind", "buildFromItemStacks", "buildFromFluidStacks" -> {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private Recipe find(@Nullable List<List<AbstractMapIngredient>> list, @Nonnull Predicate<Recipe> canHandle,
+                        @Nonnull RecipeSearchBuffers buffers) {
         // couldn't build any inputs to use for search, so no recipe could be found
         if (list == null) return null;
-        return recurseIngredientTreeFindRecipe(list, lookup, canHandle);
+
+        // these input types reached no recipe before, so they cannot reach one now, whatever their amounts
+        long fingerprint = buffers.getFingerprint();
+        int generation = this.recipeGeneration;
+        if (missCache.contains(fingerprint, generation)) return null;
+
+        Predicate<Recipe> countingCanHandle = buffers.countCandidates(canHandle);
+        Recipe recipe = compiledLookup != null ?
+                compiledLookup.find(list, countingCanHandle, buffers) :
+                recurseIngredientTreeFindRecipe(list, lookup, countingCanHandle);
+
+        // only cache searches which never reached a recipe, as the others may fail on amounts or voltage
+        if (recipe == null && buffers.getCandidateCount() == 0) {
+            missCache.add(fingerprint, generation);
+        }
+        return recipe;
     }
 
     /**
@@ -623,18 +926,23 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         if (count == ingredients.size()) return null;
 
         // Iterate over current level of nodes.
-        for (AbstractMapIngredient obj : ingredients.get(index)) {
-            // determine the root nodes
-            Map<AbstractMapIngredient, Either<Recipe, Branch>> targetMap = determineRootNodes(obj, branchMap);
-
-            Either<Recipe, Branch> result = targetMap.get(obj);
+        List<AbstractMapIngredient> wrappers = ingredients.get(index);
+        for (int i = 0; i < wrappers.size(); i++) {
+            // looked up without creating missing node maps or capturing lambdas, so searching does not allocate
+            Either<Recipe, Branch> result = branchMap.getTarget(wrappers.get(i));
             if (result != null) {
                 // if there is a recipe (left mapping), return it immediately as found, if it can be handled
                 // Otherwise, recurse and go to the next branch.
-                Recipe r = result.map(potentialRecipe -> canHandle.test(potentialRecipe) ? potentialRecipe : null,
-                        potentialBranch -> diveIngredientTreeFindRecipe(ingredients, potentialBranch, canHandle, index, count, skip));
+                Recipe r = result.getLeft();
                 if (r != null) {
-                    return r;
+                    if (canHandle.test(r)) {
+                        return r;
+                    }
+                } else {
+                    r = diveIngredientTreeFindRecipe(ingredients, result.getRight(), canHandle, index, count, skip);
+                    if (r != null) {
+                        return r;
+                    }
                 }
             }
         }
@@ -725,10 +1033,8 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         List<AbstractMapIngredient> wr = ingredients.get(index);
         // Iterate over current level of nodes.
         for (AbstractMapIngredient obj : wr) {
-            // determine the root nodes
-            Map<AbstractMapIngredient, Either<Recipe, Branch>> targetMap = determineRootNodes(obj, branchMap);
-
-            Either<Recipe, Branch> result = targetMap.get(obj);
+            // the walk is read-only, as machines may use it while searching
+            Either<Recipe, Branch> result = branchMap.getTarget(obj);
             if (result != null) {
                 // if there is a recipe (left mapping), return it immediately as found
                 // Otherwise, recurse and go to the next branch.
@@ -1073,6 +1379,8 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 
     /**
      * Populates a list of MapIngredients from a list of FluidStacks
+     * <p>
+     * Overriding this makes searches of this RecipeMap allocate, see {@link #prepareRecipeFind(Collection, Collection)}.
      *
      * @param list        the list to populate
      * @param ingredients the ingredients to convert
@@ -1149,6 +1457,8 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 
     /**
      * Populates a list of MapIngredients from a list of ItemStacks
+     * <p>
+     * Overriding this makes searches of this RecipeMap allocate, see {@link #prepareRecipeFind(Collection, Collection)}.
      *
      * @param list        the list to populate
      * @param ingredients the ingredients to convert
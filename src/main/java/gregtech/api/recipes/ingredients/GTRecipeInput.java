@@ -43,12 +43,26 @@ public abstract class GTRecipeInput {
     protected NBTMatcher nbtMatcher;
     protected NBTCondition nbtCondition;
 
+    /**
+     * The amount of copies {@link #getScaledCopy(int)} keeps per ingredient
+     */
+    private static final int SCALED_COPIES = 4;
+
+    /**
+     * The last copies made by {@link #getScaledCopy(int)}, most recent first. Replaced instead of modified,
+     * as the interned ingredients are shared by the client and server threads
+     */
+    private volatile GTRecipeInput[] scaledCopies;
+
     static GTRecipeInput getFromCache(GTRecipeInput realIngredient) {
-        GTRecipeInput cachedIngredient = INSTANCES.get(realIngredient);
-        if (cachedIngredient == null) {
-            INSTANCES.add(cachedIngredient = realIngredient);
+        // recipes may be generated on multiple threads
+        synchronized (GTRecipeInput.class) {
+            GTRecipeInput cachedIngredient = INSTANCES.get(realIngredient);
+            if (cachedIngredient == null) {
+                INSTANCES.add(cachedIngredient = realIngredient);
+            }
+            return cachedIngredient;
         }
-        return cachedIngredient;
     }
 
     public static GTRecipeInput getOrCreate(GTRecipeInput gtRecipeIngredient) {
@@ -70,6 +84,30 @@ public abstract class GTRecipeInput {
      */
     public abstract GTRecipeInput copyWithAmount(int amount);
 
+    /**
+     * Returns a copy of the ingredient with the given amount, reusing one of the last copies if it had the same amount.
+     * Parallel recipes usually scale the same ingredients by the same few amounts for every batch,
+     * and ingredients are immutable, so the copies can be shared.
+     *
+     * @return returns a copy of the GTRecipeInput with the given amount.
+     */
+    public GTRecipeInput getScaledCopy(int amount) {
+        GTRecipeInput[] copies = this.scaledCopies;
+        if (copies != null) {
+            for (GTRecipeInput copy : copies) {
+                if (copy.amount == amount) return copy;
+            }
+        }
+        GTRecipeInput copy = copyWithAmount(amount);
+        // a copy added by another thread at the same time may be lost, which only costs another copy later
+        int size = copies == null ? 0 : Math.min(copies.length, SCALED_COPIES - 1);
+        GTRecipeInput[] newCopies = new GTRecipeInput[size + 1];
+        newCopies[0] = copy;
+        if (size > 0) System.arraycopy(copies, 0, newCopies, 1, size);
+        this.scaledCopies = newCopies;
+        return copy;
+    }
+
     public GTRecipeInput setNonConsumable() {
         GTRecipeInput copy = copy();
         copy.isConsumable = false;
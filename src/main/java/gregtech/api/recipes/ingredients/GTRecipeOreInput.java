@@ -11,10 +11,13 @@ import java.util.Objects;
 
 public class GTRecipeOreInput extends GTRecipeInput {
     int ore;
-    ItemStack[] inputStacks;
+    volatile ItemStack[] inputStacks;
 
     protected GTRecipeOreInput(String ore, int amount) {
-        this.ore = OreDictionary.getOreID(ore);
+        // registers the name if it is new, while recipes may be generated on multiple threads
+        synchronized (OreDictionary.class) {
+            this.ore = OreDictionary.getOreID(ore);
+        }
         this.amount = amount;
     }
 
@@ -62,11 +65,16 @@ public class GTRecipeOreInput extends GTRecipeInput {
     @Override
     public ItemStack[] getInputStacks() {
         if (this.inputStacks == null) {
-            inputStacks = (OreDictionary.getOres(OreDictionary.getOreName(ore)).stream().map(is -> {
-                is = is.copy();
-                is.setCount(this.amount);
-                return is;
-            })).toArray(ItemStack[]::new);
+            // looking up the ores by name registers the name if it is new, see the constructor
+            synchronized (OreDictionary.class) {
+                if (this.inputStacks == null) {
+                    inputStacks = (OreDictionary.getOres(OreDictionary.getOreName(ore)).stream().map(is -> {
+                        is = is.copy();
+                        is.setCount(this.amount);
+                        return is;
+                    })).toArray(ItemStack[]::new);
+                }
+            }
         }
         return inputStacks;
     }
@@ -127,7 +135,9 @@ public class GTRecipeOreInput extends GTRecipeInput {
 
     @Override
     public String toString() {
-        //noinspection StringConcatenationMissingWhitespace
-        return amount + "x" + OreDictionary.getOreName(ore);
+        synchronized (OreDictionary.class) {
+            //noinspection StringConcatenationMissingWhitespace
+            return amount + "x" + OreDictionary.getOreName(ore);
+        }
     }
 }
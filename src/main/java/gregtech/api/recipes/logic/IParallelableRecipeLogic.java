@@ -10,6 +10,7 @@ import gregtech.api.recipes.RecipeMap;
 import net.minecraftforge.items.IItemHandlerModifiable;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public interface IParallelableRecipeLogic {
 
@@ -47,7 +48,16 @@ public interface IParallelableRecipeLogic {
                 fluidOutputs,
                 parallelLimit,
                 maxVoltage,
-                voidable);
+                voidable,
+                getInputCountCache());
+    }
+
+    /**
+     * @return the cache of the counted input inventories, or null if they should be counted every time
+     */
+    @Nullable
+    default InputCountCache getInputCountCache() {
+        return null;
     }
 
     /**
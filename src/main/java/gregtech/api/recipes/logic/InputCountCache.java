@@ -0,0 +1,65 @@
+package gregtech.api.recipes.logic;
+
+import gregtech.api.recipes.FluidKey;
+import gregtech.api.util.GTHashMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+import net.minecraftforge.items.IItemHandler;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Caches the counted contents of a recipe logic's input inventories, as built by
+ * {@link GTHashMaps#fromItemHandler(IItemHandler)} and {@link GTHashMaps#fromFluidHandler(IFluidHandler)}.
+ * <p>
+ * Counting copies every stack of the inventory, which parallel recipes would otherwise repeat for every batch.
+ * The counts are handed out as read-only views, so they are neither copied nor modified by their users.
+ * The owner must {@link #invalidate()} the cache whenever the inputs may have changed, like when they were notified.
+ */
+public class InputCountCache {
+
+    private IItemHandler itemHandler;
+    private Object2IntMap<ItemStack> itemCounts;
+    private IFluidHandler fluidHandler;
+    private Map<FluidKey, Integer> fluidCounts;
+
+    /**
+     * Drops the cached counts, so they are counted again on their next use
+     */
+    public void invalidate() {
+        this.itemHandler = null;
+        this.itemCounts = null;
+        this.fluidHandler = null;
+        this.fluidCounts = null;
+    }
+
+    /**
+     * @param inputs the item inputs
+     * @return a read-only view of the counted items of the inputs, shared by every call until invalidated
+     */
+    @Nonnull
+    public Object2IntMap<ItemStack> getItemCounts(@Nonnull IItemHandler inputs) {
+        if (itemCounts == null || itemHandler != inputs) {
+            this.itemCounts = Object2IntMaps.unmodifiable(GTHashMaps.fromItemHandler(inputs));
+            this.itemHandler = inputs;
+        }
+        return itemCounts;
+    }
+
+    /**
+     * @param fluidInputs the fluid inputs
+     * @return a read-only view of the counted fluids of the inputs, shared by every call until invalidated
+     */
+    @Nonnull
+    public Map<FluidKey, Integer> getFluidCounts(@Nonnull IFluidHandler fluidInputs) {
+        if (fluidCounts == null || fluidHandler != fluidInputs) {
+            this.fluidCounts = Collections.unmodifiableMap(GTHashMaps.fromFluidHandler(fluidInputs));
+            this.fluidHandler = fluidInputs;
+        }
+        return fluidCounts;
+    }
+}
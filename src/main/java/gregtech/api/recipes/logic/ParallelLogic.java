@@ -21,6 +21,7 @@ import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.items.IItemHandlerModifiable;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.*;
 
 public abstract class ParallelLogic {
@@ -34,11 +35,23 @@ public abstract class ParallelLogic {
      */
 
     public static int getMaxRecipeMultiplier(@Nonnull Recipe recipe, @Nonnull IItemHandlerModifiable inputs, @Nonnull IMultipleTankHandler fluidInputs, int parallelAmount) {
+        return getMaxRecipeMultiplier(recipe, inputs, fluidInputs, parallelAmount, null);
+    }
+
+    /**
+     * @param recipe         The recipe
+     * @param inputs         The item inputs
+     * @param fluidInputs    the fluid inputs
+     * @param parallelAmount hard cap on the amount returned
+     * @param countCache     the cache of the counted inputs, or null to count them
+     * @return returns the amount of possible time a recipe can be made from a given input inventory
+     */
+    public static int getMaxRecipeMultiplier(@Nonnull Recipe recipe, @Nonnull IItemHandlerModifiable inputs, @Nonnull IMultipleTankHandler fluidInputs, int parallelAmount, @Nullable InputCountCache countCache) {
         // Find all the items in the combined Item Input inventories and create oversized ItemStacks
-        Object2IntMap<ItemStack> ingredientStacks = GTHashMaps.fromItemHandler(inputs);
+        Object2IntMap<ItemStack> ingredientStacks = countCache == null ? GTHashMaps.fromItemHandler(inputs) : countCache.getItemCounts(inputs);
 
         // Find all the fluids in the combined Fluid Input inventories and create oversized FluidStacks
-        Map<FluidKey, Integer> fluidStacks = GTHashMaps.fromFluidHandler(fluidInputs);
+        Map<FluidKey, Integer> fluidStacks = countCache == null ? GTHashMaps.fromFluidHandler(fluidInputs) : countCache.getFluidCounts(fluidInputs);
 
         // Find the maximum number of recipes that can be performed from the items in the item input inventories
         int itemMultiplier = getMaxRatioItem(ingredientStacks, recipe, parallelAmount);
@@ -274,7 +287,8 @@ public abstract class ParallelLogic {
     /**
      * Finds the maximum number of Recipes that can be performed at the same time based on the items in the item input inventory
      *
-     * @param countIngredients a {@link Map} of {@link ItemStack}s that is the result of calling {@link GTHashMaps#fromItemHandler(IItemHandler)}
+     * @param countIngredients a {@link Map} of {@link ItemStack}s that is the result of calling {@link GTHashMaps#fromItemHandler(IItemHandler)},
+     *                         which is only read
      * @param recipe           The {@link Recipe} for which to find the maximum that can be run simultaneously
      * @param parallelAmount   The limit on the amount of recipes that can be performed at one time
      * @return The Maximum number of Recipes that can be performed at a single time based on the available Items
@@ -297,20 +311,26 @@ public abstract class ParallelLogic {
             }
         }
 
+        // the amounts of each inventory entry, in iteration order, held back for the not consumable ingredients,
+        // so the inventory map is never modified and may be shared
+        int[] reserved = notConsumableMap.isEmpty() ? null : new int[countIngredients.size()];
+
         // Iterate through the recipe inputs, excluding the not consumable ingredients from the inventory map
         for (Object2IntMap.Entry<GTRecipeInput> recipeInputEntry : notConsumableMap.object2IntEntrySet()) {
             int needed = recipeInputEntry.getIntValue();
             int available = 0;
+            int index = 0;
             // For every stack in the ingredients gathered from the input bus.
             for (Object2IntMap.Entry<ItemStack> inventoryEntry : countIngredients.object2IntEntrySet()) {
+                int entryIndex = index++;
                 if (recipeInputEntry.getKey().acceptsStack(inventoryEntry.getKey())) {
-                    available = inventoryEntry.getIntValue();
+                    available = inventoryEntry.getIntValue() - reserved[entryIndex];
                     if (available > needed) {
-                        inventoryEntry.setValue(available - needed);
+                        reserved[entryIndex] += needed;
                         needed -= available;
                         break;
                     } else {
-                        inventoryEntry.setValue(0);
+                        reserved[entryIndex] += available;
                         recipeInputEntry.setValue(needed - available);
                         needed -= available;
                     }
@@ -334,10 +354,12 @@ public abstract class ParallelLogic {
         for (Object2IntMap.Entry<GTRecipeInput> recipeInputEntry : countableMap.object2IntEntrySet()) {
             int needed = recipeInputEntry.getIntValue();
             int available = 0;
+            int index = 0;
             // For every stack in the ingredients gathered from the input bus.
             for (Object2IntMap.Entry<ItemStack> inventoryEntry : countIngredients.object2IntEntrySet()) {
+                int entryIndex = index++;
                 if (recipeInputEntry.getKey().acceptsStack(inventoryEntry.getKey())) {
-                    available += inventoryEntry.getIntValue();
+                    available += inventoryEntry.getIntValue() - (reserved == null ? 0 : reserved[entryIndex]);
                 }
             }
             if (available >= needed) {
@@ -355,7 +377,8 @@ public abstract class ParallelLogic {
     /**
      * Finds the maximum number of a specific recipe that can be performed based upon the fluids in the fluid inputs
      *
-     * @param countFluid     a {@link Set} of {@link FluidStack}s that is the result of calling {@link GTHashMaps#fromFluidHandler(IFluidHandler)}
+     * @param countFluid     a {@link Set} of {@link FluidStack}s that is the result of calling {@link GTHashMaps#fromFluidHandler(IFluidHandler)},
+     *                       which is only read
      * @param recipe         The {@link Recipe} for which to find the maximum that can be run simultaneously
      * @param parallelAmount The limit on the amount of recipes that can be performed at one time
      * @return The Maximum number of Recipes that can be performed at a single time based on the available Fluids
@@ -377,22 +400,28 @@ public abstract class ParallelLogic {
             }
         }
 
+        // the amounts of each fluid entry, in iteration order, held back for the not consumable fluids,
+        // so the fluid map is never modified and may be shared
+        int[] reserved = notConsumableMap.isEmpty() ? null : new int[countFluid.size()];
+
         // Iterate through the recipe inputs, excluding the not consumable fluids from the fluid inventory map
         for (Map.Entry<FluidKey, Integer> notConsumableFluid : notConsumableMap.entrySet()) {
             int needed = notConsumableFluid.getValue();
             int available = 0;
+            int index = 0;
             // For every fluid gathered from the fluid inputs.
             for (Map.Entry<FluidKey, Integer> inputFluid : countFluid.entrySet()) {
+                int entryIndex = index++;
                 // Strip the Non-consumable tags here, as FluidKey compares the tags, which causes finding matching fluids
                 // in the input tanks to fail, because there is nothing in those hatches with a non-consumable tag
                 if (notConsumableFluid.getKey().equals(inputFluid.getKey())) {
-                    available = inputFluid.getValue();
+                    available = inputFluid.getValue() - reserved[entryIndex];
                     if (available > needed) {
-                        inputFluid.setValue(available - needed);
+                        reserved[entryIndex] += needed;
                         needed -= available;
                         break;
                     } else {
-                        inputFluid.setValue(0);
+                        reserved[entryIndex] += available;
                         notConsumableFluid.setValue(needed - available);
                         needed -= available;
                     }
@@ -416,10 +445,12 @@ public abstract class ParallelLogic {
         for (Map.Entry<FluidKey, Integer> fs : fluidCountMap.entrySet()) {
             int needed = fs.getValue();
             int available = 0;
+            int index = 0;
             // For every fluid gathered from the fluid inputs.
             for (Map.Entry<FluidKey, Integer> inputFluid : countFluid.entrySet()) {
+                int entryIndex = index++;
                 if (fs.getKey().equals(inputFluid.getKey())) {
-                    available += inputFluid.getValue();
+                    available += inputFluid.getValue() - (reserved == null ? 0 : reserved[entryIndex]);
                 }
             }
             if (available >= needed) {
@@ -436,8 +467,12 @@ public abstract class ParallelLogic {
 
     // At this point, the recipe is already trimmed according to the item and fluid output limit, so we just need to take care of voiding
     public static RecipeBuilder<?> doParallelRecipes(@Nonnull Recipe currentRecipe, @Nonnull RecipeMap<?> recipeMap, @Nonnull IItemHandlerModifiable importInventory, @Nonnull IMultipleTankHandler importFluids, @Nonnull IItemHandlerModifiable exportInventory, @Nonnull IMultipleTankHandler exportFluids, int parallelAmount, long maxVoltage, @Nonnull IVoidable voidable) {
+        return doParallelRecipes(currentRecipe, recipeMap, importInventory, importFluids, exportInventory, exportFluids, parallelAmount, maxVoltage, voidable, null);
+    }
+
+    public static RecipeBuilder<?> doParallelRecipes(@Nonnull Recipe currentRecipe, @Nonnull RecipeMap<?> recipeMap, @Nonnull IItemHandlerModifiable importInventory, @Nonnull IMultipleTankHandler importFluids, @Nonnull IItemHandlerModifiable exportInventory, @Nonnull IMultipleTankHandler exportFluids, int parallelAmount, long maxVoltage, @Nonnull IVoidable voidable, @Nullable InputCountCache countCache) {
         // First check if we are limited by recipe inputs. This can short circuit a lot of consecutive checking
-        int multiplierByInputs = getMaxRecipeMultiplier(currentRecipe, importInventory, importFluids, parallelAmount);
+        int multiplierByInputs = getMaxRecipeMultiplier(currentRecipe, importInventory, importFluids, parallelAmount, countCache);
         if (multiplierByInputs == 0) {
             return null;
         }
@@ -8,7 +8,16 @@ public abstract class AbstractMapIngredient {
     private boolean hashed = false;
 
     protected AbstractMapIngredient() {
-        this.objClass = getClass();
+        this.objClass = getKeyClass();
+    }
+
+    /**
+     * Called from the constructor, so it must not depend on the state of the ingredient.
+     *
+     * @return the class ingredients must share to be equal, which search keys override to match the ingredient they look up
+     */
+    Class<? extends AbstractMapIngredient> getKeyClass() {
+        return getClass();
     }
 
     protected abstract int hash();
@@ -4,6 +4,7 @@ import gregtech.api.recipes.Recipe;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -53,4 +54,32 @@ public class Branch {
         }
         return specialNodes;
     }
+
+    /**
+     * Gets the target of an ingredient without creating the node maps, so searching does not allocate.
+     *
+     * @param ingredient the ingredient to look up
+     * @return the recipe or branch the ingredient leads to, or null if there is none
+     */
+    @Nullable
+    public Either<Recipe, Branch> getTarget(@Nonnull AbstractMapIngredient ingredient) {
+        Map<AbstractMapIngredient, Either<Recipe, Branch>> map = ingredient.isSpecialIngredient() ? specialNodes : nodes;
+        return map == null ? null : map.get(ingredient);
+    }
+
+    /**
+     * @return the nodes of this branch without creating them, for read-only access
+     */
+    @Nullable
+    Map<AbstractMapIngredient, Either<Recipe, Branch>> peekNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return the special nodes of this branch without creating them, for read-only access
+     */
+    @Nullable
+    Map<AbstractMapIngredient, Either<Recipe, Branch>> peekSpecialNodes() {
+        return specialNodes;
+    }
 }
@@ -0,0 +1,412 @@
+package gregtech.api.recipes.map;
+
+import gregtech.api.recipes.Recipe;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A flattened copy of a {@link Branch} tree, used for recipe lookup.
+ * <p>
+ * Ingredients are interned to int ids, and every branch is stored as a node pointing at a segment of two flat
+ * arrays: the sorted ingredient ids of the node, and the value for each of them.
+ * A value {@code >= 0} is the child node to continue the search in, while a negative value {@code v} is the recipe
+ * with the id {@code -(v + 1)}.
+ * <p>
+ * The source {@link Branch} tree stays the source of truth, and is still used for adding and removing recipes.
+ * After each change, only the nodes on the paths of the changed recipe are synchronized with it.
+ * As the tree is kept, the lookup adds to the memory used by its RecipeMap. Its arrays are trimmed after every
+ * full compile to keep that cost down.
+ * Trees containing special ingredients cannot be compiled, as those are matched by equality instead of hash.
+ */
+public class CompiledRecipeLookup {
+
+    private static final int ROOT = 0;
+    private static final int MISSING = -1;
+    private static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    private final Branch root;
+
+    private final Object2IntOpenHashMap<AbstractMapIngredient> ingredientIds = new Object2IntOpenHashMap<>();
+    private final Reference2IntOpenHashMap<Branch> nodeIds = new Reference2IntOpenHashMap<>();
+    private final Reference2IntOpenHashMap<Recipe> recipeIds = new Reference2IntOpenHashMap<>();
+
+    private Recipe[] recipes = new Recipe[16];
+    private int recipeCount;
+
+    private int[] nodeOffsets = new int[16];
+    private int[] nodeSizes = new int[16];
+    private int[] nodeCapacities = new int[16];
+    private int nodeCount;
+    private int compiledNodeCount;
+
+    private int[] keys = new int[64];
+    private int[] values = new int[64];
+    private int arenaSize;
+    private int wastedArena;
+
+    private boolean supported;
+
+    public CompiledRecipeLookup(@Nonnull Branch root) {
+        this.root = root;
+        this.ingredientIds.defaultReturnValue(MISSING);
+        this.nodeIds.defaultReturnValue(MISSING);
+        this.recipeIds.defaultReturnValue(MISSING);
+    }
+
+    /**
+     * Compiles the whole source tree, discarding everything compiled before.
+     *
+     * @return if the tree could be compiled
+     */
+    public boolean compile() {
+        this.ingredientIds.clear();
+        this.nodeIds.clear();
+        this.recipeIds.clear();
+        Arrays.fill(this.recipes, 0, this.recipeCount, null);
+        this.recipeCount = 0;
+        this.nodeCount = 0;
+        this.arenaSize = 0;
+        this.wastedArena = 0;
+        this.supported = true;
+
+        compileBranch(root);
+        this.compiledNodeCount = nodeCount;
+        trim();
+        return supported;
+    }
+
+    /**
+     * Synchronizes the compiled nodes with the source tree, after a recipe was added or removed.
+     *
+     * @param ingredients the ingredients of the added or removed recipe
+     * @return if the tree can still be represented by this lookup
+     */
+    public boolean update(@Nonnull List<List<AbstractMapIngredient>> ingredients) {
+        if (!supported) return false;
+
+        Set<AbstractMapIngredient> changed = new ObjectOpenHashSet<>();
+        for (List<AbstractMapIngredient> list : ingredients) {
+            for (AbstractMapIngredient ingredient : list) {
+                if (ingredient.isSpecialIngredient()) {
+                    this.supported = false;
+                    return false;
+                }
+                changed.add(ingredient);
+            }
+        }
+
+        synchronize(root, changed, new ReferenceOpenHashSet<>());
+
+        // replaced segments and detached nodes are never reused, so start over once they make up half of the lookup
+        if (supported && (nodeCount > 2 * compiledNodeCount + 64 || wastedArena > arenaSize / 2 + 64)) {
+            compile();
+        }
+        return supported;
+    }
+
+    /**
+     * Finds a recipe, following the same search order as the source tree.
+     *
+     * @param ingredients the ingredients to search with
+     * @param canHandle   if the found recipe is valid
+     * @param buffers     the buffers to store the ingredient ids in
+     * @return the recipe found
+     */
+    @Nullable
+    public Recipe find(@Nonnull List<List<AbstractMapIngredient>> ingredients, @Nonnull Predicate<Recipe> canHandle,
+                       @Nonnull RecipeSearchBuffers buffers) {
+        int count = ingredients.size();
+        int[][] ids = buffers.getIds(count);
+        int[] sizes = buffers.getIdSizes(count);
+        for (int i = 0; i < count; i++) {
+            List<AbstractMapIngredient> list = ingredients.get(i);
+            int[] listIds = buffers.getIdBuffer(i, list.size());
+            int size = 0;
+            for (int j = 0; j < list.size(); j++) {
+                AbstractMapIngredient ingredient = list.get(j);
+                if (ingredient.isSpecialIngredient()) continue;
+                int id = ingredientIds.getInt(ingredient);
+                // an ingredient without id is in no recipe, so it can never match
+                if (id != MISSING) listIds[size++] = id;
+            }
+            sizes[i] = size;
+        }
+
+        // Try each ingredient as a starting point, adding it to the skip-list.
+        // The skip-list is a packed long, where each 1 bit represents an index to skip
+        for (int i = 0; i < count; i++) {
+            Recipe r = find(ids, sizes, count, ROOT, canHandle, i, 0, 1L << i);
+            if (r != null) {
+                return r;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private Recipe find(@Nonnull int[][] ids, @Nonnull int[] sizes, int length, int node, @Nonnull Predicate<Recipe> canHandle,
+                        int index, int count, long skip) {
+        // exhausted all the ingredients, and didn't find anything
+        if (count == length) return null;
+
+        int[] ingredients = ids[index];
+        for (int i = 0; i < sizes[index]; i++) {
+            int value = getValue(node, ingredients[i]);
+            if (value == NOT_FOUND) continue;
+
+            if (value < 0) {
+                Recipe recipe = recipes[-(value + 1)];
+                if (canHandle.test(recipe)) {
+                    return recipe;
+                }
+            } else {
+                Recipe r = dive(ids, sizes, length, value, canHandle, index, count, skip);
+                if (r != null) {
+                    return r;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private Recipe dive(@Nonnull int[][] ids, @Nonnull int[] sizes, int length, int node, @Nonnull Predicate<Recipe> canHandle,
+                        int currentIndex, int count, long skip) {
+        // We loop around length if we reach the end.
+        // only end when all ingredients are exhausted, or a recipe is found
+        int i = (currentIndex + 1) % length;
+        while (i != currentIndex) {
+            // Have we already used this ingredient? If so, skip this one.
+            if ((skip & (1L << i)) == 0) {
+                Recipe found = find(ids, sizes, length, node, canHandle, i, count + 1, skip | (1L << i));
+                if (found != null) {
+                    return found;
+                }
+            }
+            i = (i + 1) % length;
+        }
+        return null;
+    }
+
+    /**
+     * @return the amount of nodes in the lookup, including detached ones waiting for the next full compile
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return the amount of distinct ingredients known to the lookup
+     */
+    public int getIngredientCount() {
+        return ingredientIds.size();
+    }
+
+    /**
+     * @return the amount of int slots used by node segments
+     */
+    public int getArenaSize() {
+        return arenaSize;
+    }
+
+    /**
+     * Drops the unused capacity of the lookup, which grows by half again whenever it is full
+     */
+    private void trim() {
+        this.ingredientIds.trim();
+        this.nodeIds.trim();
+        this.recipeIds.trim();
+        // every compiled tree has a root node, and the lengths must stay positive to be doubled
+        this.recipes = Arrays.copyOf(recipes, Math.max(recipeCount, 1));
+        this.nodeOffsets = Arrays.copyOf(nodeOffsets, nodeCount);
+        this.nodeSizes = Arrays.copyOf(nodeSizes, nodeCount);
+        this.nodeCapacities = Arrays.copyOf(nodeCapacities, nodeCount);
+        this.keys = Arrays.copyOf(keys, arenaSize);
+        this.values = Arrays.copyOf(values, arenaSize);
+    }
+
+    private int compileBranch(@Nonnull Branch branch) {
+        int node = nodeIds.getInt(branch);
+        if (node != MISSING) return node;
+
+        Map<AbstractMapIngredient, Either<Recipe, Branch>> special = branch.peekSpecialNodes();
+        if (special != null && !special.isEmpty()) {
+            this.supported = false;
+        }
+
+        Map<AbstractMapIngredient, Either<Recipe, Branch>> nodes = branch.peekNodes();
+        int size = nodes == null ? 0 : nodes.size();
+        node = allocateNode(size);
+        nodeIds.put(branch, node);
+        if (size == 0) return node;
+
+        // pack each entry as (ingredient << 32 | value), so sorting orders the segment by ingredient id
+        long[] entries = new long[size];
+        int i = 0;
+        for (Map.Entry<AbstractMapIngredient, Either<Recipe, Branch>> entry : nodes.entrySet()) {
+            long ingredient = getOrCreateIngredientId(entry.getKey());
+            entries[i++] = (ingredient << 32) | (compileTarget(entry.getValue()) & 0xFFFFFFFFL);
+        }
+        Arrays.sort(entries);
+
+        // compiling the children may have moved the arena, so only read the offset now
+        int offset = nodeOffsets[node];
+        for (i = 0; i < size; i++) {
+            keys[offset + i] = (int) (entries[i] >>> 32);
+            values[offset + i] = (int) entries[i];
+        }
+        nodeSizes[node] = size;
+        return node;
+    }
+
+    private int compileTarget(@Nonnull Either<Recipe, Branch> target) {
+        if (target.left().isPresent()) {
+            return encodeRecipe(target.left().get());
+        }
+        return compileBranch(target.right().get());
+    }
+
+    private void synchronize(@Nonnull Branch branch, @Nonnull Set<AbstractMapIngredient> changed, @Nonnull Set<Branch> visited) {
+        if (!visited.add(branch)) return;
+
+        Map<AbstractMapIngredient, Either<Recipe, Branch>> special = branch.peekSpecialNodes();
+        if (special != null && !special.isEmpty()) {
+            this.supported = false;
+            return;
+        }
+
+        int node = nodeIds.getInt(branch);
+        Map<AbstractMapIngredient, Either<Recipe, Branch>> nodes = branch.peekNodes();
+        for (AbstractMapIngredient ingredient : changed) {
+            Either<Recipe, Branch> target = nodes == null ? null : nodes.get(ingredient);
+            if (target == null) {
+                int id = ingredientIds.getInt(ingredient);
+                if (id != MISSING) removeValue(node, id);
+                continue;
+            }
+
+            int value;
+            if (target.left().isPresent()) {
+                value = encodeRecipe(target.left().get());
+            } else {
+                Branch child = target.right().get();
+                value = nodeIds.getInt(child);
+                if (value == MISSING) {
+                    // a new branch, compile it fully
+                    value = compileBranch(child);
+                } else {
+                    synchronize(child, changed, visited);
+                }
+            }
+            putValue(node, getOrCreateIngredientId(ingredient), value);
+        }
+    }
+
+    private int getOrCreateIngredientId(@Nonnull AbstractMapIngredient ingredient) {
+        int id = ingredientIds.getInt(ingredient);
+        if (id == MISSING) {
+            id = ingredientIds.size();
+            ingredientIds.put(ingredient, id);
+        }
+        return id;
+    }
+
+    private int encodeRecipe(@Nonnull Recipe recipe) {
+        int id = recipeIds.getInt(recipe);
+        if (id == MISSING) {
+            id = recipeCount++;
+            if (id == recipes.length) {
+                recipes = Arrays.copyOf(recipes, recipes.length * 2);
+            }
+            recipes[id] = recipe;
+            recipeIds.put(recipe, id);
+        }
+        return -(id + 1);
+    }
+
+    private int getValue(int node, int ingredient) {
+        int offset = nodeOffsets[node];
+        int index = Arrays.binarySearch(keys, offset, offset + nodeSizes[node], ingredient);
+        return index < 0 ? NOT_FOUND : values[index];
+    }
+
+    private void putValue(int node, int ingredient, int value) {
+        int offset = nodeOffsets[node];
+        int size = nodeSizes[node];
+        int index = Arrays.binarySearch(keys, offset, offset + size, ingredient);
+        if (index >= 0) {
+            values[index] = value;
+            return;
+        }
+
+        if (size == nodeCapacities[node]) {
+            // move the segment to the end of the arena, leaving the old space unused
+            int capacity = Math.max(2, size * 2);
+            int newOffset = reserveArena(capacity);
+            System.arraycopy(keys, offset, keys, newOffset, size);
+            System.arraycopy(values, offset, values, newOffset, size);
+            this.wastedArena += nodeCapacities[node];
+            nodeOffsets[node] = newOffset;
+            nodeCapacities[node] = capacity;
+            index = -(Arrays.binarySearch(keys, newOffset, newOffset + size, ingredient) + 1);
+            offset = newOffset;
+        } else {
+            index = -(index + 1);
+        }
+
+        int end = offset + size;
+        System.arraycopy(keys, index, keys, index + 1, end - index);
+        System.arraycopy(values, index, values, index + 1, end - index);
+        keys[index] = ingredient;
+        values[index] = value;
+        nodeSizes[node] = size + 1;
+    }
+
+    private void removeValue(int node, int ingredient) {
+        int offset = nodeOffsets[node];
+        int size = nodeSizes[node];
+        int index = Arrays.binarySearch(keys, offset, offset + size, ingredient);
+        if (index < 0) return;
+
+        int end = offset + size;
+        System.arraycopy(keys, index + 1, keys, index, end - index - 1);
+        System.arraycopy(values, index + 1, values, index, end - index - 1);
+        nodeSizes[node] = size - 1;
+    }
+
+    private int allocateNode(int capacity) {
+        if (nodeCount == nodeOffsets.length) {
+            int length = nodeOffsets.length * 2;
+            nodeOffsets = Arrays.copyOf(nodeOffsets, length);
+            nodeSizes = Arrays.copyOf(nodeSizes, length);
+            nodeCapacities = Arrays.copyOf(nodeCapacities, length);
+        }
+        int node = nodeCount++;
+        nodeOffsets[node] = reserveArena(capacity);
+        nodeSizes[node] = 0;
+        nodeCapacities[node] = capacity;
+        return node;
+    }
+
+    private int reserveArena(int amount) {
+        int required = arenaSize + amount;
+        if (required > keys.length) {
+            int length = Math.max(required, keys.length + (keys.length >> 1));
+            keys = Arrays.copyOf(keys, length);
+            values = Arrays.copyOf(values, length);
+        }
+        int offset = arenaSize;
+        this.arenaSize = required;
+        return offset;
+    }
+}
@@ -1,5 +1,6 @@
 package gregtech.api.recipes.map;
 
+import javax.annotation.Nullable;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -39,6 +40,16 @@ public abstract class Either<L, R> {
             return java.util.Optional.of(value);
         }
 
+        @Override
+        public L getLeft() {
+            return value;
+        }
+
+        @Override
+        public R getRight() {
+            return null;
+        }
+
         @Override
         public java.util.Optional<R> right() {
             return java.util.Optional.empty();
@@ -101,6 +112,16 @@ public abstract class Either<L, R> {
             return java.util.Optional.empty();
         }
 
+        @Override
+        public L getLeft() {
+            return null;
+        }
+
+        @Override
+        public R getRight() {
+            return value;
+        }
+
         @Override
         public java.util.Optional<R> right() {
             return java.util.Optional.of(value);
@@ -144,6 +165,18 @@ public abstract class Either<L, R> {
 
     public abstract java.util.Optional<R> right();
 
+    /**
+     * @return the left value, or null if this is a right value. Unlike {@link #left()}, this does not allocate.
+     */
+    @Nullable
+    public abstract L getLeft();
+
+    /**
+     * @return the right value, or null if this is a left value. Unlike {@link #right()}, this does not allocate.
+     */
+    @Nullable
+    public abstract R getRight();
+
     public <T> Either<T, R> mapLeft(final Function<? super L, ? extends T> l) {
         return map(t -> left(l.apply(t)), Either::right);
     }
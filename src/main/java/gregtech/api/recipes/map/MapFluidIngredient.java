@@ -23,12 +23,28 @@ public class MapFluidIngredient extends AbstractMapIngredient {
         this.tag = fluidStack.tag;
     }
 
+    /**
+     * For search keys, which hold the fluid themselves
+     */
+    MapFluidIngredient() {
+        this.fluid = null;
+        this.tag = null;
+    }
+
+    Fluid getFluid() {
+        return fluid;
+    }
+
+    NBTTagCompound getTag() {
+        return tag;
+    }
+
     @Override
     protected int hash() {
         //the Fluid registered to the fluidName on game load might not be the same Fluid after loading the world, but will still have the same fluidName.
-        int hash = 31 + fluid.getName().hashCode();
-        if (tag != null) {
-            return 31 * hash + tag.hashCode();
+        int hash = 31 + getFluid().getName().hashCode();
+        if (getTag() != null) {
+            return 31 * hash + getTag().hashCode();
         }
         return hash;
     }
@@ -38,8 +54,8 @@ public class MapFluidIngredient extends AbstractMapIngredient {
         if (super.equals(o)) {
             MapFluidIngredient other = (MapFluidIngredient) o;
             //the Fluid registered to the fluidName on game load might not be the same Fluid after loading the world, but will still have the same fluidName.
-            if (this.fluid.getName().equals(other.fluid.getName())) {
-                return Objects.equals(tag, other.tag);
+            if (this.getFluid().getName().equals(other.getFluid().getName())) {
+                return Objects.equals(getTag(), other.getTag());
             }
         }
         return false;
@@ -48,6 +64,6 @@ public class MapFluidIngredient extends AbstractMapIngredient {
     @Override
     public String toString() {
         return "MapFluidIngredient{" +
-                "{fluid=" + fluid.getName() + "} {tag=" + tag + "}";
+                "{fluid=" + getFluid().getName() + "} {tag=" + getTag() + "}";
     }
 }
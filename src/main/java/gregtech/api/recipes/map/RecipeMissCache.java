@@ -0,0 +1,90 @@
+package gregtech.api.recipes.map;
+
+import gregtech.api.unification.OreDictUnifier;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size set of input fingerprints, for which a recipe search reached no recipe at all.
+ * <p>
+ * Such a search cannot succeed until the input types change, so it can be skipped entirely.
+ * Entries are direct-mapped by fingerprint, so a newer miss simply replaces an older one in the same slot.
+ * The whole cache is dropped when the recipes or the ore dictionary change.
+ * <p>
+ * The cache may be used by several threads at once. The fingerprints of each recipe and ore dictionary generation
+ * are kept in their own array, which is replaced instead of cleared, so a search never sees the fingerprints of
+ * another generation.
+ *
+ * @see RecipeSearchBuffers#getFingerprint()
+ */
+public final class RecipeMissCache {
+
+    private final int size;
+    private volatile Entries entries;
+
+    /**
+     * @param size the amount of fingerprints to keep, must be a power of two
+     */
+    public RecipeMissCache(int size) {
+        if (Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Size must be a power of two, got " + size);
+        }
+        this.size = size;
+    }
+
+    /**
+     * @param fingerprint      the fingerprint of the inputs
+     * @param recipeGeneration the current recipe generation of the RecipeMap
+     * @return if the inputs are known to reach no recipe
+     */
+    public boolean contains(long fingerprint, int recipeGeneration) {
+        if (fingerprint == 0) return false;
+        Entries entries = this.entries;
+        if (entries == null || !entries.isValid(recipeGeneration, OreDictUnifier.getOreDictGeneration())) {
+            return false;
+        }
+        return entries.fingerprints.get(slot(fingerprint)) == fingerprint;
+    }
+
+    /**
+     * @param fingerprint      the fingerprint of the inputs, which reached no recipe
+     * @param recipeGeneration the recipe generation of the RecipeMap the search ran with
+     */
+    public void add(long fingerprint, int recipeGeneration) {
+        if (fingerprint == 0) return;
+        int oreDictGeneration = OreDictUnifier.getOreDictGeneration();
+        Entries entries = this.entries;
+        if (entries == null || !entries.isValid(recipeGeneration, oreDictGeneration)) {
+            // the search ran before the recipes changed, so its miss is outdated
+            if (entries != null && entries.recipeGeneration - recipeGeneration > 0) return;
+            // a concurrent add may publish its own entries instead, which only loses a few misses
+            entries = new Entries(size, recipeGeneration, oreDictGeneration);
+            this.entries = entries;
+        }
+        entries.fingerprints.lazySet(slot(fingerprint), fingerprint);
+    }
+
+    private int slot(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & (size - 1);
+    }
+
+    /**
+     * The fingerprints of one recipe and ore dictionary generation
+     */
+    private static final class Entries {
+
+        private final AtomicLongArray fingerprints;
+        private final int recipeGeneration;
+        private final int oreDictGeneration;
+
+        private Entries(int size, int recipeGeneration, int oreDictGeneration) {
+            this.fingerprints = new AtomicLongArray(size);
+            this.recipeGeneration = recipeGeneration;
+            this.oreDictGeneration = oreDictGeneration;
+        }
+
+        private boolean isValid(int recipeGeneration, int oreDictGeneration) {
+            return this.recipeGeneration == recipeGeneration && this.oreDictGeneration == oreDictGeneration;
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package gregtech.api.recipes.map;
+
+import gregtech.api.capability.IMultipleTankHandler;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.unification.OreDictUnifier;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.fluids.Fluid;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.oredict.OreDictionary;
+import org.jetbrains.annotations.ApiStatus;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Reusable per-thread buffers for recipe search, so that looking up a recipe does not allocate.
+ * <p>
+ * The map ingredients handed out are pooled search keys of their own types, which are overwritten by the next search.
+ * They must never be stored in a recipe tree, or anywhere else outliving {@link #release()}.
+ */
+@ApiStatus.Internal
+public final class RecipeSearchBuffers {
+
+    private static final ThreadLocal<RecipeSearchBuffers> BUFFERS = ThreadLocal.withInitial(RecipeSearchBuffers::new);
+
+    /**
+     * Mixed into fluid fingerprints, so they do not line up with item fingerprints
+     */
+    private static final long FLUID_SEED = 0x464C5549444B4559L;
+
+    private final List<List<AbstractMapIngredient>> ingredients = new ObjectArrayList<>();
+    private final List<ItemStack> uniqueItems = new ObjectArrayList<>();
+
+    private final List<List<AbstractMapIngredient>> listPool = new ObjectArrayList<>();
+    private final List<ItemKey> itemKeys = new ObjectArrayList<>();
+    private final List<ItemNBTKey> itemNBTKeys = new ObjectArrayList<>();
+    private final List<OreDictKey> oreDictKeys = new ObjectArrayList<>();
+    private final List<OreDictNBTKey> oreDictNBTKeys = new ObjectArrayList<>();
+    private final List<FluidKey> fluidKeys = new ObjectArrayList<>();
+    private int listsUsed;
+    private int itemKeysUsed;
+    private int itemNBTKeysUsed;
+    private int oreDictKeysUsed;
+    private int oreDictNBTKeysUsed;
+    private int fluidKeysUsed;
+
+    private final Map<Item, Int2ObjectMap<int[]>> oreIds = new Reference2ObjectOpenHashMap<>();
+    private int oreIdsGeneration = OreDictUnifier.getOreDictGeneration();
+
+    private int[][] ids = new int[8][];
+    private int[] idSizes = new int[8];
+
+    private long fingerprint;
+    private final CandidateCounter candidateCounter = new CandidateCounter();
+
+    private boolean inUse;
+
+    private RecipeSearchBuffers() {/**/}
+
+    /**
+     * Gets the buffers of the current thread. Must be paired with {@link #release()} in a finally block.
+     * <p>
+     * If the buffers of the thread are already in use, for example when a recipe predicate searches again,
+     * a new, unshared instance is returned instead.
+     *
+     * @return the buffers to search with
+     */
+    @Nonnull
+    public static RecipeSearchBuffers acquire() {
+        RecipeSearchBuffers buffers = BUFFERS.get();
+        if (buffers.inUse) return new RecipeSearchBuffers();
+        buffers.inUse = true;
+        return buffers;
+    }
+
+    /**
+     * Resets the buffers for the next search, invalidating every list and key handed out
+     */
+    public void release() {
+        for (int i = 0; i < listsUsed; i++) {
+            listPool.get(i).clear();
+        }
+        ingredients.clear();
+        uniqueItems.clear();
+        this.listsUsed = 0;
+        this.itemKeysUsed = 0;
+        this.itemNBTKeysUsed = 0;
+        this.oreDictKeysUsed = 0;
+        this.oreDictNBTKeysUsed = 0;
+        this.fluidKeysUsed = 0;
+        this.fingerprint = 0;
+        this.candidateCounter.canHandle = null;
+        this.inUse = false;
+    }
+
+    /**
+     * Builds the search ingredients directly from a machine's inventories.
+     * Equal item stacks are only added once, and empty slots and tanks are skipped.
+     *
+     * @param items               the item inventory
+     * @param fluids              the fluid inventory
+     * @param hasOreDictedInputs  if ore dictionary keys should be added for the items
+     * @param hasNBTMatcherInputs if NBT matching keys should be added for the items
+     * @return the ingredients, or null if there are none
+     */
+    @Nullable
+    public List<List<AbstractMapIngredient>> prepare(@Nonnull IItemHandler items, @Nonnull IMultipleTankHandler fluids,
+                                                     boolean hasOreDictedInputs, boolean hasNBTMatcherInputs) {
+        for (int i = 0; i < items.getSlots(); i++) {
+            addItem(items.getStackInSlot(i), hasOreDictedInputs, hasNBTMatcherInputs);
+        }
+        for (int i = 0; i < fluids.getTanks(); i++) {
+            addFluid(fluids.getTankAt(i).getFluid());
+        }
+        return ingredients.isEmpty() ? null : ingredients;
+    }
+
+    /**
+     * Builds the search ingredients from collections of stacks.
+     * Equal item stacks are only added once, and empty stacks are skipped.
+     *
+     * @param items               the items
+     * @param fluids              the fluids
+     * @param hasOreDictedInputs  if ore dictionary keys should be added for the items
+     * @param hasNBTMatcherInputs if NBT matching keys should be added for the items
+     * @return the ingredients, or null if there are none
+     */
+    @Nullable
+    public List<List<AbstractMapIngredient>> prepare(@Nonnull Collection<ItemStack> items, @Nonnull Collection<FluidStack> fluids,
+                                                     boolean hasOreDictedInputs, boolean hasNBTMatcherInputs) {
+        for (ItemStack stack : items) {
+            addItem(stack, hasOreDictedInputs, hasNBTMatcherInputs);
+        }
+        for (FluidStack stack : fluids) {
+            addFluid(stack);
+        }
+        return ingredients.isEmpty() ? null : ingredients;
+    }
+
+    /**
+     * The fingerprint is an order independent hash of the item and fluid types prepared for search,
+     * ignoring their amounts. Equal inputs always have the same fingerprint.
+     *
+     * @return the fingerprint of the prepared ingredients, or 0 if nothing was prepared
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Wraps a recipe predicate, to count how many recipes the search reached.
+     * A search which reached no recipe at all can never succeed with the same input types, whatever their amounts.
+     *
+     * @param canHandle the predicate to wrap
+     * @return the counting predicate, valid until {@link #release()}
+     */
+    @Nonnull
+    public Predicate<Recipe> countCandidates(@Nonnull Predicate<Recipe> canHandle) {
+        this.candidateCounter.canHandle = canHandle;
+        this.candidateCounter.count = 0;
+        return candidateCounter;
+    }
+
+    /**
+     * @return the amount of recipes tested by the predicate from {@link #countCandidates(Predicate)}
+     */
+    public int getCandidateCount() {
+        return candidateCounter.count;
+    }
+
+    /**
+     * @param count the amount of ingredient lists
+     * @return an id array for each ingredient list, with at least {@code count} entries
+     */
+    @Nonnull
+    int[][] getIds(int count) {
+        if (ids.length < count) {
+            this.ids = Arrays.copyOf(ids, Math.max(count, ids.length * 2));
+        }
+        return ids;
+    }
+
+    /**
+     * @param index    the index of the ingredient list
+     * @param capacity the amount of ids needed
+     * @return a buffer for the ids of an ingredient list, also stored in {@link #getIds(int)}
+     */
+    @Nonnull
+    int[] getIdBuffer(int index, int capacity) {
+        int[] buffer = ids[index];
+        if (buffer == null || buffer.length < capacity) {
+            buffer = new int[Math.max(capacity, 8)];
+            ids[index] = buffer;
+        }
+        return buffer;
+    }
+
+    /**
+     * @param count the amount of ingredient lists
+     * @return the amount of ids for each ingredient list, with at least {@code count} entries
+     */
+    @Nonnull
+    int[] getIdSizes(int count) {
+        if (idSizes.length < count) {
+            this.idSizes = new int[Math.max(count, idSizes.length * 2)];
+        }
+        return idSizes;
+    }
+
+    private void addItem(@Nonnull ItemStack stack, boolean hasOreDictedInputs, boolean hasNBTMatcherInputs) {
+        if (stack.isEmpty()) return;
+        for (int i = 0; i < uniqueItems.size(); i++) {
+            ItemStack unique = uniqueItems.get(i);
+            if (stack.isItemEqual(unique) && ItemStack.areItemStackTagsEqual(stack, unique)) {
+                return;
+            }
+        }
+        uniqueItems.add(stack);
+
+        int meta = stack.getMetadata();
+        NBTTagCompound nbt = stack.getTagCompound();
+        long type = HashCommon.mix(((long) Item.getIdFromItem(stack.getItem()) << 32) | (meta & 0xFFFFFFFFL));
+        this.fingerprint += HashCommon.mix(type ^ (nbt == null ? 0 : nbt.hashCode()));
+        List<AbstractMapIngredient> list = nextList();
+
+        // same order as RecipeMap#buildFromItemStacks
+        list.add(nextItemKey(stack, meta, nbt));
+        if (hasOreDictedInputs) {
+            for (int ore : getOreIds(stack, meta)) {
+                list.add(nextOreDictKey(ore));
+                if (hasNBTMatcherInputs) {
+                    list.add(nextOreDictNBTKey(ore, nbt));
+                }
+            }
+        }
+        if (hasNBTMatcherInputs) {
+            list.add(nextItemNBTKey(stack, meta, nbt));
+        }
+        ingredients.add(list);
+    }
+
+    private void addFluid(@Nullable FluidStack stack) {
+        if (stack == null || stack.amount == 0) return;
+        long type = HashCommon.mix(FLUID_SEED ^ stack.getFluid().getName().hashCode());
+        this.fingerprint += HashCommon.mix(type ^ (stack.tag == null ? 0 : stack.tag.hashCode()));
+
+        List<AbstractMapIngredient> list = nextList();
+        list.add(nextFluidKey(stack));
+        ingredients.add(list);
+    }
+
+    /**
+     * {@link OreDictionary#getOreIDs(ItemStack)} builds a new set for every call, so its results are cached
+     */
+    @Nonnull
+    private int[] getOreIds(@Nonnull ItemStack stack, int meta) {
+        int generation = OreDictUnifier.getOreDictGeneration();
+        if (oreIdsGeneration != generation) {
+            oreIds.clear();
+            this.oreIdsGeneration = generation;
+        }
+
+        Int2ObjectMap<int[]> byMeta = oreIds.get(stack.getItem());
+        if (byMeta == null) {
+            byMeta = new Int2ObjectOpenHashMap<>();
+            oreIds.put(stack.getItem(), byMeta);
+        }
+        int[] result = byMeta.get(meta);
+        if (result == null) {
+            result = OreDictionary.getOreIDs(stack);
+            byMeta.put(meta, result);
+        }
+        return result;
+    }
+
+    @Nonnull
+    private List<AbstractMapIngredient> nextList() {
+        if (listsUsed == listPool.size()) {
+            listPool.add(new ObjectArrayList<>());
+        }
+        return listPool.get(listsUsed++);
+    }
+
+    @Nonnull
+    private MapItemStackIngredient nextItemKey(@Nonnull ItemStack stack, int meta, @Nullable NBTTagCompound nbt) {
+        if (itemKeysUsed == itemKeys.size()) {
+            itemKeys.add(new ItemKey());
+        }
+        ItemKey key = itemKeys.get(itemKeysUsed++);
+        key.set(stack, meta, nbt);
+        return key;
+    }
+
+    @Nonnull
+    private MapItemStackNBTIngredient nextItemNBTKey(@Nonnull ItemStack stack, int meta, @Nullable NBTTagCompound nbt) {
+        if (itemNBTKeysUsed == itemNBTKeys.size()) {
+            itemNBTKeys.add(new ItemNBTKey());
+        }
+        ItemNBTKey key = itemNBTKeys.get(itemNBTKeysUsed++);
+        key.set(stack, meta, nbt);
+        return key;
+    }
+
+    @Nonnull
+    private MapOreDictIngredient nextOreDictKey(int ore) {
+        if (oreDictKeysUsed == oreDictKeys.size()) {
+            oreDictKeys.add(new OreDictKey());
+        }
+        OreDictKey key = oreDictKeys.get(oreDictKeysUsed++);
+        key.set(ore);
+        return key;
+    }
+
+    @Nonnull
+    private MapOreDictNBTIngredient nextOreDictNBTKey(int ore, @Nullable NBTTagCompound nbt) {
+        if (oreDictNBTKeysUsed == oreDictNBTKeys.size()) {
+            oreDictNBTKeys.add(new OreDictNBTKey());
+        }
+        OreDictNBTKey key = oreDictNBTKeys.get(oreDictNBTKeysUsed++);
+        key.set(ore, nbt);
+        return key;
+    }
+
+    @Nonnull
+    private MapFluidIngredient nextFluidKey(@Nonnull FluidStack stack) {
+        if (fluidKeysUsed == fluidKeys.size()) {
+            fluidKeys.add(new FluidKey());
+        }
+        FluidKey key = fluidKeys.get(fluidKeysUsed++);
+        key.set(stack);
+        return key;
+    }
+
+    /*
+     * The search keys are only ever used to look up the ingredients of the recipe trees, so the ingredients themselves,
+     * which are interned and used as tree keys, are never changed.
+     */
+
+    private static final class ItemKey extends MapItemStackIngredient {
+
+        private ItemKey() {
+            super(ItemStack.EMPTY, 0, null);
+        }
+
+        private void set(@Nonnull ItemStack stack, int meta, @Nullable NBTTagCompound nbt) {
+            this.stack = stack;
+            this.meta = meta;
+            this.tag = nbt;
+            invalidate();
+        }
+
+        @Override
+        Class<? extends AbstractMapIngredient> getKeyClass() {
+            return MapItemStackIngredient.class;
+        }
+    }
+
+    private static final class ItemNBTKey extends MapItemStackNBTIngredient {
+
+        private ItemNBTKey() {
+            super(ItemStack.EMPTY, 0, null);
+        }
+
+        private void set(@Nonnull ItemStack stack, int meta, @Nullable NBTTagCompound nbt) {
+            this.stack = stack;
+            this.meta = meta;
+            this.tag = nbt;
+            invalidate();
+        }
+
+        @Override
+        Class<? extends AbstractMapIngredient> getKeyClass() {
+            return MapItemStackNBTIngredient.class;
+        }
+    }
+
+    private static final class OreDictKey extends MapOreDictIngredient {
+
+        private OreDictKey() {
+            super(0);
+        }
+
+        private void set(int ore) {
+            this.ore = ore;
+            invalidate();
+        }
+
+        @Override
+        Class<? extends AbstractMapIngredient> getKeyClass() {
+            return MapOreDictIngredient.class;
+        }
+    }
+
+    private static final class OreDictNBTKey extends MapOreDictNBTIngredient {
+
+        private OreDictNBTKey() {
+            super(0, null);
+        }
+
+        private void set(int ore, @Nullable NBTTagCompound nbt) {
+            this.ore = ore;
+            this.nbtTagCompound = nbt;
+            invalidate();
+        }
+
+        @Override
+        Class<? extends AbstractMapIngredient> getKeyClass() {
+            return MapOreDictNBTIngredient.class;
+        }
+    }
+
+    private static final class FluidKey extends MapFluidIngredient {
+
+        private Fluid fluid;
+        private NBTTagCompound tag;
+
+        private void set(@Nonnull FluidStack stack) {
+            this.fluid = stack.getFluid();
+            this.tag = stack.tag;
+            invalidate();
+        }
+
+        @Override
+        Fluid getFluid() {
+            return fluid;
+        }
+
+        @Override
+        NBTTagCompound getTag() {
+            return tag;
+        }
+
+        @Override
+        Class<? extends AbstractMapIngredient> getKeyClass() {
+            return MapFluidIngredient.class;
+        }
+    }
+
+    private static final class CandidateCounter implements Predicate<Recipe> {
+
+        private Predicate<Recipe> canHandle;
+        private int count;
+
+        @Override
+        public boolean test(Recipe recipe) {
+            this.count++;
+            return canHandle.test(recipe);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.google.common.base.Joiner;
 import com.google.common.collect.Sets;
 import gregtech.api.GTValues;
 import gregtech.api.GregTechAPI;
+import gregtech.api.recipes.ParallelRecipeGeneration;
 import gregtech.api.unification.material.MarkerMaterial;
 import gregtech.api.unification.material.Material;
 import gregtech.api.unification.material.properties.PropertyKey;
@@ -29,6 +30,7 @@ import javax.annotation.Nullable;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -45,6 +47,10 @@ public class OreDictUnifier {
     private static final Map<UnificationEntry, ArrayList<ItemAndMetadata>> stackUnificationItems = new Object2ObjectOpenHashMap<>();
     private static final Map<Item, ItemVariantMap.Mutable<Set<String>>> stackOreDictName = new Object2ObjectOpenHashMap<>();
     private static final Map<String, List<ItemStack>> oreDictNameStacks = new Object2ObjectOpenHashMap<>();
+    /**
+     * Changed on each ore dictionary registration, to invalidate caches of ore ids and names
+     */
+    private static final AtomicInteger oreDictGeneration = new AtomicInteger();
 
     @Nullable
     private static Comparator<ItemAndMetadata> stackComparator;
@@ -77,6 +83,7 @@ public class OreDictUnifier {
 
     public static void registerOre(ItemStack itemStack, ItemMaterialInfo materialInfo) {
         if (itemStack.isEmpty()) return;
+        if (ParallelRecipeGeneration.defer(() -> registerOre(itemStack, materialInfo))) return;
         materialUnificationInfo.put(new ItemAndMetadata(itemStack), materialInfo);
     }
 
@@ -86,14 +93,25 @@ public class OreDictUnifier {
 
     public static void registerOre(ItemStack itemStack, String customOrePrefix, @Nullable Material material) {
         if (itemStack.isEmpty()) return;
+        if (ParallelRecipeGeneration.defer(() -> registerOre(itemStack, customOrePrefix, material))) return;
         OreDictionary.registerOre(customOrePrefix + (material == null ? "" : material.toCamelCaseString()), itemStack);
     }
 
     public static void registerOre(ItemStack itemStack, String oreDict) {
         if (itemStack.isEmpty()) return;
+        if (ParallelRecipeGeneration.defer(() -> registerOre(itemStack, oreDict))) return;
         OreDictionary.registerOre(oreDict, itemStack);
     }
 
+    /**
+     * Caches of ore ids and names should be dropped whenever this changes, as a registration may change the ores of an item
+     *
+     * @return a counter changed on each ore dictionary registration
+     */
+    public static int getOreDictGeneration() {
+        return oreDictGeneration.get();
+    }
+
     public static void init() {
         for (String registeredOreName : OreDictionary.getOreNames()) {
             NonNullList<ItemStack> theseOres = OreDictionary.getOres(registeredOreName);
@@ -106,6 +124,7 @@ public class OreDictUnifier {
 
     @SubscribeEvent
     public static void onItemRegistration(OreRegisterEvent event) {
+        oreDictGeneration.incrementAndGet();
         String oreName = event.getName();
         //cache this registration by name
         ItemVariantMap.Mutable<Set<String>> entry = stackOreDictName.computeIfAbsent(event.getOre().getItem(),
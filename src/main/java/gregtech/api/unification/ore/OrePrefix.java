@@ -2,6 +2,7 @@ package gregtech.api.unification.ore;
 
 import com.google.common.base.Preconditions;
 import crafttweaker.annotations.ZenRegister;
+import gregtech.api.recipes.ParallelRecipeGeneration;
 import gregtech.api.unification.material.MarkerMaterials;
 import gregtech.api.unification.material.Material;
 import gregtech.api.unification.material.Materials;
@@ -532,17 +533,29 @@ public class OrePrefix {
     }
 
     private void runGeneratedMaterialHandlers() {
-        currentProcessingPrefix.set(this);
-        for (Material registeredMaterial : generatedMaterials) {
-            currentMaterial.set(registeredMaterial);
+        ParallelRecipeGeneration.run(new ArrayList<>(generatedMaterials), this::runMaterialHandlers,
+                (material, applyChanges) -> runWithCurrentMaterial(material, applyChanges));
+        //clear generated materials for next pass
+        generatedMaterials.clear();
+    }
+
+    private void runMaterialHandlers(@Nonnull Material material) {
+        runWithCurrentMaterial(material, () -> {
             for (IOreRegistrationHandler registrationHandler : oreProcessingHandlers) {
-                registrationHandler.processMaterial(this, registeredMaterial);
+                registrationHandler.processMaterial(this, material);
             }
+        });
+    }
+
+    private void runWithCurrentMaterial(@Nonnull Material material, @Nonnull Runnable runnable) {
+        currentProcessingPrefix.set(this);
+        currentMaterial.set(material);
+        try {
+            runnable.run();
+        } finally {
             currentMaterial.set(null);
+            currentProcessingPrefix.set(null);
         }
-        //clear generated materials for next pass
-        generatedMaterials.clear();
-        currentProcessingPrefix.set(null);
     }
 
     public void setAlternativeOreName(String name) {
@@ -1,7 +1,9 @@
 package gregtech.api.worldgen.generator;
 
+import com.google.common.base.Throwables;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import gregtech.api.util.GTUtility;
 import gregtech.api.util.XSTR;
 import gregtech.api.worldgen.config.OreDepositDefinition;
@@ -12,7 +14,13 @@ import gregtech.api.worldgen.populator.VeinBufferPopulator;
 import gregtech.api.worldgen.populator.VeinChunkPopulator;
 import gregtech.api.worldgen.shape.IBlockGeneratorAccess;
 import gregtech.common.ConfigHolder;
-import it.unimi.dsi.fastutil.longs.*;
+import it.unimi.dsi.fastutil.ints.*;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
@@ -21,15 +29,29 @@ import net.minecraft.util.math.BlockPos.MutableBlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.chunk.Chunk;
-import org.apache.commons.lang3.tuple.MutablePair;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The ore veins of a single grid, planned once and applied to each of its chunks when they are populated.
+ * <p>
+ * Planning only depends on the grid's random, the vein definitions and the terrain heights sampled when the entry is created,
+ * so it is done on a background thread while the server thread keeps generating, and is only waited for when the planned
+ * blocks are needed.
+ */
 public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IBlockModifierAccess {
 
     private static final Map<World, Cache<Long, CachedGridEntry>> gridEntryCache = new WeakHashMap<>();
+    private static ExecutorService planningExecutor;
+    private static final AtomicLong plannedGrids = new AtomicLong();
+    private static final AtomicLong plannedVeins = new AtomicLong();
 
     public static CachedGridEntry getOrCreateEntry(World world, int gridX, int gridZ, int primerChunkX, int primerChunkZ) {
         Cache<Long, CachedGridEntry> currentValue = gridEntryCache.get(world);
@@ -46,6 +68,41 @@ public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IB
         return gridEntry;
     }
 
+    private static ExecutorService getPlanningExecutor() {
+        if (planningExecutor == null) {
+            planningExecutor = Executors.newFixedThreadPool(ConfigHolder.worldgen.veinPlanningThreads, new ThreadFactoryBuilder()
+                    .setNameFormat("GregTech Vein Planner #%d")
+                    .setDaemon(true)
+                    .build());
+        }
+        return planningExecutor;
+    }
+
+    /**
+     * Stops the planning threads once the server stopped. Planning already queued is still finished.
+     */
+    public static void shutdownPlanning() {
+        gridEntryCache.clear();
+        if (planningExecutor != null) {
+            planningExecutor.shutdown();
+            planningExecutor = null;
+        }
+    }
+
+    /**
+     * @return the amount of grids planned since the game started
+     */
+    public static long getPlannedGrids() {
+        return plannedGrids.get();
+    }
+
+    /**
+     * @return the amount of veins planned since the game started
+     */
+    public static long getPlannedVeins() {
+        return plannedVeins.get();
+    }
+
     private static Cache<Long, CachedGridEntry> createGridCache() {
         return CacheBuilder.newBuilder()
                 .maximumSize(300)
@@ -66,9 +123,15 @@ public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IB
     private final int gridX;
     private final int gridZ;
     private final List<Entry<Integer, OreDepositDefinition>> cachedDepositMap;
-    private GTWorldGenCapability masterEntry;
+    private final GTWorldGenCapability masterEntry = new GTWorldGenCapability();
     private final int worldSeaLevel;
+    // the config is read on the server thread, as the veins may be planned on another one
+    private final int minVeinsInSection;
+    private final int additionalVeinsInSection;
+    private final boolean generateVeinsInCenterOfChunk;
     private Map<OreDepositDefinition, BlockPos> veinGeneratedMap;
+    private final CompletableFuture<Void> veinPlanning;
+    private volatile Thread planningThread;
 
     private int veinCenterX, veinCenterY, veinCenterZ;
     private OreDepositDefinition currentOreVein;
@@ -86,21 +149,54 @@ public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IB
         this.cachedDepositMap = new ArrayList<>(WorldGenRegistry.INSTANCE.getCachedBiomeVeins(world.provider, currentBiome));
 
         this.worldSeaLevel = world.getSeaLevel();
-        this.masterEntry = searchMasterOrNull(world);
-        if (masterEntry == null) {
+        GTWorldGenCapability master = searchMasterOrNull(world);
+        if (master == null) {
             Chunk primerChunk = world.getChunk(primerChunkX, primerChunkZ);
             BlockPos heightSpot = findOptimalSpot(gridX, gridZ, primerChunkX, primerChunkZ);
             heightSpot = heightSpot.add(primerChunkX * 16, 0, primerChunkZ * 16);
             int masterHeight = world.getHeight(heightSpot).getY();
             int masterBottomHeight = world.getTopSolidOrLiquidBlock(heightSpot).getY();
-            this.masterEntry = primerChunk.getCapability(GTWorldGenCapability.CAPABILITY, null);
-            if(this.masterEntry == null) {
-                this.masterEntry = new GTWorldGenCapability();
+            master = primerChunk.getCapability(GTWorldGenCapability.CAPABILITY, null);
+            if (master != null) {
+                master.setMaxHeight(masterHeight, masterBottomHeight);
             }
             this.masterEntry.setMaxHeight(masterHeight, masterBottomHeight);
+        } else {
+            // the capability of the chunk is overwritten when the chunk is populated by other grids
+            this.masterEntry.setFrom(master);
         }
 
-        triggerVeinsGeneration();
+        this.minVeinsInSection = ConfigHolder.worldgen.minVeinsInSection;
+        this.additionalVeinsInSection = ConfigHolder.worldgen.additionalVeinsInSection;
+        this.generateVeinsInCenterOfChunk = ConfigHolder.worldgen.generateVeinsInCenterOfChunk;
+        if (ConfigHolder.worldgen.veinPlanningThreads > 0) {
+            this.veinPlanning = CompletableFuture.runAsync(this::planVeins, getPlanningExecutor());
+        } else {
+            this.veinPlanning = null;
+            triggerVeinsGeneration();
+        }
+    }
+
+    private void planVeins() {
+        this.planningThread = Thread.currentThread();
+        try {
+            triggerVeinsGeneration();
+        } finally {
+            this.planningThread = null;
+        }
+    }
+
+    /**
+     * Waits until the veins of this grid are planned, unless called by the planning itself, like from a vein populator
+     */
+    private void awaitVeinPlanning() {
+        if (veinPlanning == null || Thread.currentThread() == planningThread) return;
+        try {
+            veinPlanning.join();
+        } catch (CompletionException exception) {
+            Throwables.throwIfUnchecked(exception.getCause());
+            throw exception;
+        }
     }
 
     private static BlockPos findOptimalSpot(int gridX, int gridZ, int chunkX, int chunkZ) {
@@ -156,15 +252,18 @@ public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IB
 
     @Override
     public Set<OreDepositDefinition> getGeneratedVeins() {
+        awaitVeinPlanning();
         return veinGeneratedMap.keySet();
     }
 
     @Override
     public BlockPos getCenterPos(OreDepositDefinition definition) {
+        awaitVeinPlanning();
         return veinGeneratedMap.get(definition);
     }
 
     public boolean populateChunk(World world, int chunkX, int chunkZ, Random random) {
+        awaitVeinPlanning();
         long chunkId = (long) chunkX << 32 | chunkZ & 0xFFFFFFFFL;
         ChunkDataEntry chunkDataEntry = dataByChunkPos.get(chunkId);
         GTWorldGenCapability capability = retrieveCapability(world, chunkX, chunkZ);
@@ -183,14 +282,15 @@ public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IB
 
     @Override
     public Collection<IBlockState> getGeneratedBlocks(OreDepositDefinition definition, int chunkX, int chunkZ) {
+        awaitVeinPlanning();
         long chunkId = (long) chunkX << 32 | chunkZ & 0xFFFFFFFFL;
         ChunkDataEntry chunkDataEntry = dataByChunkPos.get(chunkId);
         if (chunkDataEntry != null) {
-            LongSet longSet = chunkDataEntry.generatedBlocksSet.get(definition);
+            IntSet stateIds = chunkDataEntry.generatedBlocksSet.get(definition);
             List<IBlockState> blockStates = new ArrayList<>();
-            LongIterator iterator = longSet.iterator();
+            IntIterator iterator = stateIds.iterator();
             while (iterator.hasNext())
-                blockStates.add(Block.getStateById((int) iterator.nextLong()));
+                blockStates.add(Block.getStateById(iterator.nextInt()));
             return blockStates;
         }
         return Collections.emptyList();
@@ -204,7 +304,7 @@ public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IB
         this.veinGeneratedMap = new Object2ObjectOpenHashMap<>();
         if (!cachedDepositMap.isEmpty()) {
             int currentCycle = 0;
-            int maxCycles = ConfigHolder.worldgen.minVeinsInSection + (ConfigHolder.worldgen.additionalVeinsInSection == 0 ? 0 : gridRandom.nextInt(ConfigHolder.worldgen.additionalVeinsInSection + 1));
+            int maxCycles = minVeinsInSection + (additionalVeinsInSection == 0 ? 0 : gridRandom.nextInt(additionalVeinsInSection + 1));
             List<OreDepositDefinition> veins = new ArrayList<>();
             while (currentCycle < cachedDepositMap.size() && currentCycle < maxCycles) {
                 //instead of removing already generated veins, we swap last element with one we selected
@@ -223,6 +323,7 @@ public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IB
                 doGenerateVein(depositDefinition);
             }
         }
+        plannedGrids.incrementAndGet();
     }
 
     private void doGenerateVein(OreDepositDefinition definition) {
@@ -239,6 +340,7 @@ public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IB
         this.veinCenterZ = calculateVeinCenterZ();
         this.currentOreVein.getShapeGenerator().generate(gridRandom, this);
         this.veinGeneratedMap.put(definition, new BlockPos(veinCenterX, veinCenterY, veinCenterZ));
+        plannedVeins.incrementAndGet();
         IVeinPopulator veinPopulator = currentOreVein.getVeinPopulator();
         if (veinPopulator instanceof VeinBufferPopulator) {
             ((VeinBufferPopulator) veinPopulator).populateBlockBuffer(gridRandom, this, this, currentOreVein);
@@ -248,13 +350,13 @@ public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IB
 
     private int calculateVeinCenterX() {
         int gridSizeX = WorldGeneratorImpl.GRID_SIZE_X * 16;
-        int offset = (ConfigHolder.worldgen.generateVeinsInCenterOfChunk && currentOreVein.isVein()) ? gridSizeX / 2 : gridRandom.nextInt(gridSizeX);
+        int offset = (generateVeinsInCenterOfChunk && currentOreVein.isVein()) ? gridSizeX / 2 : gridRandom.nextInt(gridSizeX);
         return gridX * gridSizeX + offset;
     }
 
     private int calculateVeinCenterZ() {
         int gridSizeZ = WorldGeneratorImpl.GRID_SIZE_Z * 16;
-        int offset = (ConfigHolder.worldgen.generateVeinsInCenterOfChunk && currentOreVein.isVein()) ? gridSizeZ / 2 : gridRandom.nextInt(gridSizeZ);
+        int offset = (generateVeinsInCenterOfChunk && currentOreVein.isVein()) ? gridSizeZ / 2 : gridRandom.nextInt(gridSizeZ);
         return gridZ * gridSizeZ + offset;
     }
 
@@ -304,8 +406,10 @@ public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IB
 
     public static class ChunkDataEntry {
 
-        private final Map<OreDepositDefinition, MutablePair<LongList, Integer>> oreBlocks = new Object2ObjectOpenHashMap<>();
-        private final Map<OreDepositDefinition, LongSet> generatedBlocksSet = new Object2ObjectOpenHashMap<>();
+        // the planned blocks of each vein, packed as 4 bits x, 4 bits z, 8 bits y and the block index in the upper 32 bits
+        private final Map<OreDepositDefinition, LongList> oreBlocks = new Object2ObjectOpenHashMap<>();
+        private final Object2IntMap<OreDepositDefinition> lowestY = new Object2IntOpenHashMap<>();
+        private final Map<OreDepositDefinition, IntSet> generatedBlocksSet = new Object2ObjectOpenHashMap<>();
         private final List<OreDepositDefinition> generatedOres = new ArrayList<>();
         private final int chunkX;
         private final int chunkZ;
@@ -318,40 +422,37 @@ public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IB
         }
 
         public void setBlock(int x, int y, int z, OreDepositDefinition definition, int index) {
-            int xzValue = (x & 0xFF) | ((z & 0xFF) << 8) | ((y & 0xFF) << 16);
-            long blockIndex = (long) xzValue << 32 | index & 0xFFFFFFFFL;
-            MutablePair<LongList, Integer> pair = oreBlocks.get(definition);
-            LongList longList;
-            if (pair == null) {
-                longList = new LongArrayList();
-                oreBlocks.put(definition, MutablePair.of(longList, y));
-            } else {
-                longList = pair.getLeft();
-                if (y < pair.getRight()) {
-                    pair.setRight(y);
-                }
+            if (index < 0)
+                throw new IllegalArgumentException("Block index out of range: " + index);
+            long blockIndex = (x & 0xF) | (z & 0xF) << 4 | (y & 0xFF) << 8 | (long) index << 32;
+            LongList blockIndexList = oreBlocks.get(definition);
+            if (blockIndexList == null) {
+                blockIndexList = new LongArrayList();
+                oreBlocks.put(definition, blockIndexList);
+                lowestY.put(definition, y);
+            } else if (y < lowestY.getInt(definition)) {
+                lowestY.put(definition, y);
             }
-            longList.add(blockIndex);
+            blockIndexList.add(blockIndex);
         }
 
         public boolean populateChunk(World world) {
             MutableBlockPos blockPos = new MutableBlockPos();
             boolean generatedAnything = false;
-            for (Map.Entry<OreDepositDefinition, MutablePair<LongList, Integer>> entry : oreBlocks.entrySet()) {
+            for (Map.Entry<OreDepositDefinition, LongList> entry : oreBlocks.entrySet()) {
                 OreDepositDefinition definition = entry.getKey();
-                LongList blockIndexList = entry.getValue().getLeft();
-                int lowestY = entry.getValue().getRight();
-                LongSet generatedBlocks = new LongOpenHashSet();
+                LongList blockIndexList = entry.getValue();
+                int lowestY = this.lowestY.getInt(definition);
+                IntSet generatedBlocks = new IntOpenHashSet();
                 boolean generatedOreVein = false;
                 // enhanced for loops cause boxing and unboxing with FastUtil collections
                 //noinspection ForLoopReplaceableByForEach
                 for (int i = 0; i < blockIndexList.size(); i++) {
-                    long blockIndex = blockIndexList.get(i);
-                    int xyzValue = (int) (blockIndex >> 32);
-                    int blockX = (byte) xyzValue;
-                    int blockZ = (byte) (xyzValue >> 8);
-                    int blockY = (short) (xyzValue >> 16);
-                    int index = (int) blockIndex;
+                    long blockIndex = blockIndexList.getLong(i);
+                    int blockX = (int) blockIndex & 0xF;
+                    int blockZ = (int) (blockIndex >> 4) & 0xF;
+                    int blockY = (int) (blockIndex >> 8) & 0xFF;
+                    int index = (int) (blockIndex >>> 32);
                     blockPos.setPos(chunkX * 16 + blockX, blockY, chunkZ * 16 + blockZ);
                     IBlockState currentState = world.getBlockState(blockPos);
                     IBlockState newState;
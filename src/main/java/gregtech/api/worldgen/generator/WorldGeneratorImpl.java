@@ -56,12 +56,17 @@ public class WorldGeneratorImpl implements IWorldGenerator {
     private static void generateInternal(World world, int selfGridX, int selfGridZ, int chunkX, int chunkZ, Random random) {
         int halfSizeX = (GRID_SIZE_X - 1) / 2;
         int halfSizeZ = (GRID_SIZE_Z - 1) / 2;
+        // create all entries first, so the veins of new grids are planned in parallel
+        CachedGridEntry[] gridEntries = new CachedGridEntry[(halfSizeX * 2 + 1) * (halfSizeZ * 2 + 1)];
+        int i = 0;
         for (int gridX = -halfSizeX; gridX <= halfSizeX; gridX++) {
             for (int gridZ = -halfSizeZ; gridZ <= halfSizeZ; gridZ++) {
-                CachedGridEntry cachedGridEntry = CachedGridEntry.getOrCreateEntry(world, selfGridX + gridX, selfGridZ + gridZ, chunkX, chunkZ);
-                cachedGridEntry.populateChunk(world, chunkX, chunkZ, random);
+                gridEntries[i++] = CachedGridEntry.getOrCreateEntry(world, selfGridX + gridX, selfGridZ + gridZ, chunkX, chunkZ);
             }
         }
+        for (CachedGridEntry cachedGridEntry : gridEntries) {
+            cachedGridEntry.populateChunk(world, chunkX, chunkZ, random);
+        }
     }
 
     private static void generateRubberTree(Random random, long seed, Chunk chunk, double baseScale) {
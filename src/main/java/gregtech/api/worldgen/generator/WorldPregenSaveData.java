@@ -0,0 +1,150 @@
+package gregtech.api.worldgen.generator;
+
+import gregtech.api.GTValues;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.storage.MapStorage;
+import net.minecraft.world.storage.WorldSavedData;
+
+import javax.annotation.Nonnull;
+import java.util.function.IntConsumer;
+
+/**
+ * The area and cursor of the pregeneration of a dimension, saved so it can be resumed after a restart
+ *
+ * @see WorldPregenerator
+ */
+public class WorldPregenSaveData extends WorldSavedData {
+
+    public static final String DATA_NAME = GTValues.MODID + ".pregen";
+
+    boolean active;
+    // the area to pregenerate in chunks, inclusive and aligned to the vein grids
+    int minChunkX;
+    int minChunkZ;
+    int maxChunkX;
+    int maxChunkZ;
+    // the first chunk column of the current strip, and the next chunk to generate
+    int stripX;
+    int chunkX;
+    int chunkZ;
+    long generatedChunks;
+
+    public WorldPregenSaveData(String name) {
+        super(name);
+    }
+
+    @Nonnull
+    public static WorldPregenSaveData get(@Nonnull WorldServer world) {
+        MapStorage storage = world.getPerWorldStorage();
+        WorldPregenSaveData data = (WorldPregenSaveData) storage.getOrLoadData(WorldPregenSaveData.class, DATA_NAME);
+        if (data == null) {
+            data = new WorldPregenSaveData(DATA_NAME);
+            storage.setData(DATA_NAME, data);
+        }
+        return data;
+    }
+
+    /**
+     * Sets the area to a square, extended to whole grids so the grids at the edges are populated completely,
+     * and moves the cursor to its first chunk
+     *
+     * @param centerChunkX the chunk x coordinate of the center of the area
+     * @param centerChunkZ the chunk z coordinate of the center of the area
+     * @param radiusChunks the distance from the center to the edges of the area, in chunks
+     */
+    void setArea(int centerChunkX, int centerChunkZ, int radiusChunks) {
+        int gridSizeX = WorldGeneratorImpl.GRID_SIZE_X;
+        int gridSizeZ = WorldGeneratorImpl.GRID_SIZE_Z;
+        this.minChunkX = Math.floorDiv(centerChunkX - radiusChunks, gridSizeX) * gridSizeX;
+        this.minChunkZ = Math.floorDiv(centerChunkZ - radiusChunks, gridSizeZ) * gridSizeZ;
+        this.maxChunkX = (Math.floorDiv(centerChunkX + radiusChunks, gridSizeX) + 1) * gridSizeX - 1;
+        this.maxChunkZ = (Math.floorDiv(centerChunkZ + radiusChunks, gridSizeZ) + 1) * gridSizeZ - 1;
+        this.stripX = minChunkX;
+        this.chunkX = minChunkX;
+        this.chunkZ = minChunkZ;
+        this.generatedChunks = 0;
+        this.active = true;
+    }
+
+    /**
+     * Moves the cursor back to the start of the row before it, as that row is only populated once the row of the cursor
+     * is loaded with it
+     */
+    void rewind() {
+        this.generatedChunks -= chunkX - stripX;
+        if (chunkZ > minChunkZ) {
+            this.chunkZ--;
+            this.generatedChunks -= getLastColumn() - stripX + 1;
+        }
+        this.chunkX = stripX;
+    }
+
+    /**
+     * Moves the cursor to the next chunk
+     *
+     * @param rowUnloader called with the z coordinate of every row which is populated now,
+     *                    from the first column of the current strip to {@link #getLastColumn()}
+     * @return if there is a chunk left to generate
+     */
+    boolean advance(@Nonnull IntConsumer rowUnloader) {
+        if (++chunkX <= getLastColumn()) return true;
+
+        // all neighbours of the row before the finished one exist now, so it is populated
+        rowUnloader.accept(chunkZ - 1);
+        this.chunkX = stripX;
+        markDirty();
+        if (++chunkZ <= maxChunkZ + 1) return true;
+
+        rowUnloader.accept(chunkZ - 1);
+        this.stripX += WorldPregenerator.STRIP_WIDTH;
+        this.chunkX = stripX;
+        this.chunkZ = minChunkZ;
+        return stripX <= maxChunkX;
+    }
+
+    /**
+     * @return the last chunk column of the current strip, one past the strip so its last column is populated
+     */
+    int getLastColumn() {
+        return Math.min(stripX + WorldPregenerator.STRIP_WIDTH, maxChunkX + 1);
+    }
+
+    /**
+     * @return the amount of chunks to generate, including the extra column and row of each strip
+     */
+    long getTotalChunks() {
+        long width = maxChunkX - minChunkX + 1;
+        long height = maxChunkZ - minChunkZ + 1;
+        long strips = (width + WorldPregenerator.STRIP_WIDTH - 1) / WorldPregenerator.STRIP_WIDTH;
+        return (width + strips) * (height + 1);
+    }
+
+    @Override
+    public void readFromNBT(@Nonnull NBTTagCompound nbt) {
+        this.active = nbt.getBoolean("Active");
+        this.minChunkX = nbt.getInteger("MinX");
+        this.minChunkZ = nbt.getInteger("MinZ");
+        this.maxChunkX = nbt.getInteger("MaxX");
+        this.maxChunkZ = nbt.getInteger("MaxZ");
+        this.stripX = nbt.getInteger("StripX");
+        this.chunkX = nbt.getInteger("X");
+        this.chunkZ = nbt.getInteger("Z");
+        this.generatedChunks = nbt.getLong("Generated");
+    }
+
+    @Nonnull
+    @Override
+    public NBTTagCompound writeToNBT(@Nonnull NBTTagCompound nbt) {
+        nbt.setBoolean("Active", active);
+        nbt.setInteger("MinX", minChunkX);
+        nbt.setInteger("MinZ", minChunkZ);
+        nbt.setInteger("MaxX", maxChunkX);
+        nbt.setInteger("MaxZ", maxChunkZ);
+        nbt.setInteger("StripX", stripX);
+        nbt.setInteger("X", chunkX);
+        nbt.setInteger("Z", chunkZ);
+        nbt.setLong("Generated", generatedChunks);
+        return nbt;
+    }
+}
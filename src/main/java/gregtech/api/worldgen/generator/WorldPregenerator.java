@@ -0,0 +1,221 @@
+package gregtech.api.worldgen.generator;
+
+import gregtech.api.GTValues;
+import gregtech.api.util.GTLog;
+import gregtech.common.ConfigHolder;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.ChunkProviderServer;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates and populates every chunk of an area, walking it in the order the vein grids are laid out.
+ * <p>
+ * The area is split into strips of {@link #STRIP_GRIDS} grids, each walked row by row. Populating a chunk touches the grids around
+ * it, so this way the grids in use stay few enough for the grid cache, and each grid is planned once instead of whenever it was
+ * evicted between far apart chunks. One extra column and row is generated past each strip, as chunks are only populated once their
+ * neighbours exist, and rows are unloaded as soon as they are populated.
+ * <p>
+ * A part of every server tick is spent generating, see {@link ConfigHolder.WorldGenOptions#pregenTickMillis}, and the cursor is saved
+ * with the world, so a stopped pregeneration can be resumed. Generating waits while too many of the populated chunks are still
+ * waiting to be unloaded, as the server only unloads a limited amount of chunks per tick.
+ * Only to be used from the server thread.
+ */
+@EventBusSubscriber(modid = GTValues.MODID)
+public class WorldPregenerator {
+
+    static final int STRIP_GRIDS = 16;
+    static final int STRIP_WIDTH = STRIP_GRIDS * WorldGeneratorImpl.GRID_SIZE_X;
+    // about four rows of a strip
+    private static final int MAX_UNLOADING_CHUNKS = 4 * (STRIP_WIDTH + 1);
+    private static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static WorldPregenerator running;
+
+    private final WorldServer world;
+    private final WorldPregenSaveData cursor;
+    private final long tickBudgetNanos = TimeUnit.MILLISECONDS.toNanos(ConfigHolder.worldgen.pregenTickMillis);
+    // the chunks queued to unload which are still loaded
+    private final List<Chunk> unloadingChunks = new ArrayList<>();
+    private final long startNanos = System.nanoTime();
+    private final long startGrids = CachedGridEntry.getPlannedGrids();
+    private final long startVeins = CachedGridEntry.getPlannedVeins();
+    private long generatedSinceStart;
+    private long lastLogNanos = startNanos;
+
+    private WorldPregenerator(@Nonnull WorldServer world, @Nonnull WorldPregenSaveData cursor) {
+        this.world = world;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Starts pregenerating a square area, replacing the saved cursor of the dimension
+     *
+     * @param world        the world to pregenerate
+     * @param centerChunkX the chunk x coordinate of the center of the area
+     * @param centerChunkZ the chunk z coordinate of the center of the area
+     * @param radiusChunks the distance from the center to the edges of the area, in chunks
+     * @return the started pregeneration, or null if a pregeneration is already running
+     */
+    @Nullable
+    public static WorldPregenerator start(@Nonnull WorldServer world, int centerChunkX, int centerChunkZ, int radiusChunks) {
+        if (running != null) return null;
+        WorldPregenSaveData cursor = WorldPregenSaveData.get(world);
+        cursor.setArea(centerChunkX, centerChunkZ, radiusChunks);
+        cursor.markDirty();
+        running = new WorldPregenerator(world, cursor);
+        GTLog.logger.info("Started pregenerating {} chunks in dimension {}", running.getTotalChunks(), world.provider.getDimension());
+        return running;
+    }
+
+    /**
+     * Continues the saved pregeneration of a dimension
+     *
+     * @param world the world to pregenerate
+     * @return the resumed pregeneration, or null if a pregeneration is already running or there is none to resume
+     */
+    @Nullable
+    public static WorldPregenerator resume(@Nonnull WorldServer world) {
+        if (running != null) return null;
+        WorldPregenSaveData cursor = WorldPregenSaveData.get(world);
+        if (!cursor.active) return null;
+        cursor.rewind();
+        running = new WorldPregenerator(world, cursor);
+        GTLog.logger.info("Resumed pregenerating dimension {} at {} of {} chunks", world.provider.getDimension(),
+                cursor.generatedChunks, running.getTotalChunks());
+        return running;
+    }
+
+    /**
+     * Stops the running pregeneration, keeping its cursor to resume it later
+     *
+     * @return the stopped pregeneration, or null if none was running
+     */
+    @Nullable
+    public static WorldPregenerator stop() {
+        WorldPregenerator stopped = running;
+        if (stopped != null) {
+            running = null;
+            stopped.cursor.markDirty();
+            GTLog.logger.info("Stopped pregenerating dimension {} at {} of {} chunks", stopped.getDimension(),
+                    stopped.getGeneratedChunks(), stopped.getTotalChunks());
+        }
+        return stopped;
+    }
+
+    @Nullable
+    public static WorldPregenerator getRunning() {
+        return running;
+    }
+
+    public int getDimension() {
+        return world.provider.getDimension();
+    }
+
+    public long getGeneratedChunks() {
+        return cursor.generatedChunks;
+    }
+
+    /**
+     * @return the amount of chunks to generate, including the extra column and row of each strip
+     */
+    public long getTotalChunks() {
+        return cursor.getTotalChunks();
+    }
+
+    public double getChunksPerSecond() {
+        return perSecond(generatedSinceStart);
+    }
+
+    public double getGridsPerSecond() {
+        return perSecond(CachedGridEntry.getPlannedGrids() - startGrids);
+    }
+
+    public double getVeinsPerSecond() {
+        return perSecond(CachedGridEntry.getPlannedVeins() - startVeins);
+    }
+
+    /**
+     * @return the amount of grids planned per generated chunk, at best one per chunk of a grid
+     */
+    public double getGridsPerChunk() {
+        return generatedSinceStart == 0 ? 0 : (double) (CachedGridEntry.getPlannedGrids() - startGrids) / generatedSinceStart;
+    }
+
+    private double perSecond(long amount) {
+        long nanos = System.nanoTime() - startNanos;
+        return nanos == 0 ? 0 : amount * 1e9 / nanos;
+    }
+
+    private void update() {
+        ChunkProviderServer provider = world.getChunkProvider();
+        long start = System.nanoTime();
+        // chunks loaded again, or kept loaded by tickets, are no longer waiting to be unloaded
+        unloadingChunks.removeIf(chunk -> !chunk.isLoaded() || !chunk.unloadQueued ||
+                world.getPersistentChunks().containsKey(chunk.getPos()));
+        // let the server catch up with unloading, instead of holding more and more chunks
+        if (unloadingChunks.size() > MAX_UNLOADING_CHUNKS) return;
+        do {
+            provider.provideChunk(cursor.chunkX, cursor.chunkZ);
+            cursor.generatedChunks++;
+            generatedSinceStart++;
+            if (!cursor.advance(chunkZ -> unloadRow(provider, chunkZ))) {
+                finish();
+                return;
+            }
+        } while (System.nanoTime() - start < tickBudgetNanos);
+
+        if (start - lastLogNanos >= LOG_INTERVAL_NANOS) {
+            this.lastLogNanos = start;
+            GTLog.logger.info("Pregenerated {} of {} chunks in dimension {}, {} chunks/s, {} veins/s",
+                    cursor.generatedChunks, getTotalChunks(), getDimension(),
+                    String.format("%.1f", getChunksPerSecond()), String.format("%.1f", getVeinsPerSecond()));
+        }
+    }
+
+    private void unloadRow(@Nonnull ChunkProviderServer provider, int chunkZ) {
+        int lastColumn = cursor.getLastColumn();
+        for (int chunkX = cursor.stripX; chunkX <= lastColumn; chunkX++) {
+            Chunk chunk = provider.getLoadedChunk(chunkX, chunkZ);
+            // chunks seen by players stay loaded
+            if (chunk != null && !world.getPlayerChunkMap().contains(chunkX, chunkZ)) {
+                provider.queueUnload(chunk);
+                if (chunk.unloadQueued) {
+                    unloadingChunks.add(chunk);
+                }
+            }
+        }
+    }
+
+    private void finish() {
+        running = null;
+        cursor.active = false;
+        cursor.markDirty();
+        GTLog.logger.info("Finished pregenerating {} chunks in dimension {}, {} chunks/s, {} grids per chunk",
+                cursor.generatedChunks, getDimension(), String.format("%.1f", getChunksPerSecond()),
+                String.format("%.3f", getGridsPerChunk()));
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (running != null && event.phase == TickEvent.Phase.END) {
+            running.update();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        if (running != null && running.world == event.getWorld()) {
+            stop();
+        }
+    }
+}
@@ -7,6 +7,8 @@ import gregtech.api.block.machines.MachineItemBlock;
 import gregtech.api.items.metaitem.MetaItem;
 import gregtech.api.items.toolitem.IGTTool;
 import gregtech.api.recipes.ModHandler;
+import gregtech.api.recipes.ParallelRecipeGeneration;
+import gregtech.api.recipes.RecipeMap;
 import gregtech.api.recipes.ingredients.GTRecipeInput;
 import gregtech.api.recipes.recipeproperties.FusionEUToStartProperty;
 import gregtech.api.terminal.TerminalRegistry;
@@ -374,6 +376,10 @@ public class CommonProxy {
 
     public void onLoadComplete(FMLLoadCompleteEvent event) {
         GTRecipeInput.INSTANCES = new ObjectOpenHashSet<>();
+        if (ConfigHolder.misc.compiledRecipeLookup) {
+            RecipeMap.compileLookups();
+        }
+        ParallelRecipeGeneration.shutdown();
     }
 
     public boolean isFancyGraphics() {
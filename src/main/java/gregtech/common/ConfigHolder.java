@@ -124,6 +124,18 @@ public class ConfigHolder {
         @Config.Comment({"Block to replace mined ores with in the miner and multiblock miner.", "Default: minecraft:cobblestone"})
         public String replaceMinedBlocksWith = "minecraft:cobblestone";
 
+        @Config.Comment({"The amount of blocks a miner or multiblock miner may scan for ores per tick, while it has no ores queued.",
+                "Lower values spread the scanning of large mining areas over more ticks. Empty chunk sections only count once.",
+                "Default: 4096"})
+        @Config.RangeInt(min = 1)
+        public int minerScanBudget = 4096;
+
+        @Config.Comment({"The maximum amount of ticks an idle machine stops ticking for, until something changes which may let it work again.",
+                "Idle machines are still woken up every time this many ticks have passed. Set to 0 to keep idle machines ticking.",
+                "Default: 40"})
+        @Config.RangeInt(min = 0)
+        public int machineSleepTicks = 40;
+
         @Config.Comment({"Whether to enable Assembly Line research for recipes.", "Default: true"})
         @Config.RequiresMcRestart
         public boolean enableResearch = true;
@@ -180,6 +192,16 @@ public class ConfigHolder {
 
         @Config.Comment({"Should all Stone Types drop unique Ore Item Blocks?", "Default: false (meaning only Stone, Netherrack, and Endstone"})
         public boolean allUniqueStoneTypes = false;
+
+        @Config.Comment({"The amount of background threads planning the ore veins of newly generated areas, while the server thread generates the terrain.",
+                "Set to 0 to plan the veins on the server thread instead. Changes apply after a restart.", "Default: 2"})
+        @Config.RangeInt(min = 0, max = 16)
+        public int veinPlanningThreads = 2;
+
+        @Config.Comment({"The milliseconds of every server tick spent generating chunks while pregenerating with /gt worldgen pregen.",
+                "Higher values pregenerate faster, but slow down the server more.", "Default: 10"})
+        @Config.RangeInt(min = 1, max = 50)
+        public int pregenTickMillis = 10;
     }
 
     public static class RecipeOptions {
@@ -321,6 +343,28 @@ public class ConfigHolder {
         @Config.Comment({"Whether to give the terminal to new players on login", "Default: true"})
         public boolean spawnTerminal = true;
 
+        @Config.Comment({"Whether to compile Recipe Maps into a flattened lookup after loading.",
+                "Uses less pointer chasing when machines search for recipes.",
+                "Uses more memory, as the recipe tree is kept for adding and removing recipes.", "Default: false"})
+        public boolean compiledRecipeLookup = false;
+
+        @Config.RangeInt(min = 0)
+        @Config.Comment({"The amount of recipe search results each Recipe Map shares between its machines.",
+                "Identical machines with identical inputs then search only once. Set to 0 to disable.", "Default: 256"})
+        public int recipeLookupCacheSize = 256;
+
+        @Config.RangeInt(min = 1, max = 20)
+        @Config.Comment({"The amount of ticks between the updates of frequently changing GUI elements sent to players,",
+                "like progress bars and multiblock status texts. Higher values use less bandwidth and server time.", "Default: 4"})
+        public int guiUpdateInterval = 4;
+
+        @Config.RequiresMcRestart
+        @Config.RangeInt(min = 0, max = 64)
+        @Config.Comment({"The amount of threads generating material recipes at startup, or 0 to generate them on the main thread.",
+                "Recipes are added in the same order either way. Addons registering material handlers should only add recipes",
+                "and unification data through GregTech's Recipe Maps, ModHandler and OreDictUnifier when this is enabled.", "Default: 0"})
+        public int recipeGenerationThreads = 0;
+
     }
 
     public static class ClientOptions {
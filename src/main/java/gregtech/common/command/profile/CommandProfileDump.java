@@ -0,0 +1,52 @@
+package gregtech.common.command.profile;
+
+import gregtech.api.metatileentity.MetaTileEntityTickProfiler;
+import gregtech.api.util.GTLog;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.Style;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.util.text.TextFormatting;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+public class CommandProfileDump extends CommandBase {
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "dump";
+    }
+
+    @Nonnull
+    @Override
+    public String getUsage(@Nonnull ICommandSender sender) {
+        return "gregtech.command.profile.dump.usage";
+    }
+
+    @Override
+    public void execute(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args) throws CommandException {
+        if (MetaTileEntityTickProfiler.getSampledTicks() == 0) {
+            throw new CommandException("gregtech.command.profile.no_data");
+        }
+        File file = server.getFile("gregtech_profile_" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + ".csv");
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+            MetaTileEntityTickProfiler.writeCsv(writer);
+            sender.sendMessage(new TextComponentTranslation("gregtech.command.profile.dump.success", file.getName())
+                    .setStyle(new Style().setColor(TextFormatting.GREEN)));
+        } catch (IOException exception) {
+            GTLog.logger.error("Failed to write the MetaTileEntity profile", exception);
+            sender.sendMessage(new TextComponentTranslation("gregtech.command.profile.dump.failed")
+                    .setStyle(new Style().setColor(TextFormatting.RED)));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package gregtech.common.command.profile;
+
+import gregtech.api.metatileentity.MetaTileEntityTickProfiler;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.Style;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.util.text.TextFormatting;
+
+import javax.annotation.Nonnull;
+
+public class CommandProfileStart extends CommandBase {
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "start";
+    }
+
+    @Nonnull
+    @Override
+    public String getUsage(@Nonnull ICommandSender sender) {
+        return "gregtech.command.profile.start.usage";
+    }
+
+    @Override
+    public void execute(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args) throws CommandException {
+        int interval = args.length > 0 ? parseInt(args[0], 1) : 1;
+        MetaTileEntityTickProfiler.start(interval);
+        sender.sendMessage(new TextComponentTranslation("gregtech.command.profile.start.success", interval)
+                .setStyle(new Style().setColor(TextFormatting.GREEN)));
+    }
+}
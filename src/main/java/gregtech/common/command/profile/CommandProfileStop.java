@@ -0,0 +1,35 @@
+package gregtech.common.command.profile;
+
+import gregtech.api.metatileentity.MetaTileEntityTickProfiler;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.TextComponentTranslation;
+
+import javax.annotation.Nonnull;
+
+public class CommandProfileStop extends CommandBase {
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "stop";
+    }
+
+    @Nonnull
+    @Override
+    public String getUsage(@Nonnull ICommandSender sender) {
+        return "gregtech.command.profile.stop.usage";
+    }
+
+    @Override
+    public void execute(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args) throws CommandException {
+        if (!MetaTileEntityTickProfiler.isEnabled()) {
+            throw new CommandException("gregtech.command.profile.not_running");
+        }
+        MetaTileEntityTickProfiler.stop();
+        sender.sendMessage(new TextComponentTranslation("gregtech.command.profile.stop.success",
+                MetaTileEntityTickProfiler.getSampledTicks()));
+    }
+}
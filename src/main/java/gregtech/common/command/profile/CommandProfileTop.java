@@ -0,0 +1,90 @@
+package gregtech.common.command.profile;
+
+import gregtech.api.metatileentity.MetaTileEntityTickProfiler;
+import gregtech.api.metatileentity.MetaTileEntityTickProfiler.Grouping;
+import gregtech.api.metatileentity.MetaTileEntityTickStats;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.ITextComponent;
+import net.minecraft.util.text.Style;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraft.util.text.event.HoverEvent;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+public class CommandProfileTop extends CommandBase {
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "top";
+    }
+
+    @Nonnull
+    @Override
+    public String getUsage(@Nonnull ICommandSender sender) {
+        return "gregtech.command.profile.top.usage";
+    }
+
+    @Override
+    public void execute(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args) throws CommandException {
+        Grouping grouping = Grouping.MACHINE;
+        if (args.length > 0) {
+            try {
+                grouping = Grouping.valueOf(args[0].toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new CommandException("gregtech.command.profile.top.usage");
+            }
+        }
+        int count = args.length > 1 ? parseInt(args[1], 1) : 10;
+
+        long sampledTicks = MetaTileEntityTickProfiler.getSampledTicks();
+        if (sampledTicks == 0) {
+            throw new CommandException("gregtech.command.profile.no_data");
+        }
+        List<MetaTileEntityTickStats> stats = MetaTileEntityTickProfiler.getStats(grouping);
+        sender.sendMessage(new TextComponentTranslation("gregtech.command.profile.top.header", sampledTicks));
+        for (int i = 0; i < Math.min(count, stats.size()); i++) {
+            MetaTileEntityTickStats entry = stats.get(i);
+            ITextComponent line = new TextComponentTranslation("gregtech.command.profile.top.entry", i + 1, entry.getName(),
+                    formatMillis(entry.getMillisPerTick(sampledTicks)), formatMillis(entry.getMaxNanos() / 1_000_000.0));
+            line.setStyle(new Style().setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, getPartsText(entry, sampledTicks))));
+            sender.sendMessage(line);
+        }
+    }
+
+    @Nonnull
+    private static ITextComponent getPartsText(@Nonnull MetaTileEntityTickStats stats, long sampledTicks) {
+        ITextComponent text = new TextComponentTranslation("gregtech.command.profile.top.parts")
+                .setStyle(new Style().setColor(TextFormatting.GOLD));
+        for (Object2LongMap.Entry<String> part : stats.getPartNanos().object2LongEntrySet()) {
+            text.appendText("\n").appendSibling(new TextComponentString(String.format(Locale.ROOT, "%s: %s ms/t",
+                    part.getKey(), formatMillis(part.getLongValue() / 1_000_000.0 / sampledTicks))));
+        }
+        return text;
+    }
+
+    @Nonnull
+    private static String formatMillis(double millis) {
+        return String.format(Locale.ROOT, "%.4f", millis);
+    }
+
+    @Nonnull
+    @Override
+    public List<String> getTabCompletions(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args, @Nullable BlockPos targetPos) {
+        if (args.length == 1) {
+            return getListOfStringsMatchingLastWord(args, "machine", "type", "chunk");
+        }
+        return Collections.emptyList();
+    }
+}
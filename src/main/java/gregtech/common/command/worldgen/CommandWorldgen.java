@@ -9,6 +9,7 @@ public class CommandWorldgen extends CommandTreeBase {
 
     public CommandWorldgen() {
         addSubcommand(new CommandWorldgenReload());
+        addSubcommand(new CommandWorldgenPregen());
     }
 
     @Nonnull
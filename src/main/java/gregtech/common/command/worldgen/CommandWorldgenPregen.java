@@ -0,0 +1,33 @@
+package gregtech.common.command.worldgen;
+
+import net.minecraft.command.ICommandSender;
+import net.minecraftforge.server.command.CommandTreeBase;
+
+import javax.annotation.Nonnull;
+
+public class CommandWorldgenPregen extends CommandTreeBase {
+
+    public CommandWorldgenPregen() {
+        addSubcommand(new CommandWorldgenPregenStart());
+        addSubcommand(new CommandWorldgenPregenResume());
+        addSubcommand(new CommandWorldgenPregenStop());
+        addSubcommand(new CommandWorldgenPregenStatus());
+    }
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "pregen";
+    }
+
+    @Override
+    public int getRequiredPermissionLevel() {
+        return 3;
+    }
+
+    @Nonnull
+    @Override
+    public String getUsage(@Nonnull ICommandSender sender) {
+        return "gregtech.command.worldgen.pregen.usage";
+    }
+}
@@ -0,0 +1,42 @@
+package gregtech.common.command.worldgen;
+
+import gregtech.api.worldgen.generator.WorldPregenerator;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.Style;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraft.world.WorldServer;
+
+import javax.annotation.Nonnull;
+
+public class CommandWorldgenPregenResume extends CommandBase {
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "resume";
+    }
+
+    @Nonnull
+    @Override
+    public String getUsage(@Nonnull ICommandSender sender) {
+        return "gregtech.command.worldgen.pregen.resume.usage";
+    }
+
+    @Override
+    public void execute(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args) throws CommandException {
+        if (WorldPregenerator.getRunning() != null) {
+            throw new CommandException("gregtech.command.worldgen.pregen.running");
+        }
+        WorldPregenerator pregenerator = WorldPregenerator.resume((WorldServer) sender.getEntityWorld());
+        if (pregenerator == null) {
+            throw new CommandException("gregtech.command.worldgen.pregen.resume.none");
+        }
+        sender.sendMessage(new TextComponentTranslation("gregtech.command.worldgen.pregen.resume.success",
+                pregenerator.getDimension(), pregenerator.getGeneratedChunks(), pregenerator.getTotalChunks())
+                .setStyle(new Style().setColor(TextFormatting.GREEN)));
+    }
+}
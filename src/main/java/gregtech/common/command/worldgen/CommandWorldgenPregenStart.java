@@ -0,0 +1,50 @@
+package gregtech.common.command.worldgen;
+
+import gregtech.api.worldgen.generator.WorldPregenerator;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.Style;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraft.world.WorldServer;
+
+import javax.annotation.Nonnull;
+
+public class CommandWorldgenPregenStart extends CommandBase {
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "start";
+    }
+
+    @Nonnull
+    @Override
+    public String getUsage(@Nonnull ICommandSender sender) {
+        return "gregtech.command.worldgen.pregen.start.usage";
+    }
+
+    @Override
+    public void execute(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args) throws CommandException {
+        if (args.length != 1 && args.length != 3) {
+            throw new WrongUsageException(getUsage(sender));
+        }
+        int radius = parseInt(args[0], 1);
+        BlockPos position = sender.getPosition();
+        int centerX = args.length == 3 ? parseInt(args[1]) : position.getX();
+        int centerZ = args.length == 3 ? parseInt(args[2]) : position.getZ();
+        WorldServer world = (WorldServer) sender.getEntityWorld();
+
+        WorldPregenerator pregenerator = WorldPregenerator.start(world, centerX >> 4, centerZ >> 4, (radius + 15) >> 4);
+        if (pregenerator == null) {
+            throw new CommandException("gregtech.command.worldgen.pregen.running");
+        }
+        sender.sendMessage(new TextComponentTranslation("gregtech.command.worldgen.pregen.start.success",
+                pregenerator.getTotalChunks(), centerX, centerZ, pregenerator.getDimension())
+                .setStyle(new Style().setColor(TextFormatting.GREEN)));
+    }
+}
@@ -0,0 +1,45 @@
+package gregtech.common.command.worldgen;
+
+import gregtech.api.worldgen.generator.WorldPregenerator;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.TextComponentTranslation;
+
+import javax.annotation.Nonnull;
+
+public class CommandWorldgenPregenStatus extends CommandBase {
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "status";
+    }
+
+    @Nonnull
+    @Override
+    public String getUsage(@Nonnull ICommandSender sender) {
+        return "gregtech.command.worldgen.pregen.status.usage";
+    }
+
+    @Override
+    public void execute(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args) throws CommandException {
+        WorldPregenerator pregenerator = WorldPregenerator.getRunning();
+        if (pregenerator == null) {
+            throw new CommandException("gregtech.command.worldgen.pregen.not_running");
+        }
+        long generated = pregenerator.getGeneratedChunks();
+        long total = pregenerator.getTotalChunks();
+        sender.sendMessage(new TextComponentTranslation("gregtech.command.worldgen.pregen.status.progress",
+                pregenerator.getDimension(), generated, total, String.format("%.1f", generated * 100.0 / total)));
+        sender.sendMessage(new TextComponentTranslation("gregtech.command.worldgen.pregen.status.throughput",
+                String.format("%.1f", pregenerator.getChunksPerSecond()), String.format("%.1f", pregenerator.getGridsPerSecond()),
+                String.format("%.1f", pregenerator.getVeinsPerSecond()), String.format("%.3f", pregenerator.getGridsPerChunk())));
+
+        Runtime runtime = Runtime.getRuntime();
+        long usedMegabytes = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+        sender.sendMessage(new TextComponentTranslation("gregtech.command.worldgen.pregen.status.memory",
+                usedMegabytes, runtime.maxMemory() >> 20));
+    }
+}
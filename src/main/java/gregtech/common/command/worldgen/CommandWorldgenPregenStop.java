@@ -0,0 +1,35 @@
+package gregtech.common.command.worldgen;
+
+import gregtech.api.worldgen.generator.WorldPregenerator;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.TextComponentTranslation;
+
+import javax.annotation.Nonnull;
+
+public class CommandWorldgenPregenStop extends CommandBase {
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "stop";
+    }
+
+    @Nonnull
+    @Override
+    public String getUsage(@Nonnull ICommandSender sender) {
+        return "gregtech.command.worldgen.pregen.stop.usage";
+    }
+
+    @Override
+    public void execute(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args) throws CommandException {
+        WorldPregenerator pregenerator = WorldPregenerator.stop();
+        if (pregenerator == null) {
+            throw new CommandException("gregtech.command.worldgen.pregen.not_running");
+        }
+        sender.sendMessage(new TextComponentTranslation("gregtech.command.worldgen.pregen.stop.success",
+                pregenerator.getGeneratedChunks(), pregenerator.getTotalChunks()));
+    }
+}
@@ -4,34 +4,20 @@ import gregtech.api.gui.GuiTextures;
 import gregtech.api.gui.Widget;
 import gregtech.api.gui.widgets.DrawableWidget;
 import gregtech.api.gui.widgets.ImageWidget;
-import gregtech.api.unification.OreDictUnifier;
-import gregtech.api.unification.stack.ItemVariantMap;
-import gregtech.api.unification.stack.MultiItemVariantMap;
-import gregtech.api.unification.stack.SingleItemVariantMap;
 import gregtech.api.util.oreglob.OreGlob;
-import gregtech.api.util.oreglob.OreGlobCompileResult;
-import gregtech.common.covers.filter.oreglob.impl.ImpossibleOreGlob;
 import gregtech.common.gui.widget.HighlightedTextField;
 import gregtech.common.gui.widget.orefilter.ItemOreFilterTestSlot;
 import gregtech.common.gui.widget.orefilter.OreGlobCompileStatusWidget;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.text.TextFormatting;
 
-import java.util.Map;
-import java.util.Set;
 import java.util.function.Consumer;
 
 public class OreDictionaryItemFilter extends ItemFilter {
 
     protected String expression = "";
-    private OreGlob glob = ImpossibleOreGlob.getInstance();
-    private boolean error;
-
-    private final Map<Item, ItemVariantMap.Mutable<Boolean>> matchCache = new Object2ObjectOpenHashMap<>();
-    private final SingleItemVariantMap<Boolean> noOreDictMatch = new SingleItemVariantMap<>();
+    private OreGlobCache glob = OreGlobCache.get("");
 
     public String getExpression() {
         return expression;
@@ -49,21 +35,12 @@ public class OreDictionaryItemFilter extends ItemFilter {
                 s -> {
                     if (s.equals(this.expression)) return;
                     this.expression = s;
-                    if (!s.isEmpty()) {
-                        OreGlobCompileResult result = OreGlob.compile(s);
-                        this.glob = result.getInstance();
-                        this.error = result.hasError();
-                        compilationStatus.setCompileResult(result);
-                    } else {
-                        this.glob = ImpossibleOreGlob.getInstance();
-                        this.error = true;
-                        compilationStatus.setCompileResult(null);
-                    }
-                    this.matchCache.clear();
-                    this.noOreDictMatch.clear();
+                    this.glob = OreGlobCache.get(s);
+                    // compiled again for the report positions, which are relative to the untrimmed expression
+                    compilationStatus.setCompileResult(s.isEmpty() ? null : OreGlob.compile(s));
                     markDirty();
                     for (ItemOreFilterTestSlot slot : testSlot) {
-                        slot.setGlob(this.error ? null : this.glob);
+                        slot.setGlob(this.glob.hasError() ? null : this.glob.getGlob());
                     }
                 });
         compilationStatus.setTextField(textField);
@@ -126,46 +103,7 @@ public class OreDictionaryItemFilter extends ItemFilter {
     }
 
     public boolean matchesItemStack(ItemStack itemStack) {
-        if (this.error) return false;
-        Item item = itemStack.getItem();
-        ItemVariantMap<Set<String>> oreDictEntry = OreDictUnifier.getOreDictionaryEntry(item);
-
-        if (oreDictEntry == null) {
-            // no oredict entries associated
-            Boolean cached = this.noOreDictMatch.getEntry();
-            if (cached == null) {
-                cached = this.glob.matches("");
-            }
-            this.matchCache.put(item, this.noOreDictMatch);
-            return cached;
-        }
-
-        ItemVariantMap.Mutable<Boolean> cacheEntry = this.matchCache.get(item);
-        if (cacheEntry != null) {
-            Boolean cached = cacheEntry.get(itemStack);
-            if (cached != null) return cached;
-        }
-
-        if (cacheEntry == null) {
-            if (oreDictEntry.isEmpty()) {
-                // no oredict entries associated
-                Boolean cached = this.noOreDictMatch.getEntry();
-                if (cached == null) {
-                    cached = this.glob.matches("");
-                    this.noOreDictMatch.put(cached);
-                }
-                this.matchCache.put(item, this.noOreDictMatch);
-                return cached;
-            } else if (!item.getHasSubtypes() || !oreDictEntry.hasNonWildcardEntry()) {
-                cacheEntry = new SingleItemVariantMap<>(); // we can just ignore metadata and use shared cache
-            } else {
-                cacheEntry = new MultiItemVariantMap<>(); // variant items
-            }
-            this.matchCache.put(item, cacheEntry);
-        }
-        boolean matches = this.glob.matches(itemStack);
-        cacheEntry.put(itemStack, matches);
-        return matches;
+        return this.glob.matches(itemStack);
     }
 
     @Override
@@ -191,13 +129,6 @@ public class OreDictionaryItemFilter extends ItemFilter {
     @Override
     public void readFromNBT(NBTTagCompound tagCompound) {
         this.expression = tagCompound.getString("OreDictionaryFilter");
-        if (!this.expression.isEmpty()) {
-            OreGlobCompileResult result = OreGlob.compile(this.expression);
-            this.glob = result.getInstance();
-            this.error = result.hasError();
-        } else {
-            this.glob = ImpossibleOreGlob.getInstance();
-            this.error = true;
-        }
+        this.glob = OreGlobCache.get(this.expression);
     }
 }
@@ -0,0 +1,136 @@
+package gregtech.common.covers.filter;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import gregtech.api.unification.OreDictUnifier;
+import gregtech.api.unification.stack.ItemVariantMap;
+import gregtech.api.unification.stack.MultiItemVariantMap;
+import gregtech.api.unification.stack.SingleItemVariantMap;
+import gregtech.api.util.oreglob.OreGlob;
+import gregtech.api.util.oreglob.OreGlobCompileResult;
+import gregtech.common.covers.filter.oreglob.impl.ImpossibleOreGlob;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled ore glob of an ore dictionary filter expression, together with the results of matching items against it.
+ * <p>
+ * Instances are interned by their expression, so every filter with the same expression shares one instance and
+ * computes each result once. Instances are only weakly held by the registry and dropped once no filter uses them.
+ * The results may be accessed from any thread, and are discarded when the ore dictionary changes.
+ */
+public final class OreGlobCache {
+
+    private static final LoadingCache<String, OreGlobCache> REGISTRY = CacheBuilder.newBuilder()
+            .weakValues()
+            .build(CacheLoader.from(OreGlobCache::new));
+
+    private static final OreGlobCache EMPTY = new OreGlobCache("");
+
+    private final String expression;
+    private final OreGlob glob;
+    private final boolean error;
+
+    private final Map<Item, ItemVariantMap.Mutable<Boolean>> matchCache = new ConcurrentHashMap<>();
+    private final SingleItemVariantMap<Boolean> noOreDictMatch = new SingleItemVariantMap<>();
+    private volatile int oreDictGeneration = OreDictUnifier.getOreDictGeneration();
+
+    private OreGlobCache(String expression) {
+        this.expression = expression;
+        if (expression.isEmpty()) {
+            this.glob = ImpossibleOreGlob.getInstance();
+            this.error = true;
+        } else {
+            OreGlobCompileResult result = OreGlob.compile(expression);
+            this.glob = result.getInstance();
+            this.error = result.hasError();
+        }
+    }
+
+    /**
+     * Gets the shared instance for an expression, compiling it if no filter uses it yet.
+     * Instances are shared by exactly equal expressions only, as whitespace may be significant.
+     *
+     * @param expression the expression
+     * @return the shared instance of the expression
+     */
+    @Nonnull
+    public static OreGlobCache get(@Nonnull String expression) {
+        if (expression.isEmpty()) return EMPTY;
+        return REGISTRY.getUnchecked(expression);
+    }
+
+    @Nonnull
+    public String getExpression() {
+        return expression;
+    }
+
+    @Nonnull
+    public OreGlob getGlob() {
+        return glob;
+    }
+
+    /**
+     * @return if the expression failed to compile, in which case nothing is matched
+     */
+    public boolean hasError() {
+        return error;
+    }
+
+    public boolean matches(@Nonnull ItemStack itemStack) {
+        if (this.error) return false;
+        validateCache();
+        Item item = itemStack.getItem();
+        ItemVariantMap<Set<String>> oreDictEntry = OreDictUnifier.getOreDictionaryEntry(item);
+
+        if (oreDictEntry == null || oreDictEntry.isEmpty()) {
+            // no oredict entries associated
+            synchronized (this.noOreDictMatch) {
+                Boolean cached = this.noOreDictMatch.getEntry();
+                if (cached == null) {
+                    cached = this.glob.matches("");
+                    this.noOreDictMatch.put(cached);
+                }
+                return cached;
+            }
+        }
+
+        ItemVariantMap.Mutable<Boolean> cacheEntry = this.matchCache.get(item);
+        if (cacheEntry == null) {
+            if (!item.getHasSubtypes() || !oreDictEntry.hasNonWildcardEntry()) {
+                cacheEntry = new SingleItemVariantMap<>(); // we can just ignore metadata and use shared cache
+            } else {
+                cacheEntry = new MultiItemVariantMap<>(); // variant items
+            }
+            ItemVariantMap.Mutable<Boolean> existing = this.matchCache.putIfAbsent(item, cacheEntry);
+            if (existing != null) cacheEntry = existing;
+        }
+        synchronized (cacheEntry) {
+            Boolean cached = cacheEntry.get(itemStack);
+            if (cached != null) return cached;
+        }
+        // matched outside the lock, concurrent matches of the same variant compute the same result
+        boolean matches = this.glob.matches(itemStack);
+        synchronized (cacheEntry) {
+            cacheEntry.put(itemStack, matches);
+        }
+        return matches;
+    }
+
+    private void validateCache() {
+        int generation = OreDictUnifier.getOreDictGeneration();
+        if (this.oreDictGeneration == generation) return;
+        synchronized (this.noOreDictMatch) {
+            if (this.oreDictGeneration == generation) return;
+            this.matchCache.clear();
+            this.noOreDictMatch.clear();
+            this.oreDictGeneration = generation;
+        }
+    }
+}
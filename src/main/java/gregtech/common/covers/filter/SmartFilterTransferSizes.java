@@ -0,0 +1,119 @@
+package gregtech.common.covers.filter;
+
+import gregtech.api.recipes.IRecipeMapListener;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.ingredients.GTRecipeInput;
+import gregtech.api.unification.OreDictUnifier;
+import gregtech.api.unification.stack.ItemAndMetadata;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.item.ItemStack;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the input amounts of the single item recipes of a RecipeMap, by the items they accept.
+ * <p>
+ * Smart filters transfer exactly one recipe's worth of each item, which would otherwise take a recipe search
+ * for every new item. The index is built from the present recipes once, and then kept up to date as recipes
+ * are added or removed, for example by scripts. It is rebuilt when the ore dictionary changes, as that may
+ * change the items accepted by ore dictionary inputs.
+ * <p>
+ * The index is keyed by item and metadata only, so the indexed recipes of an item are checked against the NBT of
+ * the transferred stack. The filtering modes are shared by the client and server threads, so all access is
+ * synchronized.
+ */
+final class SmartFilterTransferSizes implements IRecipeMapListener {
+
+    private final RecipeMap<?> recipeMap;
+    // every indexed recipe accepting an item, the first being the one to use
+    private final Map<ItemAndMetadata, List<Recipe>> recipesByItem = new Object2ObjectOpenHashMap<>();
+    private boolean initialized;
+    private int oreDictGeneration;
+
+    SmartFilterTransferSizes(@Nonnull RecipeMap<?> recipeMap) {
+        this.recipeMap = recipeMap;
+    }
+
+    /**
+     * @param itemStack       the stack to transfer
+     * @param itemAndMetadata the item and metadata of the stack
+     * @return the amount of the item a recipe needs, or 0 if no recipe accepts the item alone
+     */
+    synchronized int getTransferSize(@Nonnull ItemStack itemStack, @Nonnull ItemAndMetadata itemAndMetadata) {
+        if (!initialized) {
+            this.recipeMap.addRecipeListener(this);
+            this.initialized = true;
+            rebuild();
+        } else if (this.oreDictGeneration != OreDictUnifier.getOreDictGeneration()) {
+            rebuild();
+        }
+        int transferSize = getTransferSize(recipesByItem.get(itemAndMetadata), itemStack);
+        if (transferSize == 0 && !itemAndMetadata.isWildcard()) {
+            transferSize = getTransferSize(recipesByItem.get(itemAndMetadata.toWildcard()), itemStack);
+        }
+        return transferSize;
+    }
+
+    /**
+     * @return the amount of the first recipe accepting the stack, including its NBT, or 0 if there is none
+     */
+    private static int getTransferSize(@Nullable List<Recipe> recipes, @Nonnull ItemStack itemStack) {
+        if (recipes == null) return 0;
+        for (int i = 0; i < recipes.size(); i++) {
+            GTRecipeInput input = recipes.get(i).getInputs().get(0);
+            if (input.acceptsStack(itemStack)) {
+                return input.getAmount();
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public synchronized void onRecipeAdded(@Nonnull Recipe recipe) {
+        ItemStack[] stacks = getIndexedStacks(recipe);
+        if (stacks == null) return;
+        for (ItemStack stack : stacks) {
+            recipesByItem.computeIfAbsent(new ItemAndMetadata(stack), k -> new ArrayList<>(1)).add(recipe);
+        }
+    }
+
+    @Override
+    public synchronized void onRecipeRemoved(@Nonnull Recipe recipe) {
+        ItemStack[] stacks = getIndexedStacks(recipe);
+        if (stacks == null) return;
+        for (ItemStack stack : stacks) {
+            ItemAndMetadata key = new ItemAndMetadata(stack);
+            List<Recipe> recipes = recipesByItem.get(key);
+            if (recipes != null && recipes.remove(recipe) && recipes.isEmpty()) {
+                recipesByItem.remove(key);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onRecipesCleared() {
+        recipesByItem.clear();
+    }
+
+    private void rebuild() {
+        recipesByItem.clear();
+        this.oreDictGeneration = OreDictUnifier.getOreDictGeneration();
+        for (Recipe recipe : recipeMap.getRecipeList()) {
+            onRecipeAdded(recipe);
+        }
+    }
+
+    /**
+     * @return the items accepted by a recipe taking one item and nothing else, or null for other recipes
+     */
+    private static ItemStack[] getIndexedStacks(@Nonnull Recipe recipe) {
+        List<GTRecipeInput> inputs = recipe.getInputs();
+        if (inputs.size() != 1 || !recipe.getFluidInputs().isEmpty()) return null;
+        return inputs.get(0).getInputStacks();
+    }
+}
@@ -2,19 +2,14 @@ package gregtech.common.covers.filter;
 
 import gregtech.api.gui.Widget;
 import gregtech.api.gui.widgets.CycleButtonWidget;
-import gregtech.api.recipes.Recipe;
 import gregtech.api.recipes.RecipeMap;
 import gregtech.api.recipes.RecipeMaps;
-import gregtech.api.recipes.ingredients.GTRecipeInput;
 import gregtech.api.unification.stack.ItemAndMetadata;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.IStringSerializable;
 
 import javax.annotation.Nonnull;
-import java.util.Collections;
-import java.util.Map;
 import java.util.function.Consumer;
 
 public class SmartItemFilter extends ItemFilter {
@@ -39,27 +34,11 @@ public class SmartItemFilter extends ItemFilter {
     @Override
     public Object matchItemStack(ItemStack itemStack) {
         ItemAndMetadata itemAndMetadata = new ItemAndMetadata(itemStack);
-        Integer cachedTransferRateValue = filteringMode.transferStackSizesCache.get(itemAndMetadata);
-
-        if (cachedTransferRateValue == null) {
-            ItemStack infinitelyBigStack = itemStack.copy();
-            infinitelyBigStack.setCount(Integer.MAX_VALUE);
-
-            Recipe recipe = filteringMode.recipeMap.findRecipe(Long.MAX_VALUE, Collections.singletonList(infinitelyBigStack), Collections.emptyList());
-            if (recipe == null) {
-                filteringMode.transferStackSizesCache.put(itemAndMetadata, 0);
-                cachedTransferRateValue = 0;
-            } else {
-                GTRecipeInput inputIngredient = recipe.getInputs().iterator().next();
-                filteringMode.transferStackSizesCache.put(itemAndMetadata, inputIngredient.getAmount());
-                cachedTransferRateValue = inputIngredient.getAmount();
-            }
-        }
-
-        if (cachedTransferRateValue == 0) {
+        int transferStackSize = filteringMode.transferStackSizes.getTransferSize(itemStack, itemAndMetadata);
+        if (transferStackSize == 0) {
             return null;
         }
-        return new ItemAndMetadataAndStackSize(itemAndMetadata, cachedTransferRateValue);
+        return new ItemAndMetadataAndStackSize(itemAndMetadata, transferStackSize);
     }
 
     @Override
@@ -117,13 +96,14 @@ public class SmartItemFilter extends ItemFilter {
         CENTRIFUGE("cover.smart_item_filter.filtering_mode.centrifuge", RecipeMaps.CENTRIFUGE_RECIPES),
         SIFTER("cover.smart_item_filter.filtering_mode.sifter", RecipeMaps.SIFTER_RECIPES);
 
-        private final Map<ItemAndMetadata, Integer> transferStackSizesCache = new Object2IntOpenHashMap<>();
+        private final SmartFilterTransferSizes transferStackSizes;
         public final String localeName;
         public final RecipeMap<?> recipeMap;
 
         SmartFilteringMode(String localeName, RecipeMap<?> recipeMap) {
             this.localeName = localeName;
             this.recipeMap = recipeMap;
+            this.transferStackSizes = new SmartFilterTransferSizes(recipeMap);
         }
 
         @Nonnull
@@ -0,0 +1,286 @@
+package gregtech.common.covers.filter.oreglob.impl;
+
+import gregtech.common.covers.filter.oreglob.node.BranchNode.BranchType;
+import gregtech.common.covers.filter.oreglob.node.NodeVisitor;
+import gregtech.common.covers.filter.oreglob.node.OreGlobNode;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiled form of an OreGlob node tree, producing the same results as {@link NodeInterpreter}.
+ * <p>
+ * The node tree is flattened into {@link NodeInstruction}s once, and the sets of states are kept as bits of a
+ * {@code long} instead of hash sets, so a match neither walks the node tree nor allocates. This is only possible
+ * when every state fits into 64 bits; states may exceed the input length by up to the sum of all character counts
+ * of the expression. Longer inputs are left to the interpreter, see {@link #canMatch(String)}.
+ * <p>
+ * Each instruction mirrors the corresponding method of {@link NodeInterpreter}, including which input states
+ * a negation is computed against, so both always agree.
+ */
+final class CompiledNodeMatcher {
+
+    private static final int IN = 0;
+    private static final int OUT = 1;
+
+    // the state buffer of each thread; compiled expressions are cached and shared by the client and server threads
+    private static final ThreadLocal<long[]> STATES = ThreadLocal.withInitial(() -> new long[2]);
+
+    private final NodeInstruction[] program;
+    // the highest amount a state can exceed the input length by
+    private final int maxOverflow;
+
+    private CompiledNodeMatcher(NodeInstruction[] program, int maxOverflow) {
+        this.program = program;
+        this.maxOverflow = maxOverflow;
+    }
+
+    static CompiledNodeMatcher compile(@Nullable OreGlobNode root) {
+        Compiler compiler = new Compiler();
+        NodeInstruction[] program = compiler.compileChain(root);
+        return new CompiledNodeMatcher(program, compiler.totalAmount);
+    }
+
+    /**
+     * @return if every state of matching the input fits into the bits of a {@code long}
+     */
+    boolean canMatch(String input) {
+        return input.length() + maxOverflow < Long.SIZE;
+    }
+
+    boolean matches(String input) {
+        int length = input.length();
+        long[] states = STATES.get();
+        states[IN] = 1L;
+        states[OUT] = 0L;
+        evaluate(program, states, input, length);
+        return (states[OUT] >>> length & 1) != 0;
+    }
+
+    private static void evaluate(NodeInstruction[] chain, long[] states, String input, int length) {
+        for (int i = 0; i < chain.length; i++) {
+            if (i > 0) {
+                states[IN] = states[OUT];
+                states[OUT] = 0;
+            }
+            execute(chain[i], states, input, length);
+            if (states[OUT] == 0) break; // If no output states are provided after visiting, the match is aborted
+        }
+    }
+
+    private static void execute(NodeInstruction instruction, long[] states, String input, int length) {
+        long in = states[IN];
+        long out = states[OUT];
+        switch (instruction.opcode) {
+            case NodeInstruction.MATCH: {
+                String match = instruction.match;
+                int matchLength = match.length();
+                for (long bits = in; bits != 0; bits &= bits - 1) {
+                    int state = Long.numberOfTrailingZeros(bits);
+                    if (input.regionMatches(instruction.ignoreCase, state, match, 0, matchLength)) {
+                        out |= 1L << (state + matchLength);
+                    }
+                }
+                states[OUT] = out;
+                if (instruction.not) negate(states, length);
+                return;
+            }
+            case NodeInstruction.CHARS: {
+                int amount = instruction.amount;
+                if (instruction.not) {
+                    int state = minState(in, length);
+                    out |= range(state, state + amount - 1);
+                    for (state += amount + 1; state <= length; state++) {
+                        if ((in >>> (state - amount) & 1) == 0) out |= 1L << state;
+                    }
+                } else {
+                    for (long bits = in; bits != 0; bits &= bits - 1) {
+                        int state = Long.numberOfTrailingZeros(bits);
+                        if (state + amount <= length) out |= 1L << (state + amount);
+                    }
+                }
+                states[OUT] = out;
+                return;
+            }
+            case NodeInstruction.CHARS_OR_MORE: {
+                int amount = instruction.amount;
+                for (long bits = in; bits != 0; bits &= bits - 1) {
+                    int state = Long.numberOfTrailingZeros(bits);
+                    // less than n chars, or n chars and more
+                    out |= instruction.not ? range(state, state + amount - 1) : range(state + amount, length);
+                }
+                states[OUT] = out;
+                return;
+            }
+            case NodeInstruction.GROUP:
+                evaluate(instruction.children[0], states, input, length);
+                if (instruction.not) negate(states, length);
+                return;
+            case NodeInstruction.BRANCH:
+                states[OUT] = branch(instruction, in, states, input, length);
+                states[IN] = in;
+                if (instruction.not) negate(states, length);
+                return;
+            case NodeInstruction.EVERYTHING:
+                states[OUT] = out | range(minState(in, length), length);
+                return;
+            case NodeInstruction.NONEMPTY:
+                states[OUT] = out | range(minState(in, length) + 1, length);
+                return;
+            case NodeInstruction.EMPTY:
+                states[OUT] = out | in;
+                return;
+            case NodeInstruction.NOTHING:
+                return;
+            default:
+                throw new IllegalStateException("Unknown opcode " + instruction.opcode);
+        }
+    }
+
+    /**
+     * Evaluates each branch from the same input states, reusing the state buffer
+     *
+     * @return the combined output states of the branches
+     */
+    private static long branch(NodeInstruction instruction, long in, long[] states, String input, int length) {
+        long out = 0;
+        switch (instruction.branchType) {
+            case OR: {
+                int maxPossibleBranches = length - minState(in, length) + 1;
+                for (NodeInstruction[] chain : instruction.children) {
+                    out |= evaluateBranch(chain, in, states, input, length);
+                    if (Long.bitCount(out) >= maxPossibleBranches) break; // Already max
+                }
+                return out;
+            }
+            case AND: {
+                boolean first = true;
+                for (NodeInstruction[] chain : instruction.children) {
+                    long branchOut = evaluateBranch(chain, in, states, input, length);
+                    out = first ? branchOut : out & branchOut;
+                    first = false;
+                    if (out == 0) break; // Short circuit
+                }
+                return out;
+            }
+            case XOR:
+                for (NodeInstruction[] chain : instruction.children) {
+                    out ^= evaluateBranch(chain, in, states, input, length);
+                }
+                return out;
+            default:
+                throw new IllegalStateException("Unknown BranchType '" + instruction.branchType + "'");
+        }
+    }
+
+    private static long evaluateBranch(NodeInstruction[] chain, long in, long[] states, String input, int length) {
+        states[IN] = in;
+        states[OUT] = 0;
+        evaluate(chain, states, input, length);
+        return states[OUT];
+    }
+
+    /**
+     * Applies logical complement to the output states, like {@code NodeInterpreter#negate()}.
+     */
+    private static void negate(long[] states, int length) {
+        int minInputState = minState(states[IN], length);
+        long out = states[OUT];
+        if (Long.bitCount(out) >= length - minInputState + 1) {
+            states[OUT] = 0;
+            return;
+        }
+        states[IN] = out;
+        states[OUT] = range(minInputState, length) & ~out;
+    }
+
+    private static int minState(long states, int length) {
+        return states == 0 ? length : Math.min(length, Long.numberOfTrailingZeros(states));
+    }
+
+    /**
+     * @return the bits from {@code from} to {@code to}, both inclusive
+     */
+    private static long range(int from, int to) {
+        if (from > to) return 0;
+        return (-1L >>> (Long.SIZE - 1 - to)) & (-1L << from);
+    }
+
+    private static final class Compiler implements NodeVisitor {
+
+        private NodeInstruction emitted;
+        private int totalAmount;
+
+        NodeInstruction[] compileChain(@Nullable OreGlobNode node) {
+            List<NodeInstruction> chain = new ArrayList<>();
+            while (node != null) {
+                node = node.visit(this);
+                chain.add(this.emitted);
+            }
+            return chain.toArray(new NodeInstruction[0]);
+        }
+
+        @Override
+        public void match(String match, boolean ignoreCase, boolean not) {
+            this.emitted = NodeInstruction.match(match, ignoreCase, not);
+        }
+
+        @Override
+        public void chars(int amount, boolean not) {
+            addAmount(amount);
+            this.emitted = NodeInstruction.chars(NodeInstruction.CHARS, amount, not);
+        }
+
+        @Override
+        public void charsOrMore(int amount, boolean not) {
+            addAmount(amount);
+            this.emitted = NodeInstruction.chars(NodeInstruction.CHARS_OR_MORE, amount, not);
+        }
+
+        @Override
+        public void group(OreGlobNode node, boolean not) {
+            NodeInstruction[] chain = compileChain(node);
+            this.emitted = NodeInstruction.group(chain, not);
+        }
+
+        @Override
+        public void branch(BranchType type, List<OreGlobNode> nodes, boolean not) {
+            NodeInstruction[][] chains = new NodeInstruction[nodes.size()][];
+            for (int i = 0; i < chains.length; i++) {
+                chains[i] = compileChain(nodes.get(i));
+            }
+            this.emitted = NodeInstruction.branch(type, chains, not);
+        }
+
+        @Override
+        public void everything() {
+            this.emitted = NodeInstruction.simple(NodeInstruction.EVERYTHING);
+        }
+
+        @Override
+        public void nothing() {
+            this.emitted = NodeInstruction.simple(NodeInstruction.NOTHING);
+        }
+
+        @Override
+        public void nonempty() {
+            this.emitted = NodeInstruction.simple(NodeInstruction.NONEMPTY);
+        }
+
+        @Override
+        public void empty() {
+            this.emitted = NodeInstruction.simple(NodeInstruction.EMPTY);
+        }
+
+        @Override
+        public void error() {
+            // Do not match anything!
+            this.emitted = NodeInstruction.simple(NodeInstruction.NOTHING);
+        }
+
+        private void addAmount(int amount) {
+            this.totalAmount = (int) Math.min(Long.SIZE, (long) this.totalAmount + amount);
+        }
+    }
+}
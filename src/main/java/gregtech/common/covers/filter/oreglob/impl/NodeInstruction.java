@@ -0,0 +1,62 @@
+package gregtech.common.covers.filter.oreglob.impl;
+
+import gregtech.common.covers.filter.oreglob.node.BranchNode.BranchType;
+
+/**
+ * Single instruction of a {@link CompiledNodeMatcher}, corresponding to one visit of {@link NodeInterpreter}.
+ */
+final class NodeInstruction {
+
+    static final int MATCH = 0;
+    static final int CHARS = 1;
+    static final int CHARS_OR_MORE = 2;
+    static final int GROUP = 3;
+    static final int BRANCH = 4;
+    static final int EVERYTHING = 5;
+    static final int NOTHING = 6;
+    static final int NONEMPTY = 7;
+    static final int EMPTY = 8;
+
+    final int opcode;
+    final boolean not;
+
+    // MATCH
+    final String match;
+    final boolean ignoreCase;
+    // CHARS and CHARS_OR_MORE
+    final int amount;
+    // GROUP and BRANCH
+    final BranchType branchType;
+    final NodeInstruction[][] children;
+
+    private NodeInstruction(int opcode, boolean not, String match, boolean ignoreCase, int amount,
+                            BranchType branchType, NodeInstruction[][] children) {
+        this.opcode = opcode;
+        this.not = not;
+        this.match = match;
+        this.ignoreCase = ignoreCase;
+        this.amount = amount;
+        this.branchType = branchType;
+        this.children = children;
+    }
+
+    static NodeInstruction simple(int opcode) {
+        return new NodeInstruction(opcode, false, null, false, 0, null, null);
+    }
+
+    static NodeInstruction match(String match, boolean ignoreCase, boolean not) {
+        return new NodeInstruction(MATCH, not, match, ignoreCase, 0, null, null);
+    }
+
+    static NodeInstruction chars(int opcode, int amount, boolean not) {
+        return new NodeInstruction(opcode, not, null, false, amount, null, null);
+    }
+
+    static NodeInstruction group(NodeInstruction[] chain, boolean not) {
+        return new NodeInstruction(GROUP, not, null, false, 0, null, new NodeInstruction[][]{chain});
+    }
+
+    static NodeInstruction branch(BranchType type, NodeInstruction[][] chains, boolean not) {
+        return new NodeInstruction(BRANCH, not, null, false, 0, type, chains);
+    }
+}
@@ -10,9 +10,11 @@ import gregtech.common.covers.filter.oreglob.node.OreGlobNode;
 public final class NodeOreGlob extends OreGlob {
 
     private final OreGlobNode root;
+    private final CompiledNodeMatcher matcher;
 
     public NodeOreGlob(OreGlobNode root) {
         this.root = root;
+        this.matcher = CompiledNodeMatcher.compile(root);
     }
 
     @VisibleForTesting
@@ -28,6 +30,17 @@ public final class NodeOreGlob extends OreGlob {
 
     @Override
     public boolean matches(String input) {
+        if (this.matcher.canMatch(input)) {
+            return this.matcher.matches(input);
+        }
+        return matchesInterpreted(input);
+    }
+
+    /**
+     * Matches the input by interpreting the node tree, without the compiled matcher.
+     */
+    @VisibleForTesting
+    public boolean matchesInterpreted(String input) {
         return new NodeInterpreter(input).evaluate(this.root).isMatch();
     }
 }
@@ -17,6 +17,7 @@ import gregtech.api.gui.widgets.AdvancedTextWidget;
 import gregtech.api.gui.widgets.SlotWidget;
 import gregtech.api.metatileentity.IDataInfoProvider;
 import gregtech.api.metatileentity.MetaTileEntity;
+import gregtech.api.metatileentity.MetaTileEntityTickProfiler;
 import gregtech.api.metatileentity.TieredMetaTileEntity;
 import gregtech.api.metatileentity.interfaces.IGregTechTileEntity;
 import gregtech.client.renderer.texture.Textures;
@@ -185,7 +186,13 @@ public class MetaTileEntityMiner extends TieredMetaTileEntity implements IMiner,
     @Override
     public void update() {
         super.update();
-        this.minerLogic.performMining();
+        if (MetaTileEntityTickProfiler.isSampling() && !getWorld().isRemote) {
+            long startTime = System.nanoTime();
+            this.minerLogic.performMining();
+            MetaTileEntityTickProfiler.recordPart("MinerLogic", System.nanoTime() - startTime);
+        } else {
+            this.minerLogic.performMining();
+        }
         if (!getWorld().isRemote) {
             ((EnergyContainerHandler) this.energyContainer).dischargeOrRechargeEnergyContainers(chargerInventory, 0);
 
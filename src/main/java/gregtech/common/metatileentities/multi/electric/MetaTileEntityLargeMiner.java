@@ -18,6 +18,7 @@ import gregtech.api.gui.widgets.AdvancedTextWidget;
 import gregtech.api.gui.widgets.ImageCycleButtonWidget;
 import gregtech.api.metatileentity.IDataInfoProvider;
 import gregtech.api.metatileentity.MetaTileEntity;
+import gregtech.api.metatileentity.MetaTileEntityTickProfiler;
 import gregtech.api.metatileentity.interfaces.IGregTechTileEntity;
 import gregtech.api.metatileentity.multiblock.IMultiblockPart;
 import gregtech.api.metatileentity.multiblock.MultiblockAbility;
@@ -161,7 +162,13 @@ public class MetaTileEntityLargeMiner extends MultiblockWithDisplayBase implemen
 
     @Override
     protected void updateFormedValid() {
-        this.minerLogic.performMining();
+        if (MetaTileEntityTickProfiler.isSampling() && !getWorld().isRemote) {
+            long startTime = System.nanoTime();
+            this.minerLogic.performMining();
+            MetaTileEntityTickProfiler.recordPart("MinerLogic", System.nanoTime() - startTime);
+        } else {
+            this.minerLogic.performMining();
+        }
         if (!getWorld().isRemote && this.minerLogic.wasActiveAndNeedsUpdate()) {
             this.minerLogic.setWasActiveAndNeedsUpdate(false);
             this.minerLogic.setActive(false);
@@ -176,6 +176,18 @@ public class MetaTileEntityQuantumChest extends MetaTileEntity implements ITiere
         }
     }
 
+    @Override
+    protected boolean isIdle() {
+        if (!importItems.getStackInSlot(0).isEmpty()) return false;
+        ItemStack outputStack = exportItems.getStackInSlot(0);
+        if (isAutoOutputItems() && !outputStack.isEmpty()) return false;
+        if (itemsStoredInside > 0 && !itemStack.isEmpty() && (outputStack.isEmpty() ||
+                (areItemStackIdentical(itemStack, outputStack) && outputStack.getCount() < itemStack.getMaxStackSize()))) {
+            return false;
+        }
+        return previousStack != null && areItemStackIdentical(previousStack, itemStack) && previousStackSize == itemsStoredInside;
+    }
+
     private static boolean areItemStackIdentical(ItemStack first, ItemStack second) {
         return ItemStack.areItemsEqual(first, second) &&
                 ItemStack.areItemStackTagsEqual(first, second);
@@ -239,12 +251,22 @@ public class MetaTileEntityQuantumChest extends MetaTileEntity implements ITiere
                 if (compound == null) return true;
                 return !(compound.hasKey(NBT_ITEMSTACK, NBT.TAG_COMPOUND) || compound.hasKey("Fluid", NBT.TAG_COMPOUND)); //prevents inserting items with NBT to the Quantum Chest
             }
+
+            @Override
+            protected void onContentsChanged(int slot) {
+                markDirty();
+            }
         };
     }
 
     @Override
     protected IItemHandlerModifiable createExportItemHandler() {
-        return new ItemStackHandler(1);
+        return new ItemStackHandler(1) {
+            @Override
+            protected void onContentsChanged(int slot) {
+                markDirty();
+            }
+        };
     }
 
     @Override
@@ -516,6 +538,7 @@ public class MetaTileEntityQuantumChest extends MetaTileEntity implements ITiere
             ItemStack extractedStack = itemStack.copy();
             extractedStack.setCount(extractedAmount);
             if (!simulate) {
+                wakeUp();
                 MetaTileEntityQuantumChest.this.itemsStoredInside -= extractedAmount;
                 if (itemsStoredInside == 0L) {
                     MetaTileEntityQuantumChest.this.itemStack = ItemStack.EMPTY;
@@ -576,6 +599,7 @@ public class MetaTileEntityQuantumChest extends MetaTileEntity implements ITiere
                 remainingStack.setCount(insertedStack.getCount() - virtualizedAmount);
             }
             if (!simulate) {
+                wakeUp();
                 if (remainingStack.isEmpty()) {
                     if (itemStack.isEmpty()) {
                         ItemStack virtualStack = insertedStack.copy();
@@ -0,0 +1,254 @@
+package gregtech.common.pipelike.cable.net;
+
+import gregtech.api.util.GTUtility;
+import gregtech.common.pipelike.cable.tile.TileEntityCable;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Arrays;
+
+/**
+ * The amperage and voltage state of all cables of an {@link EnergyNet}, stored in primitive arrays indexed by cable id.
+ * <p>
+ * Routes collect their transfers into these arrays by id, so long routes write contiguous memory
+ * instead of visiting each of their cable tile entities. A cable tile is only accessed when it heats up;
+ * the cables read their amperage and voltage from here.
+ */
+public class CableState {
+
+    /**
+     * The amount of ticks amperage and voltage are averaged over
+     */
+    private static final int AVERAGE_LENGTH = 20;
+
+    private final Long2IntMap idByPos = new Long2IntOpenHashMap();
+    private final IntArrayList freeIds = new IntArrayList();
+    // ids released since the last applied transfers, which may still be used by collected routes
+    private final IntArrayList releasedIds = new IntArrayList();
+    private final IntArrayList collectedIds = new IntArrayList();
+    private int nextId;
+
+    private TileEntityCable[] cables = new TileEntityCable[0];
+    private long[] ratedVoltage = new long[0];
+    private long[] ratedAmperage = new long[0];
+
+    // the transfers collected since they were last applied
+    private long[] collectedOfferedVoltage = new long[0];
+    private long[] collectedAmperage = new long[0];
+    private long[] collectedVoltage = new long[0];
+    private long[] collectedVoltageSum = new long[0];
+
+    // the applied transfers of the last ticks
+    private long[] updateTime = new long[0];
+    private long[] maxVoltage = new long[0];
+    private long[] amperageHistory = new long[0];
+    private long[] voltageHistory = new long[0];
+
+    public CableState() {
+        idByPos.defaultReturnValue(-1);
+    }
+
+    /**
+     * @return the id of the cable, assigning a new one if it has none yet
+     */
+    public int getId(TileEntityCable cable) {
+        long pos = cable.getPipePos().toLong();
+        int id = idByPos.get(pos);
+        if (id == -1) {
+            id = freeIds.isEmpty() ? nextId++ : freeIds.popInt();
+            ensureCapacity(id + 1);
+            idByPos.put(pos, id);
+            resetHistory(id);
+        }
+        this.cables[id] = cable;
+        this.ratedVoltage[id] = cable.getMaxVoltage();
+        this.ratedAmperage[id] = cable.getMaxAmperage();
+        return id;
+    }
+
+    /**
+     * Releases the id of a cable which left the net. The id is only reused once the transfers collected
+     * until now are applied, as routes over the cable may still be collecting into it.
+     */
+    public void release(BlockPos pos) {
+        int id = idByPos.remove(pos.toLong());
+        if (id != -1) {
+            this.cables[id] = null;
+            releasedIds.add(id);
+        }
+    }
+
+    /**
+     * Makes the released ids available again. Must only be called when no transfers are collected.
+     */
+    public void recycleIds() {
+        freeIds.addAll(releasedIds);
+        releasedIds.clear();
+    }
+
+    /**
+     * Collects transfers over a cable, until they are applied by {@link #applyTransfers(long, EnergyNet)}.
+     *
+     * @param amperage       the amperes which passed the cable
+     * @param voltage        the highest voltage which passed the cable
+     * @param voltageSum     the sum of the voltages of all transfers which passed the cable
+     * @param offeredVoltage the highest voltage offered to the cable, before any loss
+     */
+    public void collect(int id, long amperage, long voltage, long voltageSum, long offeredVoltage) {
+        if (collectedOfferedVoltage[id] == 0) {
+            collectedIds.add(id);
+        }
+        collectedOfferedVoltage[id] = Math.max(collectedOfferedVoltage[id], offeredVoltage);
+        if (amperage > 0) {
+            collectedAmperage[id] += amperage;
+            collectedVoltage[id] = Math.max(collectedVoltage[id], voltage);
+            collectedVoltageSum[id] += voltageSum;
+        }
+    }
+
+    /**
+     * Applies the collected transfers of a tick, heating every overloaded cable once.
+     *
+     * @param time the world time the transfers happened at
+     * @param net  the net to invalidate the routes of cables which are no longer valid in
+     */
+    public void applyTransfers(long time, EnergyNet net) {
+        for (int i = 0; i < collectedIds.size(); i++) {
+            int id = collectedIds.getInt(i);
+            long offeredVoltage = collectedOfferedVoltage[id];
+            long amperage = collectedAmperage[id];
+            long voltage = collectedVoltage[id];
+            long voltageSum = collectedVoltageSum[id];
+            collectedOfferedVoltage[id] = 0;
+            collectedAmperage[id] = 0;
+            collectedVoltage[id] = 0;
+            collectedVoltageSum[id] = 0;
+
+            TileEntityCable cable = cables[id];
+            if (cable == null) continue;
+            if (cable.isInvalid()) {
+                // the cable was unloaded or replaced without a block update reaching the net
+                net.invalidateRoutesThrough(cable.getPipePos());
+                continue;
+            }
+
+            if (offeredVoltage > ratedVoltage[id]) {
+                cable.applyHeat((int) (Math.log(GTUtility.getTierByVoltage(offeredVoltage) - GTUtility.getTierByVoltage(ratedVoltage[id])) * 45 + 36.5));
+            }
+            if (amperage > 0) {
+                advanceHistory(id, time);
+                int slot = id * AVERAGE_LENGTH + (int) (time % AVERAGE_LENGTH);
+                amperageHistory[slot] += amperage;
+                voltageHistory[slot] += voltageSum;
+                maxVoltage[id] = Math.max(maxVoltage[id], voltage);
+
+                int dif = (int) (amperage - ratedAmperage[id]);
+                if (dif > 0) {
+                    cable.applyHeat(dif * 40);
+                }
+            }
+        }
+        collectedIds.clear();
+        recycleIds();
+    }
+
+    /**
+     * Applies a single transfer to a cable right away, without collecting it.
+     *
+     * @param amperage the amperes which passed the cable
+     * @param voltage  the voltage which passed the cable
+     * @param time     the world time of the transfer
+     * @return the amperes which passed the cable in this tick
+     */
+    public long increment(TileEntityCable cable, long amperage, long voltage, long time) {
+        int id = getId(cable);
+        advanceHistory(id, time);
+        int slot = id * AVERAGE_LENGTH + (int) (time % AVERAGE_LENGTH);
+        amperageHistory[slot] += amperage;
+        voltageHistory[slot] += voltage;
+        maxVoltage[id] = Math.max(maxVoltage[id], voltage);
+        return amperageHistory[slot];
+    }
+
+    /**
+     * @return the highest voltage which passed the cable in the last tick
+     */
+    public long getMaxVoltage(BlockPos pos, long time) {
+        int id = idByPos.get(pos.toLong());
+        if (id == -1 || updateTime[id] < time - 1) return 0;
+        return maxVoltage[id];
+    }
+
+    /**
+     * @return the average amperage which passed the cable over the last second
+     */
+    public double getAverageAmperage(BlockPos pos, long time) {
+        return getAverage(amperageHistory, pos, time);
+    }
+
+    /**
+     * @return the average voltage which passed the cable over the last second
+     */
+    public double getAverageVoltage(BlockPos pos, long time) {
+        return getAverage(voltageHistory, pos, time);
+    }
+
+    private double getAverage(long[] history, BlockPos pos, long time) {
+        int id = idByPos.get(pos.toLong());
+        if (id == -1) return 0;
+        long sum = 0;
+        for (int i = 0; i < AVERAGE_LENGTH; i++) {
+            long slotTime = updateTime[id] - i;
+            if (slotTime < 0 || slotTime <= time - AVERAGE_LENGTH) break;
+            sum += history[id * AVERAGE_LENGTH + (int) (slotTime % AVERAGE_LENGTH)];
+        }
+        return sum / (double) AVERAGE_LENGTH;
+    }
+
+    /**
+     * Clears the history slots of the ticks between the last update of a cable and the given time
+     */
+    private void advanceHistory(int id, long time) {
+        long lastTime = updateTime[id];
+        if (lastTime == time) return;
+        int offset = id * AVERAGE_LENGTH;
+        if (time - lastTime >= AVERAGE_LENGTH) {
+            Arrays.fill(amperageHistory, offset, offset + AVERAGE_LENGTH, 0);
+            Arrays.fill(voltageHistory, offset, offset + AVERAGE_LENGTH, 0);
+        } else {
+            for (long t = lastTime + 1; t <= time; t++) {
+                int slot = offset + (int) (t % AVERAGE_LENGTH);
+                amperageHistory[slot] = 0;
+                voltageHistory[slot] = 0;
+            }
+        }
+        this.updateTime[id] = time;
+        this.maxVoltage[id] = 0;
+    }
+
+    private void resetHistory(int id) {
+        int offset = id * AVERAGE_LENGTH;
+        Arrays.fill(amperageHistory, offset, offset + AVERAGE_LENGTH, 0);
+        Arrays.fill(voltageHistory, offset, offset + AVERAGE_LENGTH, 0);
+        this.updateTime[id] = -AVERAGE_LENGTH;
+        this.maxVoltage[id] = 0;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= cables.length) return;
+        int capacity = Math.max(16, Math.max(size, cables.length * 2));
+        this.cables = Arrays.copyOf(cables, capacity);
+        this.ratedVoltage = Arrays.copyOf(ratedVoltage, capacity);
+        this.ratedAmperage = Arrays.copyOf(ratedAmperage, capacity);
+        this.collectedOfferedVoltage = Arrays.copyOf(collectedOfferedVoltage, capacity);
+        this.collectedAmperage = Arrays.copyOf(collectedAmperage, capacity);
+        this.collectedVoltage = Arrays.copyOf(collectedVoltage, capacity);
+        this.collectedVoltageSum = Arrays.copyOf(collectedVoltageSum, capacity);
+        this.updateTime = Arrays.copyOf(updateTime, capacity);
+        this.maxVoltage = Arrays.copyOf(maxVoltage, capacity);
+        this.amperageHistory = Arrays.copyOf(amperageHistory, capacity * AVERAGE_LENGTH);
+        this.voltageHistory = Arrays.copyOf(voltageHistory, capacity * AVERAGE_LENGTH);
+    }
+}
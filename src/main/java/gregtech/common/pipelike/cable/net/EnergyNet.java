@@ -1,10 +1,21 @@
 package gregtech.common.pipelike.cable.net;
 
+import gregtech.api.capability.GregtechCapabilities;
 import gregtech.api.pipenet.Node;
 import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
+import gregtech.api.pipenet.tile.IPipeTile;
 import gregtech.api.unification.material.properties.WireProperties;
+import gregtech.api.util.TaskScheduler;
+import gregtech.common.pipelike.cable.tile.TileEntityCable;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
@@ -12,11 +23,29 @@ import java.util.*;
 
 public class EnergyNet extends PipeNet<WireProperties> {
 
+    /**
+     * Returned by {@link #getHandlerSides(World, BlockPos)} when the sides can not be determined
+     */
+    private static final int UNKNOWN_SIDES = -1;
+
     private long lastEnergyFluxPerSec;
     private long energyFluxPerSec;
     private long lastTime;
 
     private final Map<BlockPos, List<RoutePath>> NET_DATA = new HashMap<>();
+    /**
+     * The positions of all cables on the routes of each source, to find the routes cut by a change
+     */
+    private final Map<BlockPos, LongSet> ROUTED_PIPES = new HashMap<>();
+    /**
+     * The sides each route destination is reached from, as a bitmask of the sides facing the cable
+     */
+    private final Long2IntMap DESTINATION_SIDES = new Long2IntOpenHashMap();
+    /**
+     * The routes used since the transfers were last applied to the cables
+     */
+    private final List<RoutePath> transferredRoutes = new ArrayList<>();
+    private final CableState cableState = new CableState();
 
     protected EnergyNet(WorldPipeNet<WireProperties, EnergyNet> world) {
         super(world);
@@ -32,6 +61,7 @@ public class EnergyNet extends PipeNet<WireProperties> {
             }
             data.sort(Comparator.comparingInt(RoutePath::getDistance));
             NET_DATA.put(pipePos, data);
+            indexRoutes(pipePos, data);
         }
         return data;
     }
@@ -54,21 +84,214 @@ public class EnergyNet extends PipeNet<WireProperties> {
         energyFluxPerSec = 0;
     }
 
+    /**
+     * Records a transfer over a route. The amperage and heat of its cables are applied once per tick
+     * for all transfers of the tick, so a transfer only costs the cables' work once per route instead of every time.
+     *
+     * @param route    the used route
+     * @param voltage  the voltage offered to the route, before any loss
+     * @param amperage the amperes accepted by the destination
+     */
+    public void addTransfer(RoutePath route, long voltage, long amperage) {
+        // nothing to apply, unless the cables are overloaded
+        if (amperage == 0 && voltage <= route.getMinVoltage()) return;
+        // a route dropped while it was used, for example by a split of the net
+        if (!route.isValid()) return;
+        if (route.addTransfer(voltage, amperage)) {
+            if (transferredRoutes.isEmpty()) {
+                TaskScheduler.scheduleTask(getWorldData(), this::applyTransfers);
+            }
+            transferredRoutes.add(route);
+        }
+    }
+
+    /**
+     * Applies the transfers of the last tick to the cables, each cable once.
+     * Runs at the start of the next tick, before any new transfer.
+     *
+     * @return false, so the task runs once
+     */
+    private boolean applyTransfers() {
+        for (RoutePath route : transferredRoutes) {
+            route.collectTransfers(cableState);
+        }
+        transferredRoutes.clear();
+        // the transfers happened in the last tick, and the world time was not advanced yet
+        cableState.applyTransfers(getWorldData().getTotalWorldTime(), this);
+        return false;
+    }
+
+    /**
+     * @return the amperage and voltage state of the cables of this net
+     */
+    public CableState getCableState() {
+        return cableState;
+    }
+
     @Override
     public void onNeighbourUpdate(BlockPos fromPos) {
-        NET_DATA.clear();
+        if (NET_DATA.isEmpty()) return;
+
+        // a changed cable may cut the routes passing it
+        invalidateRoutesThrough(fromPos);
+        if (containsNode(fromPos)) return;
+
+        World world = getWorldData();
+        if (world == null) return;
+
+        int sides = getHandlerSides(world, fromPos);
+        int knownSides = DESTINATION_SIDES.get(fromPos.toLong());
+        if (sides == knownSides) {
+            // nothing changed for the routes ending here, which is the case for most block updates
+            return;
+        }
+        if (sides == UNKNOWN_SIDES || (sides & ~knownSides) != 0) {
+            // a new destination appeared, which every source may be able to reach
+            clearRoutes();
+            return;
+        }
+        removeDestination(fromPos, knownSides & ~sides);
     }
 
     @Override
     public void onPipeConnectionsUpdate() {
-        NET_DATA.clear();
+        clearRoutes();
+    }
+
+    @Override
+    public void onPipeConnectionsUpdate(BlockPos nodePos, EnumFacing side, boolean connected) {
+        if (connected) {
+            // a new connection can lead every source to new destinations
+            clearRoutes();
+        } else {
+            // a closed connection can only cut the routes passing it
+            invalidateRoutesThrough(nodePos);
+        }
+    }
+
+    @Override
+    protected Node<WireProperties> removeNodeWithoutRebuilding(BlockPos nodePos) {
+        invalidateRoutesThrough(nodePos);
+        cableState.release(nodePos);
+        if (transferredRoutes.isEmpty()) {
+            cableState.recycleIds();
+        }
+        return super.removeNodeWithoutRebuilding(nodePos);
     }
 
     @Override
     protected void transferNodeData(Map<BlockPos, Node<WireProperties>> transferredNodes, PipeNet<WireProperties> parentNet) {
         super.transferNodeData(transferredNodes, parentNet);
+        // the routes of both nets hold ids of the cable state of the net they were cached in,
+        // so they are dropped, and the moved cables get new ids here when routes are walked again
+        clearRoutes();
+        ((EnergyNet) parentNet).clearRoutes();
+    }
+
+    /**
+     * Drops all routes, so every source walks the net again on its next insertion
+     */
+    protected void clearRoutes() {
+        for (List<RoutePath> routes : NET_DATA.values()) {
+            routes.forEach(RoutePath::invalidate);
+        }
         NET_DATA.clear();
-        ((EnergyNet) parentNet).NET_DATA.clear();
+        ROUTED_PIPES.clear();
+        DESTINATION_SIDES.clear();
+    }
+
+    /**
+     * Drops the routes of every source which has a route passing the position
+     *
+     * @param pos the position of the changed cable
+     */
+    protected void invalidateRoutesThrough(BlockPos pos) {
+        long packedPos = pos.toLong();
+        Iterator<Map.Entry<BlockPos, LongSet>> iterator = ROUTED_PIPES.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<BlockPos, LongSet> entry = iterator.next();
+            if (entry.getValue().contains(packedPos)) {
+                List<RoutePath> routes = NET_DATA.remove(entry.getKey());
+                if (routes != null) {
+                    routes.forEach(RoutePath::invalidate);
+                }
+                iterator.remove();
+            }
+        }
+    }
+
+    private void indexRoutes(BlockPos sourcePos, List<RoutePath> routes) {
+        LongSet pipes = new LongOpenHashSet();
+        for (RoutePath route : routes) {
+            TileEntityCable[] path = route.getPath();
+            int[] cableIds = new int[path.length];
+            for (int i = 0; i < path.length; i++) {
+                pipes.add(path[i].getPipePos().toLong());
+                cableIds[i] = cableState.getId(path[i]);
+            }
+            route.setCableIds(cableIds);
+            long handlerPos = route.getHandlerPos().toLong();
+            int side = 1 << route.getFaceToHandler().getOpposite().getIndex();
+            DESTINATION_SIDES.put(handlerPos, DESTINATION_SIDES.get(handlerPos) | side);
+        }
+        ROUTED_PIPES.put(sourcePos, pipes);
+    }
+
+    /**
+     * Removes the routes to the sides of a destination which can no longer accept energy.
+     * The route lists are replaced instead of modified, as they may currently be iterated.
+     */
+    private void removeDestination(BlockPos handlerPos, int removedSides) {
+        for (Map.Entry<BlockPos, List<RoutePath>> entry : NET_DATA.entrySet()) {
+            List<RoutePath> routes = entry.getValue();
+            List<RoutePath> remaining = null;
+            for (int i = 0; i < routes.size(); i++) {
+                RoutePath route = routes.get(i);
+                boolean removed = (removedSides & (1 << route.getFaceToHandler().getOpposite().getIndex())) != 0 &&
+                        route.getHandlerPos().equals(handlerPos);
+                if (removed && remaining == null) {
+                    remaining = new ObjectArrayList<>(routes.subList(0, i));
+                } else if (!removed && remaining != null) {
+                    remaining.add(route);
+                }
+            }
+            if (remaining != null) {
+                entry.setValue(remaining);
+            }
+        }
+
+        long packedPos = handlerPos.toLong();
+        int sides = DESTINATION_SIDES.get(packedPos) & ~removedSides;
+        if (sides == 0) {
+            DESTINATION_SIDES.remove(packedPos);
+        } else {
+            DESTINATION_SIDES.put(packedPos, sides);
+        }
+    }
+
+    /**
+     * Determines the sides of a block which routes of this net can end at, like {@link EnergyNetWalker} does.
+     *
+     * @return the bitmask of the sides facing a connected cable and accepting energy, or {@link #UNKNOWN_SIDES}
+     */
+    private int getHandlerSides(World world, BlockPos handlerPos) {
+        if (!world.isBlockLoaded(handlerPos)) return UNKNOWN_SIDES;
+        TileEntity tile = world.getTileEntity(handlerPos);
+        if (tile == null) return 0;
+        // other pipes are resolved by the walker itself
+        if (tile instanceof IPipeTile) return UNKNOWN_SIDES;
+
+        int sides = 0;
+        for (EnumFacing side : EnumFacing.VALUES) {
+            BlockPos pipePos = handlerPos.offset(side);
+            if (!containsNode(pipePos)) continue;
+            TileEntity pipeTile = world.getTileEntity(pipePos);
+            if (!(pipeTile instanceof IPipeTile<?, ?> pipe) || !pipe.isConnected(side.getOpposite())) continue;
+            if (tile.getCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, side) != null) {
+                sides |= 1 << side.getIndex();
+            }
+        }
+        return sides;
     }
 
     @Override
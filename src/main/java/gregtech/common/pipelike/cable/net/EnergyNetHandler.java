@@ -75,42 +75,16 @@ public class EnergyNetHandler implements IEnergyContainer {
             EnumFacing facing = path.getFaceToHandler().getOpposite();
             if (!dest.inputsEnergy(facing) || dest.getEnergyCanBeInserted() <= 0) continue;
 
-            long pathVoltage = voltage - path.getMaxLoss();
-            boolean cableBroken = false;
-            for (TileEntityCable cable : path.getPath()) {
-                if (cable.getMaxVoltage() < voltage) {
-                    int heat = (int) (Math.log(GTUtility.getTierByVoltage(voltage) - GTUtility.getTierByVoltage(cable.getMaxVoltage())) * 45 + 36.5);
-                    cable.applyHeat(heat);
-
-                    cableBroken = cable.isInvalid();
-                    if (cableBroken) {
-                        // a cable burned away (or insulation melted)
-                        break;
-                    }
-
-                    // limit transfer to cables max and void rest
-                    pathVoltage = Math.min(cable.getMaxVoltage(), pathVoltage);
-                }
-            }
-
-            if (cableBroken) continue;
+            // limit transfer to the weakest cable and void the rest, the cables are heated by the net
+            long pathVoltage = Math.min(voltage - path.getMaxLoss(), path.getMinVoltage());
 
             transfer = true;
             long amps = dest.acceptEnergyFromNetwork(facing, pathVoltage, amperage - amperesUsed);
             transfer = false;
+            net.addTransfer(path, voltage, amps);
             if (amps == 0) continue;
 
             amperesUsed += amps;
-            long voltageTraveled = voltage;
-            for (TileEntityCable cable : path.getPath()) {
-                voltageTraveled -= cable.getNodeData().getLossPerBlock();
-                if (voltageTraveled <= 0) break;
-
-                if (!cable.isInvalid()) {
-                    cable.incrementAmperage(amps, voltageTraveled);
-                }
-            }
-
             if (amperage == amperesUsed) break;
         }
 
@@ -14,6 +14,23 @@ public class RoutePath {
     private final int distance;
     private final TileEntityCable[] path;
     private final long maxLoss;
+    private final long minVoltage;
+    // the loss up to and including each cable of the path
+    private final long[] pathLoss;
+    // the ids of the cables in the CableState of the net, assigned when the route is cached
+    private int[] cableIds;
+
+    // the destination, looked up at most once per tick
+    private TileEntity handlerTile;
+    private IEnergyContainer handler;
+    private long handlerTime = -1;
+
+    // the transfers over this route since the net last applied them to the cables
+    private int transfers;
+    private long amperes;
+    private long voltageSum;
+    private long maxVoltage;
+    private long offeredVoltage;
 
     public RoutePath(BlockPos destPipePos, EnumFacing destFacing, TileEntityCable[] path, int distance, long maxLoss) {
         this.destPipePos = destPipePos;
@@ -21,6 +38,15 @@ public class RoutePath {
         this.path = path;
         this.distance = distance;
         this.maxLoss = maxLoss;
+        this.pathLoss = new long[path.length];
+        long minVoltage = Long.MAX_VALUE;
+        long loss = 0;
+        for (int i = 0; i < path.length; i++) {
+            minVoltage = Math.min(minVoltage, path[i].getMaxVoltage());
+            loss += path[i].getNodeData().getLossPerBlock();
+            this.pathLoss[i] = loss;
+        }
+        this.minVoltage = minVoltage;
     }
 
     public int getDistance() {
@@ -31,6 +57,13 @@ public class RoutePath {
         return maxLoss;
     }
 
+    /**
+     * @return the max voltage of the weakest cable on this route
+     */
+    public long getMinVoltage() {
+        return minVoltage;
+    }
+
     public TileEntityCable[] getPath() {
         return path;
     }
@@ -48,10 +81,69 @@ public class RoutePath {
     }
 
     public IEnergyContainer getHandler(World world) {
-        TileEntity tile = world.getTileEntity(getHandlerPos());
-        if (tile != null) {
-            return tile.getCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, destFacing.getOpposite());
+        long time = world.getTotalWorldTime();
+        if (time != handlerTime || (handlerTile != null && handlerTile.isInvalid())) {
+            this.handlerTime = time;
+            this.handlerTile = world.getTileEntity(getHandlerPos());
+            this.handler = handlerTile == null ? null :
+                    handlerTile.getCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, destFacing.getOpposite());
+        }
+        return handler;
+    }
+
+    /**
+     * Records a transfer over this route, to be applied to the cables by {@link EnergyNet}
+     *
+     * @param voltage  the voltage offered to the route, before any loss
+     * @param amperage the amperes accepted by the destination
+     * @return if this is the first transfer recorded since the transfers were last applied
+     */
+    boolean addTransfer(long voltage, long amperage) {
+        boolean first = offeredVoltage == 0;
+        this.offeredVoltage = Math.max(offeredVoltage, voltage);
+        if (amperage > 0) {
+            this.transfers++;
+            this.amperes += amperage;
+            this.voltageSum += voltage;
+            this.maxVoltage = Math.max(maxVoltage, voltage);
+        }
+        return first;
+    }
+
+    void setCableIds(int[] cableIds) {
+        this.cableIds = cableIds;
+    }
+
+    /**
+     * Detaches this route from the cable ids of its net, after the net dropped it.
+     * The ids may be reused for other cables, so the transfers of a dropped route are discarded.
+     */
+    void invalidate() {
+        this.cableIds = null;
+    }
+
+    /**
+     * @return if this route is still cached by its net
+     */
+    boolean isValid() {
+        return cableIds != null;
+    }
+
+    /**
+     * Collects the recorded transfers into the cables of this route and resets them.
+     * The voltage of each cable is counted after its own loss.
+     */
+    void collectTransfers(CableState cableState) {
+        if (cableIds != null) {
+            for (int i = 0; i < cableIds.length; i++) {
+                long loss = pathLoss[i];
+                cableState.collect(cableIds[i], amperes, maxVoltage - loss, voltageSum - transfers * loss, offeredVoltage);
+            }
         }
-        return null;
+        this.transfers = 0;
+        this.amperes = 0;
+        this.voltageSum = 0;
+        this.maxVoltage = 0;
+        this.offeredVoltage = 0;
     }
 }
@@ -4,6 +4,12 @@ import net.minecraft.world.World;
 
 import java.util.Arrays;
 
+/**
+ * @deprecated Cables keep their averages in the {@link gregtech.common.pipelike.cable.net.CableState} of their net.
+ *
+ * </p> This class was deprecated in 2.7 and will be removed in 2.8
+ */
+@Deprecated
 public class AveragingPerTickCounter {
 
     private final long defaultValue;
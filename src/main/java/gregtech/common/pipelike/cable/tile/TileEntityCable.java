@@ -9,7 +9,6 @@ import gregtech.api.metatileentity.IDataInfoProvider;
 import gregtech.api.pipenet.block.BlockPipe;
 import gregtech.api.pipenet.block.material.TileEntityMaterialPipeBase;
 import gregtech.api.unification.material.properties.WireProperties;
-import gregtech.api.util.PerTickLongCounter;
 import gregtech.api.util.TaskScheduler;
 import gregtech.api.util.TextFormattingUtil;
 import gregtech.client.particle.GTOverheatParticle;
@@ -44,9 +43,6 @@ public class TileEntityCable extends TileEntityMaterialPipeBase<Insulation, Wire
     private static final int meltTemp = 3000;
 
     private final EnumMap<EnumFacing, EnergyNetHandler> handlers = new EnumMap<>(EnumFacing.class);
-    private final PerTickLongCounter maxVoltageCounter = new PerTickLongCounter(0);
-    private final AveragingPerTickCounter averageVoltageCounter = new AveragingPerTickCounter(0, 20);
-    private final AveragingPerTickCounter averageAmperageCounter = new AveragingPerTickCounter(0, 20);
     private EnergyNetHandler defaultHandler;
     // the EnergyNetHandler can only be created on the server so we have a empty placeholder for the client
     private final IEnergyContainer clientCapability = IEnergyContainer.DEFAULT;
@@ -98,20 +94,19 @@ public class TileEntityCable extends TileEntityMaterialPipeBase<Insulation, Wire
      * Should only be called internally
      *
      * @return if the cable should be destroyed
+     * @deprecated Transfers are recorded by the {@link EnergyNet} of the cable, and applied once per tick.
+     *
+     * </p> This method was deprecated in 2.7 and will be removed in 2.8
      */
+    @Deprecated
     public boolean incrementAmperage(long amps, long voltage) {
-        if (voltage > maxVoltageCounter.get(world)) {
-            maxVoltageCounter.set(world, voltage);
-        }
-        averageVoltageCounter.increment(world, voltage);
-        averageAmperageCounter.increment(world, amps);
-
-        int dif = (int) (averageAmperageCounter.getLast(world) - getMaxAmperage());
+        EnergyNet net = getEnergyNet();
+        if (net == null) return false;
+        int dif = (int) (net.getCableState().increment(this, amps, voltage, world.getTotalWorldTime()) - getMaxAmperage());
         if (dif > 0) {
             applyHeat(dif * 40);
             return true;
         }
-
         return false;
     }
 
@@ -224,15 +219,18 @@ public class TileEntityCable extends TileEntityMaterialPipeBase<Insulation, Wire
     }
 
     public double getAverageAmperage() {
-        return averageAmperageCounter.getAverage(getWorld());
+        EnergyNet net = getEnergyNet();
+        return net == null ? 0 : net.getCableState().getAverageAmperage(getPipePos(), world.getTotalWorldTime());
     }
 
     public long getCurrentMaxVoltage() {
-        return maxVoltageCounter.get(getWorld());
+        EnergyNet net = getEnergyNet();
+        return net == null ? 0 : net.getCableState().getMaxVoltage(getPipePos(), world.getTotalWorldTime());
     }
 
     public double getAverageVoltage() {
-        return averageVoltageCounter.getAverage(getWorld());
+        EnergyNet net = getEnergyNet();
+        return net == null ? 0 : net.getCableState().getAverageVoltage(getPipePos(), world.getTotalWorldTime());
     }
 
     public long getMaxAmperage() {
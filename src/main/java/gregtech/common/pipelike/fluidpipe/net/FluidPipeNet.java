@@ -1,16 +1,175 @@
 package gregtech.common.pipelike.fluidpipe.net;
 
+import gregtech.api.GTValues;
+import gregtech.api.cover.CoverBehavior;
+import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.api.unification.material.properties.FluidPipeProperties;
+import gregtech.api.util.GTUtility;
+import gregtech.common.covers.CoverPump;
+import gregtech.common.covers.ManualImportExportMode;
+import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipeTickable;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
+import net.minecraftforge.fluids.capability.IFluidHandler;
 
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+/**
+ * Fluid pipe network, which also distributes the fluid held by its pipes.
+ * <p>
+ * Each pipe holding fluid still distributes it on its own {@link TileEntityFluidPipeTickable#FREQUENCY} tick, through
+ * {@link #distribute(TileEntityFluidPipeTickable)}, with buffers shared by the net instead of allocated per pipe.
+ */
 public class FluidPipeNet extends PipeNet<FluidPipeProperties> {
 
+    // the handlers to fill, the pipe side handlers to drain from, and the amounts to move, for each accepting side
+    private final IFluidHandler[] targets = new IFluidHandler[EnumFacing.VALUES.length];
+    private final IFluidHandler[] sources = new IFluidHandler[EnumFacing.VALUES.length];
+    private final int[] amounts = new int[EnumFacing.VALUES.length];
+
     public FluidPipeNet(WorldPipeNet<FluidPipeProperties, FluidPipeNet> world) {
         super(world);
     }
 
+    /**
+     * Distributes the fluid held by a pipe of this net to its neighbours
+     *
+     * @param pipe the pipe to distribute the fluid of
+     */
+    public void distribute(@Nonnull TileEntityFluidPipeTickable pipe) {
+        pipe.lastReceivedFrom &= 63;
+        if (pipe.lastReceivedFrom == 63) {
+            pipe.lastReceivedFrom = 0;
+        }
+
+        boolean shouldDistribute = (pipe.oldLastReceivedFrom == pipe.lastReceivedFrom);
+        FluidTank[] fluidTanks = pipe.getFluidTanks();
+        int tanks = fluidTanks.length;
+        for (int i = 0, j = GTValues.RNG.nextInt(tanks); i < tanks; i++) {
+            FluidTank tank = fluidTanks[(i + j) % tanks];
+            FluidStack fluid = tank.getFluid();
+            if (fluid == null)
+                continue;
+            if (fluid.amount <= 0) {
+                tank.setFluid(null);
+                continue;
+            }
+
+            if (shouldDistribute) {
+                distributeFluid(pipe, tank, fluid);
+                pipe.lastReceivedFrom = 0;
+            }
+        }
+        pipe.oldLastReceivedFrom = pipe.lastReceivedFrom;
+    }
+
+    private void distributeFluid(TileEntityFluidPipeTickable pipe, FluidTank tank, FluidStack fluid) {
+        World world = pipe.getPipeWorld();
+        BlockPos pos = pipe.getPipePos();
+        int count = 0;
+        int amount = fluid.amount;
+
+        FluidStack maxFluid = fluid.copy();
+        double availableCapacity = 0;
+
+        for (byte i = 0, j = (byte) GTValues.RNG.nextInt(6); i < 6; i++) {
+            // Get a list of tanks accepting fluids, and what side they're on
+            byte side = (byte) ((i + j) % 6);
+            EnumFacing facing = EnumFacing.VALUES[side];
+
+            if (!pipe.isConnected(facing) || (pipe.lastReceivedFrom & (1 << side)) != 0) {
+                continue;
+            }
+
+            BlockPos neighbourPos = pos.offset(facing);
+            TileEntity neighbour = world.getTileEntity(neighbourPos);
+            if (neighbour == null)
+                continue;
+            IFluidHandler fluidHandler = neighbour.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, facing.getOpposite());
+            if (fluidHandler == null)
+                continue;
+
+            IFluidHandler pipeTank = tank;
+            CoverBehavior cover = pipe.getCoverableImplementation().getCoverAtSide(facing);
+
+            // pipeTank should only be determined by the cover attached to the actual pipe
+            if (cover != null) {
+                pipeTank = cover.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, pipeTank);
+                // Shutter covers return null capability when active, so check here to prevent NPE
+                if (pipeTank == null) continue;
+            } else {
+                MetaTileEntity tile = GTUtility.getMetaTileEntity(world, neighbourPos);
+                if (tile != null) cover = tile.getCoverAtSide(facing.getOpposite());
+            }
+
+            if (cover instanceof CoverPump coverPump) {
+                int pipeThroughput = pipe.getNodeData().getThroughput() * 20;
+                if (coverPump.getTransferRate() > pipeThroughput) {
+                    coverPump.setTransferRate(pipeThroughput);
+                }
+                if (coverPump.getManualImportExportMode() == ManualImportExportMode.DISABLED) {
+                    continue;
+                }
+            }
+
+            FluidStack drainable = pipeTank.drain(maxFluid, false);
+            if (drainable == null || drainable.amount <= 0) {
+                continue;
+            }
+
+            int filled = Math.min(fluidHandler.fill(maxFluid, false), drainable.amount);
+
+            if (filled > 0) {
+                targets[count] = fluidHandler;
+                sources[count] = pipeTank;
+                amounts[count] = filled;
+                count++;
+                availableCapacity += filled;
+            }
+            maxFluid.amount = amount; // Because some mods do actually modify input fluid stack
+        }
+
+        if (availableCapacity > 0) {
+            // How much of this fluid is available for distribution?
+            final double maxAmount = Math.min(pipe.getCapacityPerTank() / 2, fluid.amount);
+
+            // Now distribute
+            for (int i = 0; i < count; i++) {
+                int toMove = amounts[i];
+                if (availableCapacity > maxAmount) {
+                    toMove = (int) Math.floor(toMove * maxAmount / availableCapacity); // Distribute fluids based on percentage available space at destination
+                }
+                if (toMove == 0) {
+                    if (tank.getFluidAmount() <= 0)
+                        break; // If there is no more stored fluid, stop transferring to prevent dupes
+                    toMove = 1; // If the percent is not enough to give at least 1L, try to give 1L
+                } else if (toMove < 0) {
+                    continue;
+                }
+
+                FluidStack toInsert = fluid.copy();
+                toInsert.amount = toMove;
+
+                int inserted = targets[i].fill(toInsert, true);
+                if (inserted > 0) {
+                    sources[i].drain(inserted, true);
+                }
+            }
+        }
+        // drop the references to the neighbours
+        Arrays.fill(targets, 0, count, null);
+        Arrays.fill(sources, 0, count, null);
+    }
+
     @Override
     protected void writeNodeData(FluidPipeProperties nodeData, NBTTagCompound tagCompound) {
         tagCompound.setInteger("max_temperature", nodeData.getMaxFluidTemperature());
@@ -2,24 +2,19 @@ package gregtech.common.pipelike.fluidpipe.tile;
 
 import gregtech.api.GTValues;
 import gregtech.api.capability.IPropertyFluidFilter;
-import gregtech.api.cover.CoverBehavior;
 import gregtech.api.fluids.MaterialFluid;
 import gregtech.api.fluids.fluidType.FluidTypes;
 import gregtech.api.metatileentity.IDataInfoProvider;
-import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.api.unification.material.properties.FluidPipeProperties;
 import gregtech.api.util.EntityDamageUtil;
-import gregtech.api.util.GTUtility;
 import gregtech.api.util.TextFormattingUtil;
-import gregtech.common.covers.CoverPump;
-import gregtech.common.covers.ManualImportExportMode;
+import gregtech.common.pipelike.fluidpipe.net.FluidPipeNet;
 import gregtech.common.pipelike.fluidpipe.net.PipeTankList;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.SoundEvents;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumParticleTypes;
 import net.minecraft.util.ITickable;
@@ -34,8 +29,6 @@ import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.FluidTank;
 import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
-import net.minecraftforge.fluids.capability.IFluidHandler;
-import org.apache.commons.lang3.tuple.MutableTriple;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -73,30 +66,16 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
         timer++;
         getCoverableImplementation().update();
         if (!world.isRemote && getOffsetTimer() % FREQUENCY == 0) {
-            lastReceivedFrom &= 63;
-            if (lastReceivedFrom == 63) {
-                lastReceivedFrom = 0;
-            }
-
-            boolean shouldDistribute = (oldLastReceivedFrom == lastReceivedFrom);
-            int tanks = getNodeData().getTanks();
-            for (int i = 0, j = GTValues.RNG.nextInt(tanks); i < tanks; i++) {
-                int index = (i + j) % tanks;
-                FluidTank tank = getFluidTanks()[index];
-                FluidStack fluid = tank.getFluid();
-                if (fluid == null)
-                    continue;
-                if (fluid.amount <= 0) {
-                    tank.setFluid(null);
-                    continue;
-                }
-
-                if (shouldDistribute) {
-                    distributeFluid(index, tank, fluid);
+            FluidPipeNet net = holdsFluid() ? getFluidPipeNet() : null;
+            if (net != null) {
+                net.distribute(this);
+            } else {
+                lastReceivedFrom &= 63;
+                if (lastReceivedFrom == 63) {
                     lastReceivedFrom = 0;
                 }
+                oldLastReceivedFrom = lastReceivedFrom;
             }
-            oldLastReceivedFrom = lastReceivedFrom;
         }
     }
 
@@ -105,91 +84,11 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
         return true;
     }
 
-    private void distributeFluid(int channel, FluidTank tank, FluidStack fluid) {
-        // Tank, From, Amount to receive
-        List<MutableTriple<IFluidHandler, IFluidHandler, Integer>> tanks = new ArrayList<>();
-        int amount = fluid.amount;
-
-        FluidStack maxFluid = fluid.copy();
-        double availableCapacity = 0;
-
-        for (byte i = 0, j = (byte) GTValues.RNG.nextInt(6); i < 6; i++) {
-            // Get a list of tanks accepting fluids, and what side they're on
-            byte side = (byte) ((i + j) % 6);
-            EnumFacing facing = EnumFacing.VALUES[side];
-
-            if (!isConnected(facing) || (lastReceivedFrom & (1 << side)) != 0) {
-                continue;
-            }
-
-            IFluidHandler fluidHandler = getFluidHandlerAt(facing, facing.getOpposite());
-            if (fluidHandler == null)
-                continue;
-
-            IFluidHandler pipeTank = tank;
-            CoverBehavior cover = getCoverableImplementation().getCoverAtSide(facing);
-
-            // pipeTank should only be determined by the cover attached to the actual pipe
-            if (cover != null) {
-                pipeTank = cover.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, pipeTank);
-                // Shutter covers return null capability when active, so check here to prevent NPE
-                if (pipeTank == null) continue;
-            } else {
-                MetaTileEntity tile = GTUtility.getMetaTileEntity(world, pos.offset(facing));
-                if (tile != null) cover = tile.getCoverAtSide(facing.getOpposite());
-            }
-
-            if (cover instanceof CoverPump coverPump) {
-                int pipeThroughput = getNodeData().getThroughput() * 20;
-                if (coverPump.getTransferRate() > pipeThroughput) {
-                    coverPump.setTransferRate(pipeThroughput);
-                }
-                if (coverPump.getManualImportExportMode() == ManualImportExportMode.DISABLED) {
-                    continue;
-                }
-            }
-
-            FluidStack drainable = pipeTank.drain(maxFluid, false);
-            if (drainable == null || drainable.amount <= 0) {
-                continue;
-            }
-
-            int filled = Math.min(fluidHandler.fill(maxFluid, false), drainable.amount);
-
-            if (filled > 0) {
-                tanks.add(MutableTriple.of(fluidHandler, pipeTank, filled));
-                availableCapacity += filled;
-            }
-            maxFluid.amount = amount; // Because some mods do actually modify input fluid stack
-        }
-
-        if (availableCapacity <= 0)
-            return;
-
-        // How much of this fluid is available for distribution?
-        final double maxAmount = Math.min(getCapacityPerTank() / 2, fluid.amount);
-
-        // Now distribute
-        for (MutableTriple<IFluidHandler, IFluidHandler, Integer> triple : tanks) {
-            if (availableCapacity > maxAmount) {
-                triple.setRight((int) Math.floor(triple.getRight() * maxAmount / availableCapacity)); // Distribute fluids based on percentage available space at destination
-            }
-            if (triple.getRight() == 0) {
-                if (tank.getFluidAmount() <= 0)
-                    break; // If there is no more stored fluid, stop transferring to prevent dupes
-                triple.setRight(1); // If the percent is not enough to give at least 1L, try to give 1L
-            } else if (triple.getRight() < 0) {
-                continue;
-            }
-
-            FluidStack toInsert = fluid.copy();
-            toInsert.amount = triple.getRight();
-
-            int inserted = triple.getLeft().fill(toInsert, true);
-            if (inserted > 0) {
-                triple.getMiddle().drain(inserted, true);
-            }
+    private boolean holdsFluid() {
+        for (FluidTank tank : getFluidTanks()) {
+            if (tank.getFluid() != null) return true;
         }
+        return false;
     }
 
     public void checkAndDestroy(@Nonnull FluidStack stack) {
@@ -311,14 +210,6 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
         }
     }
 
-    private IFluidHandler getFluidHandlerAt(EnumFacing facing, EnumFacing oppositeSide) {
-        TileEntity tile = world.getTileEntity(pos.offset(facing));
-        if (tile == null) {
-            return null;
-        }
-        return tile.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, oppositeSide);
-    }
-
     public void receivedFrom(EnumFacing facing) {
         if (facing != null) {
             lastReceivedFrom |= (1 << facing.getIndex());
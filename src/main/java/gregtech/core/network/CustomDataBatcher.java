@@ -0,0 +1,124 @@
+package gregtech.core.network;
+
+import gregtech.api.GTValues;
+import gregtech.api.GregTechAPI;
+import gregtech.api.metatileentity.SyncedTileEntityBase;
+import gregtech.core.network.packets.PacketTileCustomData;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.network.NetworkRegistry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the tile entities which wrote custom data, and sends the custom data of all of them
+ * in a chunk as one {@link PacketTileCustomData} to the players watching the chunk.
+ * <p>
+ * Custom data written until the start of a world tick is sent at the end of that tick. The vanilla block change
+ * packets of the tick are sent in between, so a tile entity placed together with its custom data exists on the
+ * client when the data arrives. Vanilla may also request the custom data with a block change itself, through
+ * {@link SyncedTileEntityBase#getUpdatePacket()}, in which case there is nothing left to send here.
+ */
+@Mod.EventBusSubscriber(modid = GTValues.MODID)
+public final class CustomDataBatcher {
+
+    // the positions of the tile entities with custom data, by chunk
+    private static final Map<World, Long2ObjectMap<LongSet>> queuedPositions = new HashMap<>();
+    private static final Map<World, Long2ObjectMap<LongSet>> sendingPositions = new HashMap<>();
+
+    private CustomDataBatcher() {}
+
+    /**
+     * Queues the custom data of the tile entity at a position to be sent
+     */
+    public static void queue(World world, BlockPos pos) {
+        Long2ObjectMap<LongSet> chunks = queuedPositions.get(world);
+        if (chunks == null) {
+            chunks = new Long2ObjectOpenHashMap<>();
+            queuedPositions.put(world, chunks);
+        }
+        long chunkPos = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        LongSet positions = chunks.get(chunkPos);
+        if (positions == null) {
+            positions = new LongOpenHashSet();
+            chunks.put(chunkPos, positions);
+        }
+        positions.add(pos.toLong());
+    }
+
+    @SubscribeEvent
+    public static void onWorldTick(TickEvent.WorldTickEvent event) {
+        if (event.world.isRemote) return;
+        if (event.phase == TickEvent.Phase.START) {
+            Long2ObjectMap<LongSet> chunks = queuedPositions.remove(event.world);
+            if (chunks != null) {
+                sendingPositions.put(event.world, chunks);
+            }
+        } else {
+            Long2ObjectMap<LongSet> chunks = sendingPositions.remove(event.world);
+            if (chunks != null) {
+                sendCustomData((WorldServer) event.world, chunks);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        if (!event.getWorld().isRemote) {
+            queuedPositions.remove(event.getWorld());
+            sendingPositions.remove(event.getWorld());
+        }
+    }
+
+    private static void sendCustomData(WorldServer world, Long2ObjectMap<LongSet> chunks) {
+        int dimension = world.provider.getDimension();
+        List<SyncedTileEntityBase> tiles = new ArrayList<>();
+        for (Long2ObjectMap.Entry<LongSet> entry : chunks.long2ObjectEntrySet()) {
+            long chunkPos = entry.getLongKey();
+            int chunkX = (int) chunkPos;
+            int chunkZ = (int) (chunkPos >> 32);
+            Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+            if (chunk == null) continue;
+
+            PlayerChunkMapEntry watchers = world.getPlayerChunkMap().getEntry(chunkX, chunkZ);
+            // players starting to watch the chunk later receive the current state of the tile entities instead
+            boolean watched = watchers != null && watchers.isSentToPlayers();
+
+            for (LongIterator iterator = entry.getValue().iterator(); iterator.hasNext(); ) {
+                TileEntity tileEntity = chunk.getTileEntity(BlockPos.fromLong(iterator.nextLong()), Chunk.EnumCreateType.CHECK);
+                if (tileEntity instanceof SyncedTileEntityBase syncedTile && syncedTile.hasCustomDataUpdates()) {
+                    tiles.add(syncedTile);
+                }
+            }
+            if (tiles.isEmpty()) continue;
+
+            if (watched) {
+                PacketTileCustomData packet = new PacketTileCustomData(tiles);
+                GregTechAPI.networkHandler.sendToAllTracking(packet,
+                        new NetworkRegistry.TargetPoint(dimension, (chunkX << 4) + 8, 0, (chunkZ << 4) + 8, 0));
+            }
+            // the packet was encoded when sent, which cleared the data
+            for (SyncedTileEntityBase tile : tiles) {
+                tile.clearCustomDataUpdates();
+            }
+            tiles.clear();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package gregtech.core.network.packets;
+
+import gregtech.api.metatileentity.SyncedTileEntityBase;
+import gregtech.api.network.IClientExecutor;
+import gregtech.api.network.IPacket;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.network.NetHandlerPlayClient;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.List;
+
+/**
+ * The custom data of all tile entities in a chunk which wrote custom data in a tick.
+ *
+ * @see gregtech.core.network.CustomDataBatcher
+ */
+public class PacketTileCustomData implements IPacket, IClientExecutor {
+
+    private List<SyncedTileEntityBase> tiles;
+    private int chunkX;
+    private int chunkZ;
+    private PacketBuffer data;
+
+    @SuppressWarnings("unused")
+    public PacketTileCustomData() {}
+
+    /**
+     * @param tiles the tile entities with custom data, which must all be in the same chunk
+     */
+    public PacketTileCustomData(List<SyncedTileEntityBase> tiles) {
+        this.tiles = tiles;
+        BlockPos pos = tiles.get(0).getPos();
+        this.chunkX = pos.getX() >> 4;
+        this.chunkZ = pos.getZ() >> 4;
+    }
+
+    @Override
+    public void encode(PacketBuffer buf) {
+        buf.writeInt(chunkX);
+        buf.writeInt(chunkZ);
+        buf.writeVarInt(tiles.size());
+        for (SyncedTileEntityBase tile : tiles) {
+            BlockPos pos = tile.getPos();
+            buf.writeShort((pos.getX() & 15) << 12 | (pos.getZ() & 15) << 8 | (pos.getY() & 255));
+            tile.writeCustomDataUpdates(buf);
+        }
+    }
+
+    @Override
+    public void decode(PacketBuffer buf) {
+        this.chunkX = buf.readInt();
+        this.chunkZ = buf.readInt();
+        // the payload is released once decoded, while the data is read on the main thread
+        this.data = new PacketBuffer(buf.copy());
+    }
+
+    @SideOnly(Side.CLIENT)
+    @Override
+    public void executeClient(NetHandlerPlayClient handler) {
+        World world = Minecraft.getMinecraft().world;
+        int amount = data.readVarInt();
+        for (int i = 0; i < amount; i++) {
+            int localPos = data.readUnsignedShort();
+            BlockPos pos = new BlockPos((chunkX << 4) + (localPos >> 12), localPos & 255, (chunkZ << 4) + (localPos >> 8 & 15));
+            TileEntity tileEntity = world.getTileEntity(pos);
+            if (tileEntity instanceof SyncedTileEntityBase syncedTile) {
+                syncedTile.receiveCustomDataUpdates(data);
+            } else {
+                SyncedTileEntityBase.skipCustomDataUpdates(data);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package gregtech.core.network.packets;
+
+import gregtech.api.gui.impl.ModularUIGui;
+import gregtech.api.network.IClientExecutor;
+import gregtech.api.network.IPacket;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiScreen;
+import net.minecraft.client.network.NetHandlerPlayClient;
+import net.minecraft.network.PacketBuffer;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * All widget updates of a window in a tick. Each update is written as the widget id, followed by the length and the data of the update.
+ *
+ * @see gregtech.api.gui.impl.ModularUIContainer
+ */
+public class PacketUIWidgetUpdates implements IPacket, IClientExecutor {
+
+    private int windowId;
+    private int updateCount;
+    private PacketBuffer updateData;
+
+    @SuppressWarnings("unused")
+    public PacketUIWidgetUpdates() {}
+
+    public PacketUIWidgetUpdates(int windowId, int updateCount, PacketBuffer updateData) {
+        this.windowId = windowId;
+        this.updateCount = updateCount;
+        this.updateData = updateData;
+    }
+
+    @Override
+    public void encode(PacketBuffer buf) {
+        buf.writeVarInt(windowId);
+        buf.writeVarInt(updateCount);
+        // the data is copied without moving the reader index, so the buffer can be reused once sent
+        buf.writeBytes(updateData, updateData.readerIndex(), updateData.readableBytes());
+    }
+
+    @Override
+    public void decode(PacketBuffer buf) {
+        this.windowId = buf.readVarInt();
+        this.updateCount = buf.readVarInt();
+        // the payload is released once decoded, while the updates are read on the main thread
+        this.updateData = new PacketBuffer(buf.copy());
+    }
+
+    @SideOnly(Side.CLIENT)
+    @Override
+    public void executeClient(NetHandlerPlayClient handler) {
+        GuiScreen currentScreen = Minecraft.getMinecraft().currentScreen;
+        if (currentScreen instanceof ModularUIGui modularUIGui) {
+            modularUIGui.handleWidgetUpdates(windowId, updateCount, updateData);
+        }
+    }
+}
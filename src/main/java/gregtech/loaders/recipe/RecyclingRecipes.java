@@ -3,6 +3,7 @@ package gregtech.loaders.recipe;
 import com.google.common.collect.ImmutableList;
 import gregtech.api.GTValues;
 import gregtech.api.metatileentity.MetaTileEntity;
+import gregtech.api.recipes.ParallelRecipeGeneration;
 import gregtech.api.recipes.RecipeBuilder;
 import gregtech.api.recipes.RecipeMaps;
 import gregtech.api.recipes.builders.SimpleRecipeBuilder;
@@ -46,12 +47,12 @@ public class RecyclingRecipes {
     // TODO - Work on durations and EUt's
 
     public static void init() {
-        for (Entry<ItemStack, ItemMaterialInfo> entry : OreDictUnifier.getAllItemInfos()) {
+        ParallelRecipeGeneration.run(OreDictUnifier.getAllItemInfos(), entry -> {
             ItemStack itemStack = entry.getKey();
             ItemMaterialInfo materialInfo = entry.getValue();
             List<MaterialStack> materialStacks = new ArrayList<>(materialInfo.getMaterials());
             registerRecyclingRecipes(itemStack, materialStacks, false, null);
-        }
+        });
     }
 
     public static void registerRecyclingRecipes(ItemStack input, List<MaterialStack> components, boolean ignoreArcSmelting, @Nullable OrePrefix prefix) {
@@ -1,6 +1,7 @@
 package gregtech.loaders.recipe.handlers;
 
 import gregtech.api.GregTechAPI;
+import gregtech.api.recipes.ParallelRecipeGeneration;
 import gregtech.api.recipes.RecipeBuilder;
 import gregtech.api.recipes.RecipeMaps;
 import gregtech.api.unification.OreDictUnifier;
@@ -21,10 +22,10 @@ import static gregtech.api.unification.material.info.MaterialFlags.*;
 public class DecompositionRecipeHandler {
 
     public static void runRecipeGeneration() {
-        for (Material material : GregTechAPI.materialManager.getRegisteredMaterials()) {
+        ParallelRecipeGeneration.run(new ArrayList<>(GregTechAPI.materialManager.getRegisteredMaterials()), material -> {
             OrePrefix prefix = material.hasProperty(PropertyKey.DUST) ? OrePrefix.dust : null;
             processDecomposition(prefix, material);
-        }
+        });
     }
 
     private static void processDecomposition(OrePrefix decomposePrefix, Material material) {
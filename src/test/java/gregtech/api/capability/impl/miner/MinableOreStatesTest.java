@@ -0,0 +1,47 @@
+package gregtech.api.capability.impl.miner;
+
+import gregtech.Bootstrap;
+import gregtech.api.unification.OreDictUnifier;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.oredict.OreDictionary.OreRegisterEvent;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class MinableOreStatesTest {
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void followsOreDictionaryChanges() {
+        IBlockState state = Blocks.SANDSTONE.getDefaultState();
+        MatcherAssert.assertThat(MinableOreStates.isMinable(state), is(false));
+        // the result is remembered
+        MatcherAssert.assertThat(MinableOreStates.isMinable(state), is(false));
+
+        // registering the block as an ore drops the remembered results
+        OreDictUnifier.onItemRegistration(new OreRegisterEvent("oreIron", new ItemStack(Blocks.SANDSTONE)));
+        MatcherAssert.assertThat(MinableOreStates.isMinable(state), is(true));
+        MatcherAssert.assertThat(MinableOreStates.isMinable(state), is(true));
+    }
+
+    @Test
+    public void unbreakableOresAreNotMinable() {
+        OreDictUnifier.onItemRegistration(new OreRegisterEvent("oreGold", new ItemStack(Blocks.BEDROCK)));
+        MatcherAssert.assertThat(MinableOreStates.isMinable(Blocks.BEDROCK.getDefaultState()), is(false));
+    }
+
+    @Test
+    public void otherBlocksAreNotMinable() {
+        OreDictUnifier.onItemRegistration(new OreRegisterEvent("ingotCopper", new ItemStack(Blocks.CLAY)));
+        MatcherAssert.assertThat(MinableOreStates.isMinable(Blocks.CLAY.getDefaultState()), is(false));
+        MatcherAssert.assertThat(MinableOreStates.isMinable(Blocks.STONE.getDefaultState()), is(false));
+    }
+}
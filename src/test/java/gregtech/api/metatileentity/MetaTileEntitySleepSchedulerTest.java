@@ -0,0 +1,173 @@
+package gregtech.api.metatileentity;
+
+import gregtech.Bootstrap;
+import gregtech.api.block.machines.BlockMachine;
+import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.builders.SimpleRecipeBuilder;
+import gregtech.api.util.GTUtility;
+import gregtech.api.util.world.DummyWorld;
+import gregtech.common.ConfigHolder;
+import net.minecraft.init.Blocks;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.items.ItemStackHandler;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class MetaTileEntitySleepSchedulerTest {
+
+    private static final BlockPos POS = new BlockPos(0, 64, 0);
+
+    private static RecipeMap<SimpleRecipeBuilder> map;
+
+    private SleepTestWorld world;
+    private MetaTileEntityHolder holder;
+    private MetaTileEntity metaTileEntity;
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+        map = new RecipeMap<>("sleep_scheduler_test", 1, 1, 0, 0, new SimpleRecipeBuilder().EUt(30), false);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        // a fresh world for every test, so no test sees the sleeping holders of another
+        world = new SleepTestWorld();
+        holder = new MetaTileEntityHolder();
+        metaTileEntity = holder.setMetaTileEntity(new SimpleMachineMetaTileEntity(
+                GTUtility.gregtechId("sleep_scheduler_test"), map, null, 1, false));
+        holder.setWorld(world);
+        holder.setPos(POS);
+        world.holder = holder;
+        world.tickableTileEntities.add(holder);
+    }
+
+    @Test
+    public void sleepsAtTheEndOfTheTick() {
+        MetaTileEntitySleepScheduler.sleep(holder);
+
+        // still ticking until the world tick ended
+        MatcherAssert.assertThat(metaTileEntity.isSleeping(), is(false));
+        MatcherAssert.assertThat(world.tickableTileEntities.contains(holder), is(true));
+
+        endTick();
+
+        MatcherAssert.assertThat(metaTileEntity.isSleeping(), is(true));
+        MatcherAssert.assertThat(world.tickableTileEntities.contains(holder), is(false));
+    }
+
+    @Test
+    public void wakesUpWhenInputsChange() {
+        sleepAndEndTick();
+
+        metaTileEntity.addNotifiedInput(new ItemStackHandler(1));
+        assertWokenUp();
+
+        sleepAndEndTick();
+
+        metaTileEntity.addNotifiedInput(new FluidTank(1000));
+        assertWokenUp();
+    }
+
+    @Test
+    public void wakesUpWhenOutputsChange() {
+        sleepAndEndTick();
+
+        metaTileEntity.addNotifiedOutput(new ItemStackHandler(1));
+        assertWokenUp();
+    }
+
+    @Test
+    public void wakesUpOnNeighbourUpdate() {
+        sleepAndEndTick();
+
+        new BlockMachine().neighborChanged(Blocks.AIR.getDefaultState(), world, POS, Blocks.STONE, POS.up());
+        assertWokenUp();
+    }
+
+    @Test
+    public void wakeUpCancelsPendingSleep() {
+        MetaTileEntitySleepScheduler.sleep(holder);
+        metaTileEntity.wakeUp();
+
+        endTick();
+
+        MatcherAssert.assertThat(metaTileEntity.isSleeping(), is(false));
+        MatcherAssert.assertThat(world.tickableTileEntities.contains(holder), is(true));
+    }
+
+    @Test
+    public void wakesUpAfterSleepTicks() {
+        sleepAndEndTick();
+
+        for (int i = 1; i < ConfigHolder.machines.machineSleepTicks; i++) {
+            nextTick();
+            MatcherAssert.assertThat(metaTileEntity.isSleeping(), is(true));
+        }
+
+        nextTick();
+        MatcherAssert.assertThat(metaTileEntity.isSleeping(), is(false));
+        MatcherAssert.assertThat(world.tickableTileEntities.contains(holder), is(true));
+    }
+
+    @Test
+    public void removedHolderDoesNotTickAgain() {
+        sleepAndEndTick();
+
+        world.holder = null;
+        metaTileEntity.wakeUp();
+        endTick();
+
+        MatcherAssert.assertThat(metaTileEntity.isSleeping(), is(false));
+        MatcherAssert.assertThat(world.tickableTileEntities.contains(holder), is(false));
+    }
+
+    private void assertWokenUp() {
+        // awake right away, but only ticked again from the next tick on
+        MatcherAssert.assertThat(metaTileEntity.isSleeping(), is(false));
+        MatcherAssert.assertThat(world.tickableTileEntities.contains(holder), is(false));
+
+        endTick();
+
+        MatcherAssert.assertThat(metaTileEntity.isSleeping(), is(false));
+        MatcherAssert.assertThat(world.tickableTileEntities.contains(holder), is(true));
+    }
+
+    private void sleepAndEndTick() {
+        MetaTileEntitySleepScheduler.sleep(holder);
+        endTick();
+        MatcherAssert.assertThat(metaTileEntity.isSleeping(), is(true));
+    }
+
+    private void nextTick() {
+        world.setTotalWorldTime(world.getTotalWorldTime() + 1);
+        endTick();
+    }
+
+    private void endTick() {
+        MetaTileEntitySleepScheduler.onWorldTick(new TickEvent.WorldTickEvent(Side.SERVER, TickEvent.Phase.END, world));
+    }
+
+    private static class SleepTestWorld extends DummyWorld {
+
+        private TileEntity holder;
+
+        @Nullable
+        @Override
+        public TileEntity getTileEntity(@Nonnull BlockPos pos) {
+            return POS.equals(pos) ? holder : null;
+        }
+    }
+}
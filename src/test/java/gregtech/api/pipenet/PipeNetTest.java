@@ -0,0 +1,316 @@
+package gregtech.api.pipenet;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.*;
+
+public class PipeNetTest {
+
+    // crosses chunk borders, and the border between negative and positive coordinates
+    private static final int LINE_START = -20;
+    private static final int LINE_END = 20;
+
+    private static Set<BlockPos> line(int from, int to) {
+        Set<BlockPos> positions = new HashSet<>();
+        for (int x = from; x <= to; x++) {
+            positions.add(new BlockPos(x, 64, 0));
+        }
+        return positions;
+    }
+
+    private static Set<BlockPos> ring(int size) {
+        Set<BlockPos> positions = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            positions.add(new BlockPos(i, 64, -8));
+            positions.add(new BlockPos(i, 64, size - 9));
+            positions.add(new BlockPos(0, 64, i - 8));
+            positions.add(new BlockPos(size - 1, 64, i - 8));
+        }
+        return positions;
+    }
+
+    private static TestWorldPipeNet create(Set<BlockPos> positions) {
+        TestWorldPipeNet worldNet = new TestWorldPipeNet();
+        positions.forEach(pos -> addNode(worldNet, pos));
+        return worldNet;
+    }
+
+    private static void addNode(TestWorldPipeNet worldNet, BlockPos pos) {
+        worldNet.addNode(pos, 0, Node.DEFAULT_MARK, 63, true);
+    }
+
+    /**
+     * Asserts the given positions are exactly the nodes of one net, which is registered in all chunks it has nodes in
+     */
+    private static TestPipeNet assertNet(TestWorldPipeNet worldNet, Set<BlockPos> positions) {
+        TestPipeNet net = worldNet.getNetFromPos(positions.iterator().next());
+        MatcherAssert.assertThat(net, notNullValue());
+        MatcherAssert.assertThat(net.isValid(), is(true));
+        MatcherAssert.assertThat(net.getAllNodes().keySet(), is(positions));
+        MatcherAssert.assertThat(net.getAllNodes().size(), is(positions.size()));
+        for (BlockPos pos : positions) {
+            MatcherAssert.assertThat(worldNet.getNetFromPos(pos), sameInstance(net));
+            MatcherAssert.assertThat(net.getAllNodes().get(pos), sameInstance(net.getNodeAt(pos)));
+            MatcherAssert.assertThat(net.getAllNodes().get(new BlockPos.MutableBlockPos(pos)), notNullValue());
+        }
+        Set<ChunkPos> chunks = new HashSet<>();
+        positions.forEach(pos -> chunks.add(new ChunkPos(pos)));
+        MatcherAssert.assertThat(net.getContainedChunks(), is(chunks));
+        return net;
+    }
+
+    /**
+     * Asserts every net is registered exactly once in every chunk it has nodes in, and in no other chunks
+     */
+    private static void assertChunkReferences(TestWorldPipeNet worldNet) {
+        int references = 0;
+        for (TestPipeNet net : worldNet.pipeNets) {
+            MatcherAssert.assertThat(net.getAllNodes().isEmpty(), is(false));
+            for (ChunkPos chunkPos : net.getContainedChunks()) {
+                List<TestPipeNet> netsInChunk = worldNet.pipeNetsByChunk.get(chunkPos);
+                MatcherAssert.assertThat(netsInChunk, notNullValue());
+                MatcherAssert.assertThat(netsInChunk.indexOf(net), is(netsInChunk.lastIndexOf(net)));
+                MatcherAssert.assertThat(netsInChunk.contains(net), is(true));
+                references++;
+            }
+        }
+        int registered = 0;
+        for (Map.Entry<ChunkPos, List<TestPipeNet>> entry : worldNet.pipeNetsByChunk.entrySet()) {
+            MatcherAssert.assertThat(entry.getValue().isEmpty(), is(false));
+            registered += entry.getValue().size();
+        }
+        MatcherAssert.assertThat(registered, is(references));
+    }
+
+    @Test
+    public void removeFromLineSplits() {
+        TestWorldPipeNet worldNet = create(line(LINE_START, LINE_END));
+        TestPipeNet net = assertNet(worldNet, line(LINE_START, LINE_END));
+
+        worldNet.removeNode(new BlockPos(0, 64, 0));
+
+        MatcherAssert.assertThat(worldNet.pipeNets.size(), is(2));
+        TestPipeNet negative = assertNet(worldNet, line(LINE_START, -1));
+        TestPipeNet positive = assertNet(worldNet, line(1, LINE_END));
+        MatcherAssert.assertThat(negative, not(sameInstance(positive)));
+        // one of the parts stays in the old net
+        MatcherAssert.assertThat(negative == net || positive == net, is(true));
+        MatcherAssert.assertThat(worldNet.getNetFromPos(new BlockPos(0, 64, 0)), nullValue());
+        assertChunkReferences(worldNet);
+    }
+
+    @Test
+    public void removeLineEndKeepsNet() {
+        TestWorldPipeNet worldNet = create(line(LINE_START, LINE_END));
+        TestPipeNet net = assertNet(worldNet, line(LINE_START, LINE_END));
+
+        worldNet.removeNode(new BlockPos(LINE_START, 64, 0));
+
+        MatcherAssert.assertThat(worldNet.pipeNets.size(), is(1));
+        MatcherAssert.assertThat(assertNet(worldNet, line(LINE_START + 1, LINE_END)), sameInstance(net));
+        assertChunkReferences(worldNet);
+    }
+
+    @Test
+    public void removeNextToLineEndSplitsOffSingleNode() {
+        TestWorldPipeNet worldNet = create(line(LINE_START, LINE_END));
+
+        worldNet.removeNode(new BlockPos(LINE_END - 1, 64, 0));
+
+        MatcherAssert.assertThat(worldNet.pipeNets.size(), is(2));
+        assertNet(worldNet, line(LINE_START, LINE_END - 2));
+        assertNet(worldNet, line(LINE_END, LINE_END));
+        assertChunkReferences(worldNet);
+    }
+
+    @Test
+    public void removeLastNodeRemovesNet() {
+        TestWorldPipeNet worldNet = create(line(LINE_END, LINE_END));
+        TestPipeNet net = assertNet(worldNet, line(LINE_END, LINE_END));
+
+        worldNet.removeNode(new BlockPos(LINE_END, 64, 0));
+
+        MatcherAssert.assertThat(net.isValid(), is(false));
+        MatcherAssert.assertThat(worldNet.pipeNets.isEmpty(), is(true));
+        MatcherAssert.assertThat(worldNet.pipeNetsByChunk.isEmpty(), is(true));
+    }
+
+    @Test
+    public void removeFromLoopKeepsNet() {
+        Set<BlockPos> ring = ring(20);
+        TestWorldPipeNet worldNet = create(ring);
+        TestPipeNet net = assertNet(worldNet, ring);
+
+        BlockPos removed = new BlockPos(10, 64, -8);
+        ring.remove(removed);
+        worldNet.removeNode(removed);
+
+        MatcherAssert.assertThat(worldNet.pipeNets.size(), is(1));
+        MatcherAssert.assertThat(assertNet(worldNet, ring), sameInstance(net));
+        assertChunkReferences(worldNet);
+    }
+
+    @Test
+    public void removeTwiceFromLoopSplits() {
+        Set<BlockPos> ring = ring(20);
+        TestWorldPipeNet worldNet = create(ring);
+
+        worldNet.removeNode(new BlockPos(0, 64, 0));
+        MatcherAssert.assertThat(worldNet.pipeNets.size(), is(1));
+        worldNet.removeNode(new BlockPos(19, 64, 0));
+
+        MatcherAssert.assertThat(worldNet.pipeNets.size(), is(2));
+        Set<BlockPos> upper = new HashSet<>();
+        Set<BlockPos> lower = new HashSet<>();
+        for (BlockPos pos : ring) {
+            if (pos.getZ() < 0) upper.add(pos);
+            else if (pos.getZ() > 0) lower.add(pos);
+        }
+        assertNet(worldNet, upper);
+        assertNet(worldNet, lower);
+        assertChunkReferences(worldNet);
+    }
+
+    @Test
+    public void removeStarCenterSplitsAllArms() {
+        BlockPos center = new BlockPos(0, 64, 0);
+        List<Set<BlockPos>> arms = new ArrayList<>();
+        Set<BlockPos> star = new HashSet<>();
+        star.add(center);
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            Set<BlockPos> arm = new HashSet<>();
+            for (int i = 1; i <= 20; i++) {
+                arm.add(center.offset(facing, i));
+            }
+            arms.add(arm);
+            star.addAll(arm);
+        }
+        TestWorldPipeNet worldNet = create(star);
+        assertNet(worldNet, star);
+
+        worldNet.removeNode(center);
+
+        MatcherAssert.assertThat(worldNet.pipeNets.size(), is(EnumFacing.VALUES.length));
+        Set<TestPipeNet> nets = new HashSet<>();
+        for (Set<BlockPos> arm : arms) {
+            nets.add(assertNet(worldNet, arm));
+        }
+        MatcherAssert.assertThat(nets.size(), is(EnumFacing.VALUES.length));
+        assertChunkReferences(worldNet);
+    }
+
+    @Test
+    public void addNodeMergesNets() {
+        TestWorldPipeNet worldNet = create(line(LINE_START, -1));
+        line(1, LINE_END).forEach(pos -> addNode(worldNet, pos));
+        TestPipeNet negative = assertNet(worldNet, line(LINE_START, -1));
+        TestPipeNet positive = assertNet(worldNet, line(1, LINE_END));
+        MatcherAssert.assertThat(negative, not(sameInstance(positive)));
+
+        addNode(worldNet, new BlockPos(0, 64, 0));
+
+        MatcherAssert.assertThat(worldNet.pipeNets.size(), is(1));
+        TestPipeNet merged = assertNet(worldNet, line(LINE_START, LINE_END));
+        TestPipeNet united = merged == negative ? positive : negative;
+        MatcherAssert.assertThat(merged == negative || merged == positive, is(true));
+        MatcherAssert.assertThat(united.isValid(), is(false));
+        MatcherAssert.assertThat(united.getAllNodes().isEmpty(), is(true));
+        assertChunkReferences(worldNet);
+    }
+
+    @Test
+    public void addStarCenterMergesAllArms() {
+        BlockPos center = new BlockPos(0, 64, 0);
+        Set<BlockPos> star = new HashSet<>();
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            for (int i = 1; i <= 20; i++) {
+                star.add(center.offset(facing, i));
+            }
+        }
+        TestWorldPipeNet worldNet = create(star);
+        MatcherAssert.assertThat(worldNet.pipeNets.size(), is(EnumFacing.VALUES.length));
+
+        addNode(worldNet, center);
+        star.add(center);
+
+        MatcherAssert.assertThat(worldNet.pipeNets.size(), is(1));
+        assertNet(worldNet, star);
+        assertChunkReferences(worldNet);
+    }
+
+    @Test
+    public void blockedConnectionSplitsAndRejoins() {
+        TestWorldPipeNet worldNet = create(line(LINE_START, LINE_END));
+
+        worldNet.updateBlockedConnections(new BlockPos(0, 64, 0), EnumFacing.EAST, true);
+
+        MatcherAssert.assertThat(worldNet.pipeNets.size(), is(2));
+        assertNet(worldNet, line(LINE_START, 0));
+        assertNet(worldNet, line(1, LINE_END));
+        assertChunkReferences(worldNet);
+
+        worldNet.updateBlockedConnections(new BlockPos(0, 64, 0), EnumFacing.EAST, false);
+
+        MatcherAssert.assertThat(worldNet.pipeNets.size(), is(1));
+        assertNet(worldNet, line(LINE_START, LINE_END));
+        assertChunkReferences(worldNet);
+    }
+
+    @Test
+    public void splitsAfterMergeAgain() {
+        TestWorldPipeNet worldNet = create(line(LINE_START, -1));
+        line(1, LINE_END).forEach(pos -> addNode(worldNet, pos));
+        addNode(worldNet, new BlockPos(0, 64, 0));
+
+        for (int x : Arrays.asList(-10, 10)) {
+            worldNet.removeNode(new BlockPos(x, 64, 0));
+        }
+
+        MatcherAssert.assertThat(worldNet.pipeNets.size(), is(3));
+        assertNet(worldNet, line(LINE_START, -11));
+        assertNet(worldNet, line(-9, 9));
+        assertNet(worldNet, line(11, LINE_END));
+        assertChunkReferences(worldNet);
+    }
+
+    private static class TestWorldPipeNet extends WorldPipeNet<Integer, TestPipeNet> {
+
+        TestWorldPipeNet() {
+            super("test_pipe_net");
+        }
+
+        @Override
+        protected TestPipeNet createNetInstance() {
+            return new TestPipeNet(this);
+        }
+    }
+
+    private static class TestPipeNet extends PipeNet<Integer> {
+
+        TestPipeNet(WorldPipeNet<Integer, TestPipeNet> world) {
+            super(world);
+        }
+
+        @Override
+        protected void writeNodeData(Integer nodeData, NBTTagCompound tagCompound) {
+            tagCompound.setInteger("data", nodeData);
+        }
+
+        @Override
+        protected Integer readNodeData(NBTTagCompound tagCompound) {
+            return tagCompound.getInteger("data");
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package gregtech.api.pipenet.tickable;
+
+import gregtech.api.pipenet.Node;
+import gregtech.api.pipenet.PipeNet;
+import gregtech.api.pipenet.WorldPipeNet;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.ITickable;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+
+public class TickableWorldPipeNetTest {
+
+    private static final BlockPos FIRST = new BlockPos(0, 64, 0);
+    private static final BlockPos MIDDLE = new BlockPos(1, 64, 0);
+    private static final BlockPos LAST = new BlockPos(2, 64, 0);
+
+    private static TestWorldPipeNet createLine() {
+        TestWorldPipeNet worldNet = new TestWorldPipeNet();
+        worldNet.addNode(FIRST, 0, Node.DEFAULT_MARK, 63, true);
+        worldNet.addNode(MIDDLE, 0, Node.DEFAULT_MARK, 63, true);
+        worldNet.addNode(LAST, 0, Node.DEFAULT_MARK, 63, true);
+        return worldNet;
+    }
+
+    private static void tick(TestWorldPipeNet worldNet) {
+        worldNet.tickPipeNets();
+        worldNet.applyTickingChanges();
+    }
+
+    @Test
+    public void splitWhileTicking() {
+        TestWorldPipeNet worldNet = createLine();
+        TestPipeNet net = worldNet.getNetFromPos(FIRST);
+        MatcherAssert.assertThat(worldNet.getNetFromPos(LAST), sameInstance(net));
+
+        // like a pipe destroyed by the fluid it distributes
+        net.onUpdate = () -> worldNet.removeNode(MIDDLE);
+        tick(worldNet);
+        net.onUpdate = null;
+
+        TestPipeNet first = worldNet.getNetFromPos(FIRST);
+        TestPipeNet last = worldNet.getNetFromPos(LAST);
+        MatcherAssert.assertThat(first, notNullValue());
+        MatcherAssert.assertThat(last, notNullValue());
+        MatcherAssert.assertThat(first, not(sameInstance(last)));
+
+        // the net split off is ticked from the next tick on
+        int firstUpdates = first.updates;
+        int lastUpdates = last.updates;
+        tick(worldNet);
+        MatcherAssert.assertThat(first.updates, is(firstUpdates + 1));
+        MatcherAssert.assertThat(last.updates, is(lastUpdates + 1));
+    }
+
+    @Test
+    public void removedWhileTicking() {
+        TestWorldPipeNet worldNet = new TestWorldPipeNet();
+        worldNet.addNode(FIRST, 0, Node.DEFAULT_MARK, 63, true);
+        TestPipeNet net = worldNet.getNetFromPos(FIRST);
+
+        net.onUpdate = () -> worldNet.removeNode(FIRST);
+        tick(worldNet);
+        MatcherAssert.assertThat(net.updates, is(1));
+        MatcherAssert.assertThat(worldNet.getNetFromPos(FIRST), nullValue());
+
+        // removed nets are no longer ticked
+        tick(worldNet);
+        MatcherAssert.assertThat(net.updates, is(1));
+    }
+
+    private static class TestWorldPipeNet extends TickableWorldPipeNet<Integer, TestPipeNet> {
+
+        TestWorldPipeNet() {
+            super("test_pipe_net");
+        }
+
+        @Override
+        protected boolean isChunkLoaded(ChunkPos chunkPos) {
+            return true;
+        }
+
+        @Override
+        protected int getUpdateRate() {
+            return 1;
+        }
+
+        @Override
+        protected TestPipeNet createNetInstance() {
+            return new TestPipeNet(this);
+        }
+    }
+
+    private static class TestPipeNet extends PipeNet<Integer> implements ITickable {
+
+        private Runnable onUpdate;
+        private int updates;
+
+        TestPipeNet(WorldPipeNet<Integer, TestPipeNet> world) {
+            super(world);
+        }
+
+        @Override
+        public void update() {
+            updates++;
+            if (onUpdate != null) onUpdate.run();
+        }
+
+        @Override
+        protected void writeNodeData(Integer nodeData, NBTTagCompound tagCompound) {
+            tagCompound.setInteger("data", nodeData);
+        }
+
+        @Override
+        protected Integer readNodeData(NBTTagCompound tagCompound) {
+            return tagCompound.getInteger("data");
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package gregtech.api.recipes;
+
+import gregtech.Bootstrap;
+import gregtech.api.GregTechAPI;
+import gregtech.api.recipes.builders.SimpleRecipeBuilder;
+import gregtech.api.unification.material.Material;
+import gregtech.api.unification.ore.OrePrefix;
+import gregtech.common.ConfigHolder;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class ParallelRecipeGenerationTest {
+
+    private static final int MATERIALS = 64;
+
+    private static int mapId = 0;
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    /**
+     * Generates recipes for some materials, like material handlers do
+     *
+     * @return the added recipes, in the order they were added, followed by the recipe list of the Recipe Map
+     */
+    private static List<String> generate(int threads) {
+        int previousThreads = ConfigHolder.misc.recipeGenerationThreads;
+        ConfigHolder.misc.recipeGenerationThreads = threads;
+        try {
+            RecipeMap<SimpleRecipeBuilder> map = new RecipeMap<>("parallel_generation_test_" + mapId++,
+                    1, 1, 0, 0, new SimpleRecipeBuilder().EUt(30), false);
+            List<String> recipes = new ArrayList<>();
+            map.addRecipeListener(new IRecipeMapListener() {
+                @Override
+                public void onRecipeAdded(@Nonnull Recipe recipe) {
+                    recipes.add(recipe.toString());
+                }
+
+                @Override
+                public void onRecipeRemoved(@Nonnull Recipe recipe) {
+                    recipes.add("removed " + recipe);
+                }
+
+                @Override
+                public void onRecipesCleared() {
+                    recipes.add("cleared");
+                }
+            });
+
+            List<Material> materials = new ArrayList<>(GregTechAPI.materialManager.getRegisteredMaterials())
+                    .subList(0, MATERIALS);
+            List<Integer> indexes = new ArrayList<>();
+            for (int i = 0; i < materials.size(); i++) {
+                indexes.add(i);
+            }
+            ParallelRecipeGeneration.run(indexes, i -> {
+                Material material = materials.get(i);
+                // an ore dictionary input, which registers the name of the ore if it is new
+                map.recipeBuilder()
+                        .input(OrePrefix.dustTiny, material)
+                        .outputs(new ItemStack(Items.CLAY_BALL, i % 16 + 1))
+                        .duration(i + 1)
+                        .buildAndRegister();
+                // conflicts with the same recipe of the other materials, so only the first one is added
+                if (i % 8 == 0) {
+                    map.recipeBuilder()
+                            .inputs(new ItemStack(Blocks.COBBLESTONE))
+                            .outputs(new ItemStack(Blocks.STONE, i / 8 + 1))
+                            .duration(i + 1)
+                            .buildAndRegister();
+                }
+            });
+
+            recipes.add("list");
+            map.getRecipeList().forEach(recipe -> recipes.add(recipe.toString()));
+            return recipes;
+        } finally {
+            ConfigHolder.misc.recipeGenerationThreads = previousThreads;
+        }
+    }
+
+    @Test
+    public void parallelGenerationAddsTheSameRecipes() {
+        List<String> sequential = generate(0);
+        List<String> parallel = generate(4);
+
+        // every material's ore dictionary recipe, the first cobblestone recipe and the list of the same recipes
+        MatcherAssert.assertThat(sequential.size(), is(2 * (MATERIALS + 1) + 1));
+        MatcherAssert.assertThat(parallel, is(sequential));
+    }
+
+    @Test
+    public void nestedGenerationRunsOnTheWorkerThread() {
+        int previousThreads = ConfigHolder.misc.recipeGenerationThreads;
+        ConfigHolder.misc.recipeGenerationThreads = 4;
+        try {
+            List<Thread> outerThreads = Collections.synchronizedList(new ArrayList<>());
+            List<Thread> innerThreads = Collections.synchronizedList(new ArrayList<>());
+            ParallelRecipeGeneration.run(new ArrayList<>(Collections.nCopies(4, 0)), outer -> {
+                Thread thread = Thread.currentThread();
+                outerThreads.add(thread);
+                ParallelRecipeGeneration.run(new ArrayList<>(Collections.nCopies(4, 0)), inner -> {
+                    MatcherAssert.assertThat(Thread.currentThread(), is(thread));
+                    innerThreads.add(Thread.currentThread());
+                });
+            });
+
+            MatcherAssert.assertThat(outerThreads.size(), is(4));
+            MatcherAssert.assertThat(innerThreads.size(), is(16));
+            MatcherAssert.assertThat(outerThreads.contains(Thread.currentThread()), is(false));
+        } finally {
+            ConfigHolder.misc.recipeGenerationThreads = previousThreads;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package gregtech.api.recipes;
 
 import gregtech.Bootstrap;
 import gregtech.api.GTValues;
+import gregtech.api.capability.impl.FluidTankList;
 import gregtech.api.recipes.builders.SimpleRecipeBuilder;
 import gregtech.api.recipes.map.AbstractMapIngredient;
 import gregtech.api.recipes.map.MapFluidIngredient;
@@ -12,19 +13,27 @@ import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidRegistry;
 import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.items.ItemStackHandler;
 import net.minecraftforge.oredict.OreDictionary;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsNot;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 
 import static gregtech.api.unification.material.Materials.*;
 import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.lessThan;
 
 public class RecipeMapTest {
 
@@ -33,6 +42,8 @@ public class RecipeMapTest {
         Bootstrap.perform();
     }
 
+    private static final int SEARCHES = 10_000;
+
     RecipeMap<SimpleRecipeBuilder> map;
     private static int mapId = 0;
 
@@ -266,4 +277,219 @@ public class RecipeMapTest {
             MatcherAssert.assertThat(recipe, notNullValue());
         }
     }
+
+    @Test
+    public void compiledLookup() {
+        MatcherAssert.assertThat(map.compileLookup(), is(true));
+
+        Recipe r = map.findRecipe(1, Collections.singletonList(new ItemStack(Blocks.COBBLESTONE)), Collections.emptyList());
+        MatcherAssert.assertThat(r, notNullValue());
+
+        Recipe fluidRecipe = map.findRecipe(30,
+                Collections.emptyList(),
+                Arrays.asList(
+                        Epichlorohydrin.getFluid(144),
+                        Naphtha.getFluid(3000),
+                        NitrogenDioxide.getFluid(1000)));
+        MatcherAssert.assertThat(fluidRecipe, notNullValue());
+
+        // removals are synchronized into the compiled lookup
+        MatcherAssert.assertThat(map.removeRecipe(fluidRecipe), is(true));
+        MatcherAssert.assertThat(map.findRecipe(30,
+                Collections.emptyList(),
+                Arrays.asList(
+                        Epichlorohydrin.getFluid(144),
+                        Naphtha.getFluid(3000),
+                        NitrogenDioxide.getFluid(1000))), nullValue());
+
+        // additions are synchronized into the compiled lookup
+        map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.GRAVEL))
+                .fluidInputs(Naphtha.getFluid(100))
+                .outputs(new ItemStack(Blocks.SAND))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+        MatcherAssert.assertThat(map.findRecipe(30,
+                Collections.singletonList(new ItemStack(Blocks.GRAVEL)),
+                Collections.singletonList(Naphtha.getFluid(100))), notNullValue());
+        MatcherAssert.assertThat(map.findRecipe(30,
+                Collections.singletonList(new ItemStack(Blocks.GRAVEL)),
+                Collections.emptyList()), nullValue());
+    }
+
+    @Test
+    public void findRecipeFromInventories() {
+        ItemStackHandler items = new ItemStackHandler(3);
+        items.setStackInSlot(1, new ItemStack(Blocks.STONE, 16));
+        items.setStackInSlot(2, new ItemStack(Blocks.STONE, 16));
+        FluidTankList fluids = new FluidTankList(false,
+                new FluidTank(16000),
+                new FluidTank(new FluidStack(FluidRegistry.WATER, 1000), 16000));
+
+        Recipe r = map.findRecipe(1, items, fluids);
+        MatcherAssert.assertThat(r, notNullValue());
+        MatcherAssert.assertThat(r, is(map.findRecipe(1,
+                Collections.singletonList(new ItemStack(Blocks.STONE)),
+                Collections.singletonList(new FluidStack(FluidRegistry.WATER, 1)))));
+
+        // not enough voltage
+        MatcherAssert.assertThat(map.findRecipe(0, items, fluids), nullValue());
+
+        items.setStackInSlot(1, ItemStack.EMPTY);
+        items.setStackInSlot(2, ItemStack.EMPTY);
+        MatcherAssert.assertThat(map.findRecipe(1, items, fluids), nullValue());
+    }
+
+    @Test
+    public void findRecipeDoesNotAllocate() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        Assumptions.assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        ItemStackHandler items = new ItemStackHandler(4);
+        items.setStackInSlot(0, new ItemStack(Blocks.DIRT, 64));
+        items.setStackInSlot(2, new ItemStack(Blocks.STONE, 16));
+        FluidTankList fluids = new FluidTankList(false,
+                new FluidTank(new FluidStack(FluidRegistry.LAVA, 1000), 16000),
+                new FluidTank(new FluidStack(FluidRegistry.WATER, 1000), 16000));
+
+        MatcherAssert.assertThat(measureSearchAllocations(allocationBean, items, fluids), lessThan((long) SEARCHES));
+
+        MatcherAssert.assertThat(map.compileLookup(), is(true));
+        MatcherAssert.assertThat(measureSearchAllocations(allocationBean, items, fluids), lessThan((long) SEARCHES));
+    }
+
+    @Test
+    public void findRecipeUsesOverriddenHooks() {
+        int[] hookCalls = new int[1];
+        RecipeMap<SimpleRecipeBuilder> hookMap = new RecipeMap<SimpleRecipeBuilder>("test_hooks_" + mapId++,
+                1, 1, 0, 0, new SimpleRecipeBuilder(), false) {
+
+            @Override
+            protected void buildFromItemStacks(List<List<AbstractMapIngredient>> list, ItemStack[] ingredients) {
+                hookCalls[0]++;
+                super.buildFromItemStacks(list, ingredients);
+            }
+        };
+        hookMap.recipeBuilder()
+                .inputs(new ItemStack(Blocks.STONE))
+                .outputs(new ItemStack(Blocks.COBBLESTONE))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+
+        ItemStackHandler items = new ItemStackHandler(2);
+        items.setStackInSlot(1, new ItemStack(Blocks.STONE, 16));
+        MatcherAssert.assertThat(hookMap.findRecipe(1, items, new FluidTankList(false)), notNullValue());
+        MatcherAssert.assertThat(hookMap.findRecipe(1,
+                Collections.singletonList(new ItemStack(Blocks.STONE)), Collections.emptyList()), notNullValue());
+        MatcherAssert.assertThat(hookCalls[0], is(2));
+    }
+
+    /**
+     * @return the bytes allocated by the current thread over {@link #SEARCHES} searches
+     */
+    private long measureSearchAllocations(com.sun.management.ThreadMXBean allocationBean,
+                                          ItemStackHandler items, FluidTankList fluids) {
+        // warm up the search buffers and the ore id cache
+        for (int i = 0; i < SEARCHES; i++) {
+            MatcherAssert.assertThat(map.find(items, fluids, Objects::nonNull), notNullValue());
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < SEARCHES; i++) {
+            map.find(items, fluids, Objects::nonNull);
+        }
+        return allocationBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    @Test
+    public void noRecipeCache() {
+        map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.GRAVEL, 2))
+                .outputs(new ItemStack(Blocks.SAND))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+
+        // the recipe is reached, but there is not enough gravel, which must not be cached
+        MatcherAssert.assertThat(map.findRecipe(1,
+                Collections.singletonList(new ItemStack(Blocks.GRAVEL, 1)), Collections.emptyList()), nullValue());
+        MatcherAssert.assertThat(map.findRecipe(1,
+                Collections.singletonList(new ItemStack(Blocks.GRAVEL, 2)), Collections.emptyList()), notNullValue());
+
+        // no recipe is reached, until one using the input is added
+        MatcherAssert.assertThat(map.findRecipe(1,
+                Collections.singletonList(new ItemStack(Blocks.DIRT)), Collections.emptyList()), nullValue());
+        MatcherAssert.assertThat(map.findRecipe(1,
+                Collections.singletonList(new ItemStack(Blocks.DIRT, 64)), Collections.emptyList()), nullValue());
+        map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.DIRT))
+                .outputs(new ItemStack(Blocks.GRASS))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+        MatcherAssert.assertThat(map.findRecipe(1,
+                Collections.singletonList(new ItemStack(Blocks.DIRT)), Collections.emptyList()), notNullValue());
+    }
+
+    @Test
+    public void lookupCache() {
+        ItemStackHandler items = new ItemStackHandler(1);
+        items.setStackInSlot(0, new ItemStack(Blocks.STONE, 16));
+        FluidTankList fluids = new FluidTankList(false, new FluidTank(new FluidStack(FluidRegistry.WATER, 1000), 16000));
+        ItemStackHandler otherItems = new ItemStackHandler(2);
+        otherItems.setStackInSlot(1, new ItemStack(Blocks.STONE, 1));
+        FluidTankList otherFluids = new FluidTankList(false, new FluidTank(new FluidStack(FluidRegistry.WATER, 1), 16000));
+
+        Recipe r = map.findRecipe(30, items, fluids);
+        MatcherAssert.assertThat(r, notNullValue());
+        MatcherAssert.assertThat(map.getLookupCacheStats().missCount(), is(1L));
+
+        // another machine with the same input types shares the result
+        MatcherAssert.assertThat(map.findRecipe(30, otherItems, otherFluids), is(r));
+        MatcherAssert.assertThat(map.getLookupCacheStats().hitCount(), is(1L));
+
+        // a different voltage is not shared
+        MatcherAssert.assertThat(map.findRecipe(8, otherItems, otherFluids), is(r));
+        MatcherAssert.assertThat(map.getLookupCacheStats().missCount(), is(2L));
+
+        // removed recipes are no longer shared
+        MatcherAssert.assertThat(map.removeRecipe(r), is(true));
+        MatcherAssert.assertThat(map.findRecipe(30, items, fluids), nullValue());
+    }
+
+    @Test
+    public void lookupCacheSkipsAmbiguousInputs() {
+        RecipeMap<SimpleRecipeBuilder> ambiguousMap = new RecipeMap<>("test_ambiguous_" + mapId++,
+                2, 1, 0, 0, new SimpleRecipeBuilder().EUt(30), false);
+        ambiguousMap.recipeBuilder()
+                .inputs(new ItemStack(Blocks.GRAVEL, 4))
+                .outputs(new ItemStack(Blocks.SAND))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+        ambiguousMap.recipeBuilder()
+                .inputs(new ItemStack(Blocks.GRAVEL))
+                .inputs(new ItemStack(Blocks.DIRT))
+                .outputs(new ItemStack(Blocks.CLAY))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+
+        // a machine which can only run the second recipe searches first
+        ItemStackHandler small = new ItemStackHandler(2);
+        small.setStackInSlot(0, new ItemStack(Blocks.GRAVEL, 1));
+        small.setStackInSlot(1, new ItemStack(Blocks.DIRT, 1));
+        FluidTankList noFluids = new FluidTankList(false);
+        Recipe first = ambiguousMap.findRecipe(30, small, noFluids);
+        MatcherAssert.assertThat(first, notNullValue());
+
+        // a machine which can run both must get the same recipe it would without the cache
+        ItemStackHandler large = new ItemStackHandler(2);
+        large.setStackInSlot(0, new ItemStack(Blocks.GRAVEL, 4));
+        large.setStackInSlot(1, new ItemStack(Blocks.DIRT, 1));
+        Recipe uncached = ambiguousMap.findRecipe(30,
+                Arrays.asList(new ItemStack(Blocks.GRAVEL, 4), new ItemStack(Blocks.DIRT, 1)),
+                Collections.emptyList());
+        MatcherAssert.assertThat(ambiguousMap.findRecipe(30, large, noFluids), is(uncached));
+    }
 }
@@ -541,6 +541,48 @@ public class ParallelLogicTest {
 
     }
 
+    @Test
+    public void getMaxRecipeMultiplier_CachedCountsTest() {
+        int parallelLimit = 4;
+
+        // Create a recipe Map to be used for testing
+        RecipeMap<BlastRecipeBuilder> map = new RecipeMap<>("electric_blast_furnace",
+                1,
+                3,
+                1,
+                2,
+                0,
+                1,
+                0,
+                1,
+                new BlastRecipeBuilder(),
+                false);
+
+        // Create a simple recipe to be used for testing
+        Recipe recipe = map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE))
+                .notConsumable(new ItemStack(Blocks.COBBLESTONE))
+                .fluidInputs(Materials.Acetone.getFluid(100))
+                .notConsumable(Materials.Acetone.getFluid())
+                .outputs(new ItemStack(Blocks.STONE))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        importItemBus.getImportItems().insertItem(0, new ItemStack(Blocks.COBBLESTONE, 3), false);
+        importFluidBus.getImportFluids().fill(Materials.Acetone.getFluid(8000), true);
+
+        InputCountCache countCache = new InputCountCache();
+
+        // the shared counts are not changed by holding back the not consumable inputs, so every search agrees
+        for (int i = 0; i < 3; i++) {
+            int itemRatio = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(),
+                    importFluidBus.getImportFluids(), parallelLimit, countCache);
+            assertThat(itemRatio, is(2));
+        }
+        assertThat(countCache.getItemCounts(importItemBus.getImportItems()).getInt(new ItemStack(Blocks.COBBLESTONE)), is(3));
+    }
+
     @Test
     public void getMaxRatioItem_DifferentNonConsumedTest() {
         int parallelLimit = 4;
@@ -0,0 +1,52 @@
+package gregtech.api.recipes.map;
+
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class RecipeMissCacheTest {
+
+    @Test
+    public void containsAddedMisses() {
+        RecipeMissCache cache = new RecipeMissCache(16);
+
+        MatcherAssert.assertThat(cache.contains(42, 0), is(false));
+        cache.add(42, 0);
+        MatcherAssert.assertThat(cache.contains(42, 0), is(true));
+        MatcherAssert.assertThat(cache.contains(43, 0), is(false));
+    }
+
+    @Test
+    public void ignoresEmptyFingerprints() {
+        RecipeMissCache cache = new RecipeMissCache(16);
+
+        cache.add(0, 0);
+        MatcherAssert.assertThat(cache.contains(0, 0), is(false));
+    }
+
+    @Test
+    public void newerMissReplacesSameSlot() {
+        RecipeMissCache cache = new RecipeMissCache(16);
+
+        cache.add(1, 0);
+        cache.add(17, 0);
+        MatcherAssert.assertThat(cache.contains(1, 0), is(false));
+        MatcherAssert.assertThat(cache.contains(17, 0), is(true));
+    }
+
+    @Test
+    public void dropsMissesOfOtherGenerations() {
+        RecipeMissCache cache = new RecipeMissCache(16);
+
+        cache.add(42, 0);
+        MatcherAssert.assertThat(cache.contains(42, 1), is(false));
+
+        // misses of a search which ran before the recipes changed are ignored
+        cache.add(7, 1);
+        cache.add(42, 0);
+        MatcherAssert.assertThat(cache.contains(7, 1), is(true));
+        MatcherAssert.assertThat(cache.contains(42, 0), is(false));
+        MatcherAssert.assertThat(cache.contains(42, 1), is(false));
+    }
+}
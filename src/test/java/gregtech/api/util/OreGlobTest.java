@@ -257,6 +257,32 @@ public class OreGlobTest {
         assertMatch(expr, "", false);
     }
 
+    @Test
+    public void compiledMatchTest() {
+        String[] expressions = {
+                "ingotIron", "ingotIron | dustGold", "ingot* & *gold", "ingot* ^ ()",
+                "dust*Gold | (plate* & !*Double*)", "$c caseSensitiveMatch", "!*", "a???e", "a!(???)e",
+                "???*", "!???*", "!() iron", "!()", "1^2^3^4^5^!(1^2^3)", "!a b c", "!(a b) c",
+                "!(!(a | ?) b) ???*", "(a | b ?) !(c* ^ *d) ?", "!??* !(*o*) | !???", "*i*r*o*n*",
+                "(??***)(?*?*?****?*???*?)()()()", "!(ore* | dust*) & !(*Iron ^ *Gold)"
+        };
+        String[] inputs = {
+                "", "a", "ab", "abc", "abcde", "a123e", "a1234e", "ae", "ingotIron", "ingotGold", "dustIron",
+                "dustGold", "dustSomeGold", "plateSomething", "plateDoubleSomething", "caseSensitiveMatch",
+                "casesensitivematch", "iron", "12345", "bcd", "cd", "oreIron", "dustImpureIron", "ingotDouble",
+                "aVeryLongOreDictionaryNameThatDoesNotFitIntoTheCompiledStatesAtAll"
+        };
+        for (String expression : expressions) {
+            OreGlob glob = compile(expression);
+            if (!(glob instanceof NodeOreGlob)) continue;
+            NodeOreGlob nodeGlob = (NodeOreGlob) glob;
+            for (String input : inputs) {
+                assertThat("'" + input + "' against '" + expression + "'",
+                        nodeGlob.matches(input), is(nodeGlob.matchesInterpreted(input)));
+            }
+        }
+    }
+
     @Test
     public void errorTest() {
         assertReport("End of file after escape character ('\\'): \\", true);
@@ -0,0 +1,131 @@
+package gregtech.api.worldgen.generator;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.ChunkPos;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class WorldPregenSaveDataTest {
+
+    private static WorldPregenSaveData createCursor(int centerChunkX, int centerChunkZ, int radiusChunks) {
+        WorldPregenSaveData cursor = new WorldPregenSaveData(WorldPregenSaveData.DATA_NAME);
+        cursor.setArea(centerChunkX, centerChunkZ, radiusChunks);
+        return cursor;
+    }
+
+    /**
+     * Generates chunks like the pregenerator does
+     *
+     * @return if there are chunks left to generate
+     */
+    private static boolean generate(WorldPregenSaveData cursor, long chunks, LongSet generated, LongSet unloadedRows) {
+        for (long i = 0; i < chunks; i++) {
+            generated.add(ChunkPos.asLong(cursor.chunkX, cursor.chunkZ));
+            cursor.generatedChunks++;
+            int stripX = cursor.stripX;
+            if (!cursor.advance(chunkZ -> unloadedRows.add(ChunkPos.asLong(stripX, chunkZ)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static WorldPregenSaveData reload(WorldPregenSaveData cursor) {
+        WorldPregenSaveData reloaded = new WorldPregenSaveData(WorldPregenSaveData.DATA_NAME);
+        reloaded.readFromNBT(cursor.writeToNBT(new NBTTagCompound()));
+        return reloaded;
+    }
+
+    @Test
+    public void areaIsAlignedToGrids() {
+        WorldPregenSaveData cursor = createCursor(-1, 4, 2);
+
+        MatcherAssert.assertThat(cursor.minChunkX, is(-WorldGeneratorImpl.GRID_SIZE_X));
+        MatcherAssert.assertThat(cursor.maxChunkX, is(WorldGeneratorImpl.GRID_SIZE_X - 1));
+        MatcherAssert.assertThat(cursor.minChunkZ, is(0));
+        MatcherAssert.assertThat(cursor.maxChunkZ, is(3 * WorldGeneratorImpl.GRID_SIZE_Z - 1));
+        MatcherAssert.assertThat(cursor.chunkX, is(cursor.minChunkX));
+        MatcherAssert.assertThat(cursor.chunkZ, is(cursor.minChunkZ));
+        MatcherAssert.assertThat(cursor.active, is(true));
+    }
+
+    @Test
+    public void totalChunksMatchesGeneratedChunks() {
+        // covers areas narrower than, as wide as and wider than a strip, and several strips
+        for (int radius = 0; radius <= 2 * WorldPregenerator.STRIP_WIDTH; radius += 7) {
+            for (int center : new int[]{0, -37, 101}) {
+                WorldPregenSaveData cursor = createCursor(center, -center, radius);
+                long total = cursor.getTotalChunks();
+                LongSet generated = new LongOpenHashSet();
+                LongSet unloadedRows = new LongOpenHashSet();
+
+                MatcherAssert.assertThat(generate(cursor, Long.MAX_VALUE, generated, unloadedRows), is(false));
+
+                MatcherAssert.assertThat(cursor.generatedChunks, is(total));
+                // the area and one extra column and row, each chunk generated once except the extra columns of the strips
+                long width = cursor.maxChunkX - cursor.minChunkX + 1;
+                long height = cursor.maxChunkZ - cursor.minChunkZ + 1;
+                MatcherAssert.assertThat((long) generated.size(), is((width + 1) * (height + 1)));
+                for (int chunkX = cursor.minChunkX; chunkX <= cursor.maxChunkX + 1; chunkX++) {
+                    for (int chunkZ = cursor.minChunkZ; chunkZ <= cursor.maxChunkZ + 1; chunkZ++) {
+                        MatcherAssert.assertThat(generated.contains(ChunkPos.asLong(chunkX, chunkZ)), is(true));
+                    }
+                }
+                // every generated row of every strip is unloaded
+                for (int stripX = cursor.minChunkX; stripX <= cursor.maxChunkX; stripX += WorldPregenerator.STRIP_WIDTH) {
+                    for (int chunkZ = cursor.minChunkZ; chunkZ <= cursor.maxChunkZ + 1; chunkZ++) {
+                        MatcherAssert.assertThat(unloadedRows.contains(ChunkPos.asLong(stripX, chunkZ)), is(true));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void resumeGeneratesEveryChunkAgain() {
+        // two strips, the second one narrower
+        WorldPregenSaveData area = createCursor(0, 0, WorldPregenerator.STRIP_WIDTH / 2 + 2);
+        long total = area.getTotalChunks();
+        MatcherAssert.assertThat(area.maxChunkX - area.minChunkX + 1 > WorldPregenerator.STRIP_WIDTH, is(true));
+
+        for (long stopped = 0; stopped < total; stopped++) {
+            WorldPregenSaveData cursor = createCursor(0, 0, WorldPregenerator.STRIP_WIDTH / 2 + 2);
+            LongSet generated = new LongOpenHashSet();
+            MatcherAssert.assertThat(generate(cursor, stopped, generated, new LongOpenHashSet()), is(true));
+            int stoppedX = cursor.chunkX;
+            int stoppedZ = cursor.chunkZ;
+
+            cursor = reload(cursor);
+            cursor.rewind();
+
+            // back at the start of the row before, or of the first row of the strip
+            MatcherAssert.assertThat(cursor.chunkX, is(cursor.stripX));
+            MatcherAssert.assertThat(cursor.chunkZ, is(Math.max(cursor.minChunkZ, stoppedZ - 1)));
+            MatcherAssert.assertThat(cursor.generatedChunks <= stopped, is(true));
+            MatcherAssert.assertThat(cursor.generatedChunks >= 0, is(true));
+            // the chunks since the start of the rewound row are generated again
+            long walkedAgain = stopped - cursor.generatedChunks;
+            long rowLength = cursor.getLastColumn() - cursor.stripX + 1;
+            long expected = (stoppedX - cursor.stripX) + (stoppedZ > cursor.minChunkZ ? rowLength : 0);
+            MatcherAssert.assertThat(walkedAgain, is(expected));
+
+            MatcherAssert.assertThat(generate(cursor, Long.MAX_VALUE, generated, new LongOpenHashSet()), is(false));
+            MatcherAssert.assertThat(cursor.generatedChunks, is(total));
+        }
+    }
+
+    @Test
+    public void resumeAtStartDoesNothing() {
+        WorldPregenSaveData cursor = createCursor(5, 5, 10);
+
+        cursor.rewind();
+
+        MatcherAssert.assertThat(cursor.chunkX, is(cursor.minChunkX));
+        MatcherAssert.assertThat(cursor.chunkZ, is(cursor.minChunkZ));
+        MatcherAssert.assertThat(cursor.generatedChunks, is(0L));
+    }
+}
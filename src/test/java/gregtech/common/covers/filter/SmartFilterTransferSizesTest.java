@@ -0,0 +1,87 @@
+package gregtech.common.covers.filter;
+
+import gregtech.Bootstrap;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.builders.SimpleRecipeBuilder;
+import gregtech.api.recipes.ingredients.GTRecipeItemInput;
+import gregtech.api.recipes.ingredients.nbtmatch.NBTCondition;
+import gregtech.api.recipes.ingredients.nbtmatch.NBTMatcher;
+import gregtech.api.recipes.ingredients.nbtmatch.NBTTagType;
+import gregtech.api.unification.stack.ItemAndMetadata;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class SmartFilterTransferSizesTest {
+
+    private static int mapId = 0;
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    private static RecipeMap<SimpleRecipeBuilder> createMap() {
+        return new RecipeMap<>("test_smart_filter_" + mapId++, 1, 1, 0, 0, new SimpleRecipeBuilder().EUt(30), false);
+    }
+
+    private static int getTransferSize(SmartFilterTransferSizes sizes, ItemStack stack) {
+        return sizes.getTransferSize(stack, new ItemAndMetadata(stack));
+    }
+
+    @Test
+    public void followsAddedAndRemovedRecipes() {
+        RecipeMap<SimpleRecipeBuilder> map = createMap();
+        map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.GRAVEL, 2))
+                .outputs(new ItemStack(Blocks.SAND))
+                .duration(1).buildAndRegister();
+        SmartFilterTransferSizes sizes = new SmartFilterTransferSizes(map);
+        MatcherAssert.assertThat(getTransferSize(sizes, new ItemStack(Blocks.GRAVEL)), is(2));
+        MatcherAssert.assertThat(getTransferSize(sizes, new ItemStack(Blocks.DIRT)), is(0));
+
+        map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.DIRT, 5))
+                .outputs(new ItemStack(Blocks.SAND))
+                .duration(1).buildAndRegister();
+        MatcherAssert.assertThat(getTransferSize(sizes, new ItemStack(Blocks.DIRT)), is(5));
+
+        Recipe recipe = map.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.GRAVEL, 2)), Collections.emptyList());
+        MatcherAssert.assertThat(map.removeRecipe(recipe), is(true));
+        MatcherAssert.assertThat(getTransferSize(sizes, new ItemStack(Blocks.GRAVEL)), is(0));
+    }
+
+    @Test
+    public void honoursNBTConditions() {
+        RecipeMap<SimpleRecipeBuilder> map = createMap();
+        map.recipeBuilder()
+                .inputNBT(GTRecipeItemInput.getOrCreate(new ItemStack(Items.PAPER), 3),
+                        NBTMatcher.EQUAL_TO, NBTCondition.create(NBTTagType.INT, "Page", 1L))
+                .outputs(new ItemStack(Items.BOOK))
+                .duration(1).buildAndRegister();
+        SmartFilterTransferSizes sizes = new SmartFilterTransferSizes(map);
+
+        MatcherAssert.assertThat(getTransferSize(sizes, new ItemStack(Items.PAPER)), is(0));
+
+        ItemStack otherPage = new ItemStack(Items.PAPER);
+        NBTTagCompound otherTag = new NBTTagCompound();
+        otherTag.setInteger("Page", 2);
+        otherPage.setTagCompound(otherTag);
+        MatcherAssert.assertThat(getTransferSize(sizes, otherPage), is(0));
+
+        ItemStack page = new ItemStack(Items.PAPER);
+        NBTTagCompound tag = new NBTTagCompound();
+        tag.setInteger("Page", 1);
+        page.setTagCompound(tag);
+        MatcherAssert.assertThat(getTransferSize(sizes, page), is(3));
+    }
+}